@@ -0,0 +1,85 @@
+package Objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks moving the balls through one simulation step, both the single ball object and the batch every ball in play is kept in
+ *
+ * @author Salaar Mir
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallBenchmark {
+
+    /**
+     * Length of one simulation step in seconds
+     */
+    private static final double STEP_SECONDS = 0.01;
+
+    /**
+     * Number of balls in the batch
+     */
+    @Param({"1", "16", "256"})
+    public int balls;
+
+    /**
+     * Ball moved by the single ball benchmark
+     */
+    private Ball m_ball;
+
+    /**
+     * Batch moved by the batch benchmark
+     */
+    private BallBatch m_batch;
+
+    /**
+     * Creates the ball and fills the batch, with every ball heading off in a different direction
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        m_ball = new RubberBall(new Point(300, 430));
+        m_ball.setSpeed(2, -2);
+        m_batch = new BallBatch(m_ball.getRadius());
+        for (int i = 0; i < balls; i++) {
+            double angle = 2 * Math.PI * i / balls;
+            m_batch.add(300, 225, 300 * Math.cos(angle), 300 * Math.sin(angle));
+        }
+    }
+
+    /**
+     * Moves the single ball object, turning it around now and then so it stays near the board
+     *
+     * @return the ball, so the move cannot be optimised away
+     */
+    @Benchmark
+    public Ball moveBall() {
+        m_ball.move(STEP_SECONDS);
+        m_ball.reverseX();
+        m_ball.reverseY();
+        return m_ball;
+    }
+
+    /**
+     * Moves every ball in the batch the way Wall.move does before the collision pass
+     *
+     * @return the batch, so the move cannot be optimised away
+     */
+    @Benchmark
+    public BallBatch moveBatch() {
+        m_batch.storePreviousPositions();
+        for (int i = 0; i < m_batch.size(); i++) {
+            m_batch.translate(i, m_batch.getVelocityX(i) * STEP_SECONDS, m_batch.getVelocityY(i) * STEP_SECONDS);
+            m_batch.reverseX(i);
+            m_batch.reverseY(i);
+        }
+        return m_batch;
+    }
+
+}
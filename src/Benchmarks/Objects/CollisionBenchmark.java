@@ -0,0 +1,94 @@
+package Objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the two halves of brick collision: finding the bricks near a ball in the grid, and sweeping the ball against one brick. Together they replace the old per brick impact test
+ *
+ * @author Salaar Mir
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    /**
+     * Number of bricks in the field
+     */
+    @Param({"30", "300", "3000"})
+    public int brickCount;
+
+    /**
+     * Field of bricks the grid is built from
+     */
+    private BrickField m_bricks;
+
+    /**
+     * Grid being queried
+     */
+    private final BrickGrid GRID = new BrickGrid();
+
+    /**
+     * Sweep being benchmarked
+     */
+    private final SweptCollision SWEEP = new SweptCollision();
+
+    /**
+     * Array the grid query writes into
+     */
+    private int[] m_out;
+
+    /**
+     * Horizontal coordinate of the next query, moved along every call so queries do not all hit the same cells
+     */
+    private double m_x;
+
+    /**
+     * Builds a field with the chosen number of bricks and indexes it
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int lineCount = Math.max(3, (int) Math.round(Math.sqrt(brickCount / 3.0)));
+        m_bricks = new BrickField(Levels.makeSingleTypeLevel(new Rectangle(0, 0, 600, 450), brickCount, lineCount, 6.0 / 2, Brick.CLAY));
+        GRID.build(m_bricks);
+        m_out = new int[m_bricks.size()];
+    }
+
+    /**
+     * Queries the grid for the bricks around a ball moving a few units
+     *
+     * @return the number of bricks found, so the query cannot be optimised away
+     */
+    @Benchmark
+    public int query() {
+        m_x = (m_x + 7) % 600;
+        return GRID.query(m_x - 5, 5, m_x + 8, 18, m_out);
+    }
+
+    /**
+     * Sweeps a ball into a brick it hits
+     *
+     * @return the time of impact, so the sweep cannot be optimised away
+     */
+    @Benchmark
+    public double sweepHit() {
+        return SWEEP.sweep(30, 40, 3, -30, 5, 0, 0, 60, 20);
+    }
+
+    /**
+     * Sweeps a ball past a brick it misses
+     *
+     * @return the time of impact, so the sweep cannot be optimised away
+     */
+    @Benchmark
+    public double sweepMiss() {
+        return SWEEP.sweep(100, 40, 3, -3, 5, 0, 0, 60, 20);
+    }
+
+}
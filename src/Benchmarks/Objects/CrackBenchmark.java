@@ -0,0 +1,64 @@
+package Objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Point2D;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks cracking a cement brick, both picking the crack variant when the brick is hit and building the path of a variant when its image is first drawn
+ *
+ * @author Salaar Mir
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrackBenchmark {
+
+    /**
+     * Crack shape used by cement bricks
+     */
+    private final Brick.Crack CRACK = new Brick.Crack(1, 35);
+
+    /**
+     * Path the crack of a variant is built in
+     */
+    private final GeneralPath PATH = new GeneralPath();
+
+    /**
+     * Point the brick is hit at
+     */
+    private final Point2D IMPACT = new Point2D.Double(30, 20);
+
+    /**
+     * Random number generator shaping the crack
+     */
+    private final GameRandom RND = new GameRandom(1);
+
+    /**
+     * Picks the crack variant of a hit on the top of a brick
+     *
+     * @return the variant, so the pick cannot be optimised away
+     */
+    @Benchmark
+    public int pickCrack() {
+        return CRACK.pickVariant(0, 0, 60, 20, IMPACT, Brick.Crack.getUp(), RND);
+    }
+
+    /**
+     * Builds the path of a crack variant the way the crack image cache does the first time the variant is drawn
+     *
+     * @return the path, so the crack cannot be optimised away
+     */
+    @Benchmark
+    public GeneralPath makeCrack() {
+        PATH.reset();
+        CRACK.makeCrack(PATH, 60, 20, 0);
+        return PATH;
+    }
+
+}
@@ -0,0 +1,90 @@
+package Objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks each of the level builders at different numbers of bricks
+ *
+ * @author Salaar Mir
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelsBenchmark {
+
+    /**
+     * Area the levels are built in
+     */
+    private static final Rectangle AREA = new Rectangle(0, 0, 600, 450);
+
+    /**
+     * Ratio of the width of a brick to its height
+     */
+    private static final double BRICK_RATIO = 6.0 / 2;
+
+    /**
+     * Number of bricks in the level
+     */
+    @Param({"30", "300", "3000"})
+    public int brickCount;
+
+    /**
+     * Number of lines the bricks are laid out in
+     */
+    private int m_lineCount;
+
+    /**
+     * Works out the number of lines so bricks keep roughly the same shape at every brick count
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        m_lineCount = Math.max(4, (int) Math.round(Math.sqrt(brickCount / 3.0)));
+    }
+
+    /**
+     * Builds a level of a single brick type
+     *
+     * @return the level, so the build cannot be optimised away
+     */
+    @Benchmark
+    public LevelTemplate singleTypeLevel() {
+        return Levels.makeSingleTypeLevel(AREA, brickCount, m_lineCount, BRICK_RATIO, Brick.CLAY);
+    }
+
+    /**
+     * Builds a level of two brick types alternating along the lines
+     *
+     * @return the level, so the build cannot be optimised away
+     */
+    @Benchmark
+    public LevelTemplate chessboardLevel() {
+        return Levels.makeChessboardLevel(AREA, brickCount, m_lineCount, BRICK_RATIO, Brick.CLAY, Brick.CEMENT);
+    }
+
+    /**
+     * Builds a level of three brick types laid out in columns
+     *
+     * @return the level, so the build cannot be optimised away
+     */
+    @Benchmark
+    public LevelTemplate columnLevel() {
+        return Levels.makeColumnLevel(AREA, brickCount, m_lineCount, BRICK_RATIO, Brick.CLAY, Brick.STEEL, Brick.CEMENT);
+    }
+
+    /**
+     * Builds the final level
+     *
+     * @return the level, so the build cannot be optimised away
+     */
+    @Benchmark
+    public LevelTemplate finalLevel() {
+        return Levels.makeFinalLevel(AREA, brickCount, m_lineCount, BRICK_RATIO, Brick.CLAY, Brick.GOLD, Brick.STEEL);
+    }
+
+}
@@ -0,0 +1,95 @@
+package Objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the collision passes of the wall on levels with different numbers of bricks
+ *
+ * @author Salaar Mir
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallBenchmark {
+
+    /**
+     * Length of one simulation step in seconds
+     */
+    private static final double STEP_SECONDS = 0.01;
+
+    /**
+     * Number of bricks in the level
+     */
+    @Param({"30", "300", "3000"})
+    public int brickCount;
+
+    /**
+     * Wall being benchmarked
+     */
+    private Wall m_wall;
+
+    /**
+     * Next brick for the impact benchmark to hit
+     */
+    private int m_nextBrick;
+
+    /**
+     * Builds a wall whose first level has the chosen number of bricks, with roughly three bricks across for every line so bricks keep their shape
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int lineCount = Math.max(3, (int) Math.round(Math.sqrt(brickCount / 3.0)));
+        m_wall = new Wall(new Rectangle(0, 0, 600, 450), brickCount, lineCount, 6.0 / 2, new Point(300, 430), new Paddle(), 1);
+        m_wall.nextLevel();
+    }
+
+    /**
+     * Runs one full simulation step: paddle and ball movement, swept collisions against the grid, brick impacts and the game rules
+     *
+     * @return the result of the step, so it cannot be optimised away
+     */
+    @Benchmark
+    public int step() {
+        int result = m_wall.step(STEP_SECONDS);
+        if (result == Wall.GAME_WON)
+            m_wall.wallReset();
+        return result;
+    }
+
+    /**
+     * Runs the border pass over every ball in play
+     *
+     * @return the wall, so the pass cannot be optimised away
+     */
+    @Benchmark
+    public Wall findImpacts() {
+        m_wall.findImpacts();
+        return m_wall;
+    }
+
+    /**
+     * Hits each brick in turn from below, repairing the wall once every brick is broken
+     *
+     * @return true if the hit broke or cracked the brick, so it cannot be optimised away
+     */
+    @Benchmark
+    public boolean impactWall() {
+        BrickField bricks = m_wall.getBricks();
+        if (m_nextBrick == bricks.size()) {
+            m_wall.wallReset();
+            m_nextBrick = 0;
+        }
+        int b = m_nextBrick;
+        boolean out = m_wall.impactWall(0, b, 0, 1);
+        if (bricks.isBroken(b))
+            m_nextBrick++;
+        return out;
+    }
+
+}
@@ -0,0 +1,62 @@
+package Objects;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SweptCollisionTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void FaceHit() {
+
+        SweptCollision sweep = new SweptCollision();
+        double t = sweep.sweep(5, -10, 0, 20, 2, 0, 0, 10, 10);
+        Assertions.assertEquals(0.4, t, EPSILON);
+        Assertions.assertEquals(0, sweep.getNormalX(), EPSILON);
+        Assertions.assertEquals(-1, sweep.getNormalY(), EPSILON);
+
+    }
+
+    @Test
+    void CornerHit() {
+
+        SweptCollision sweep = new SweptCollision();
+        double t = sweep.sweep(-5, -5, 8, 8, 1, 0, 0, 10, 10);
+        Assertions.assertEquals((5 - Math.sqrt(0.5)) / 8, t, EPSILON);
+        Assertions.assertEquals(-Math.sqrt(0.5), sweep.getNormalX(), EPSILON);
+        Assertions.assertEquals(-Math.sqrt(0.5), sweep.getNormalY(), EPSILON);
+
+    }
+
+    @Test
+    void FastBallThinBrick() {
+
+        // the ball starts and ends the step well clear of a brick 2 wide, so only a swept test sees the hit
+        SweptCollision sweep = new SweptCollision();
+        double t = sweep.sweep(0, 5, 100, 0, 5, 50, 0, 52, 10);
+        Assertions.assertEquals(0.45, t, EPSILON);
+        Assertions.assertEquals(-1, sweep.getNormalX(), EPSILON);
+        Assertions.assertEquals(0, sweep.getNormalY(), EPSILON);
+
+    }
+
+    @Test
+    void MovingAway() {
+
+        SweptCollision sweep = new SweptCollision();
+        Assertions.assertEquals(SweptCollision.NO_HIT, sweep.sweep(5, -10, 0, -20, 2, 0, 0, 10, 10), 0);
+        Assertions.assertEquals(SweptCollision.NO_HIT, sweep.sweep(5, -1, 0, -20, 2, 0, 0, 10, 10), 0);
+
+    }
+
+    @Test
+    void Miss() {
+
+        SweptCollision sweep = new SweptCollision();
+        Assertions.assertEquals(SweptCollision.NO_HIT, sweep.sweep(-5, -5, 20, 0, 1, 0, 0, 10, 10), 0);
+        Assertions.assertEquals(SweptCollision.NO_HIT, sweep.sweep(0, 5, 40, 0, 5, 50, 0, 52, 10), 0);
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package Objects;
+
+import Simulation.BotPaddle;
+import View.HudMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+class WallAllocationTest {
+
+    /**
+     * Ticks run before measuring, so the JIT has compiled the tick path and every message has been built once
+     */
+    private static final int WARMUP_TICKS = 20_000;
+
+    /**
+     * Ticks measured
+     */
+    private static final int TICKS = 100_000;
+
+    /**
+     * Length of one simulation tick in seconds
+     */
+    private static final double STEP_SECONDS = 0.01;
+
+    /**
+     * Seed of the game and of the bot
+     */
+    private static final long SEED = 7;
+
+    /**
+     * Largest distance the bot aims away from where the ball lands, so it sometimes misses
+     */
+    private static final double AIM_ERROR = 40;
+
+    /**
+     * Most bytes the measured ticks may allocate, leaving room for messages seen for the first time
+     */
+    private static final long BUDGET_BYTES = 16 * 1024;
+
+    @Test
+    void TickAllocationBudget() {
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Wall wall = new Wall(SEED);
+        DamageRegion damage = new DamageRegion();
+        SoundQueue sounds = new SoundQueue();
+        wall.setDamageRegion(damage);
+        wall.setSoundQueue(sounds);
+        BotPaddle bot = new BotPaddle(wall.getArea(), AIM_ERROR, SEED);
+        HudMessage hud = new HudMessage();
+        wall.nextLevel();
+
+        runTicks(wall, bot, damage, sounds, hud, WARMUP_TICKS);
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        runTicks(wall, bot, damage, sounds, hud, TICKS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        Assertions.assertTrue(allocated <= BUDGET_BYTES, () -> String.format("%d ticks allocated %d bytes", TICKS, allocated));
+
+    }
+
+    /**
+     * Runs the game tick headless through the same step the game board calls, emptying the damage and sound queue the way a frame and the audio thread would, and starting the game again once it is won
+     *
+     * @param wall   Wall to tick
+     * @param bot    Bot steering the paddle
+     * @param damage Damage region the wall marks
+     * @param sounds Sound queue the wall writes to
+     * @param hud    Message to update every tick
+     * @param ticks  Number of ticks to run
+     */
+    private static void runTicks(Wall wall, BotPaddle bot, DamageRegion damage, SoundQueue sounds, HudMessage hud, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            bot.steer(wall);
+            int result = wall.step(STEP_SECONDS);
+            hud.getMessage(wall.getBrickCount(), wall.getBallCount());
+            damage.clear();
+            while (sounds.poll() != SoundQueue.EMPTY) ;
+            if (result == Wall.GAME_WON) {
+                wall.wallReset();
+                wall.ballReset();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class LeaderboardTest {
+
+    /**
+     * Seed of the scores added
+     */
+    private static final long SEED = 11;
+
+    /**
+     * Highest ordinary score added, kept low so many scores are tied
+     */
+    private static final int MAX_SCORE = 40;
+
+    /**
+     * Scores far outside the ordinary ones, which must each be ranked exactly rather than share a bucket
+     */
+    private static final int[] STRAY_SCORES = {2_000_000_000, 1_999_999_999, Integer.MAX_VALUE, -5, Integer.MIN_VALUE};
+
+    /**
+     * Order of the ranked scores: best score first, then the earliest record
+     */
+    private static final Comparator<ScoreEntry> RANKED = Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparingInt(ScoreEntry::getRecord);
+
+    @Test
+    void RanksMatchSort() throws IOException {
+
+        Path dir = Files.createTempDirectory("leaderboard");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            Random random = new Random(SEED);
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, random, 500, MAX_SCORE);
+            addScores(store, added, STRAY_SCORES);
+            Leaderboard leaderboard = new Leaderboard(store);
+            assertMatchesSort(added, leaderboard);
+
+            // scores added after the leaderboard was loaded are read in before the next query
+            addScores(store, added, random, 100, MAX_SCORE);
+            addScores(store, added, new int[]{MAX_SCORE + 1, 1_999_999_999, -5});
+            assertMatchesSort(added, leaderboard);
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void TopAndBottomEdges() throws IOException {
+
+        Path dir = Files.createTempDirectory("leaderboard");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, new Random(SEED), 30, 5);
+            Leaderboard leaderboard = new Leaderboard(store);
+            List<ScoreEntry> sorted = sort(added);
+
+            assertSameEntries(sorted.subList(0, 7), leaderboard.getAround(sorted.get(0), 3));
+            assertSameEntries(sorted.subList(0, 7), leaderboard.getAround(sorted.get(2), 3));
+            assertSameEntries(sorted.subList(23, 30), leaderboard.getAround(sorted.get(29), 3));
+            assertSameEntries(sorted.subList(23, 30), leaderboard.getAround(sorted.get(27), 3));
+            assertSameEntries(sorted, leaderboard.getAround(sorted.get(15), 100));
+
+            assertSameEntries(sorted.subList(0, 1), leaderboard.getRange(0, 1));
+            assertSameEntries(sorted.subList(29, 30), leaderboard.getRange(30, 5));
+            Assertions.assertTrue(leaderboard.getRange(31, 5).isEmpty());
+            Assertions.assertTrue(leaderboard.getRange(1, 0).isEmpty());
+
+            Assertions.assertEquals(1, leaderboard.getRank(6));
+            Assertions.assertEquals(31, leaderboard.getRank(-1));
+            Assertions.assertEquals(0, leaderboard.getRank(new ScoreEntry(30, "Nobody", 3, 0)));
+            Assertions.assertEquals(0, leaderboard.getRank(new ScoreEntry(0, "Nobody", 6, 0)));
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void BucketGrowth() throws IOException {
+
+        Path dir = Files.createTempDirectory("leaderboard");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            Random random = new Random(SEED);
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, random, 200, MAX_SCORE);
+            Leaderboard leaderboard = new Leaderboard(store);
+            assertMatchesSort(added, leaderboard);
+
+            // thousands of distinct scores arriving in small groups grow the buckets several times, merging new scores below, between and above the old ones
+            for (int group = 0; group < 20; group++)
+                addScores(store, added, random, 250, 100_000);
+            addScores(store, added, STRAY_SCORES);
+            assertMatchesSort(added, leaderboard);
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    /**
+     * Checks every rank, page and window of the leaderboard against every score added, sorted by brute force
+     *
+     * @param added       Every score added
+     * @param leaderboard Leaderboard to check
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    private static void assertMatchesSort(List<ScoreEntry> added, Leaderboard leaderboard) throws IOException {
+        List<ScoreEntry> sorted = sort(added);
+        Assertions.assertEquals(sorted.size(), leaderboard.size());
+        assertSameEntries(sorted, leaderboard.getRange(1, sorted.size()));
+        assertSameEntries(sorted.subList(0, 10), leaderboard.getTop(10));
+
+        for (int i = 0; i < sorted.size(); i++)
+            Assertions.assertEquals(i + 1, leaderboard.getRank(sorted.get(i)));
+
+        for (ScoreEntry entry : sorted) {
+            int atLeast = 0;
+            for (ScoreEntry other : sorted) {
+                if (other.getScore() >= entry.getScore())
+                    atLeast++;
+            }
+            Assertions.assertEquals(atLeast + 1, leaderboard.getRank(entry.getScore()));
+        }
+
+        for (int first = 1; first <= sorted.size() + 1; first += 37)
+            assertSameEntries(sorted.subList(first - 1, Math.min(sorted.size(), first + 4)), leaderboard.getRange(first, 5));
+
+        int radius = 4;
+        for (int i = 0; i < sorted.size(); i += 53) {
+            int first = Math.max(0, Math.min(i - radius, sorted.size() - 2 * radius - 1));
+            assertSameEntries(sorted.subList(first, first + 2 * radius + 1), leaderboard.getAround(sorted.get(i), radius));
+        }
+    }
+
+    /**
+     * Adds random scores in one group and keeps what was added
+     *
+     * @param store    Score store to add to
+     * @param added    List of the scores added so far
+     * @param random   Source of the scores
+     * @param count    Number of scores to add
+     * @param maxScore Highest score to add
+     * @throws IOException Exception error when the scores cannot be written
+     */
+    private static void addScores(ScoreStore store, List<ScoreEntry> added, Random random, int count, int maxScore) throws IOException {
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++)
+            scores[i] = random.nextInt(maxScore + 1);
+        addScores(store, added, scores);
+    }
+
+    /**
+     * Adds scores in one group and keeps what was added
+     *
+     * @param store  Score store to add to
+     * @param added  List of the scores added so far
+     * @param scores Scores to add
+     * @throws IOException Exception error when the scores cannot be written
+     */
+    private static void addScores(ScoreStore store, List<ScoreEntry> added, int[] scores) throws IOException {
+        String[] names = new String[scores.length];
+        for (int i = 0; i < scores.length; i++)
+            names[i] = "Player" + (added.size() + i) % 7;
+        int first = store.addAll(names, scores, scores.length);
+        for (int i = 0; i < scores.length; i++)
+            added.add(new ScoreEntry(first + i, names[i], scores[i], 0));
+    }
+
+    /**
+     * Returns the scores added in ranked order, sorted by brute force
+     *
+     * @param added Every score added
+     * @return the scores, best first, with the earliest first between equal scores
+     */
+    private static List<ScoreEntry> sort(List<ScoreEntry> added) {
+        List<ScoreEntry> sorted = new ArrayList<>(added);
+        sorted.sort(RANKED);
+        return sorted;
+    }
+
+    /**
+     * Checks two lists hold the same records, names and scores in the same order
+     *
+     * @param expected Scores expected
+     * @param actual   Scores returned by the leaderboard
+     */
+    private static void assertSameEntries(List<ScoreEntry> expected, List<ScoreEntry> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getRecord(), actual.get(i).getRecord());
+            Assertions.assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            Assertions.assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+        }
+    }
+
+    /**
+     * Deletes a temporary folder and the files in it
+     *
+     * @param dir Folder to delete
+     * @throws IOException Exception error when a file cannot be deleted
+     */
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+}
@@ -0,0 +1,139 @@
+package Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+class ScoreMergeTest {
+
+    /**
+     * Seed of the scores written to the old high score files
+     */
+    private static final long SEED = 3;
+
+    /**
+     * Usernames the scores are written under, few enough that the same name and score often appear more than once
+     */
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi"};
+
+    /**
+     * Highest score written, kept low so many scores share a rank
+     */
+    private static final int MAX_SCORE = 200;
+
+    /**
+     * Memory budget of the merge, enough for about ten scores, so the files are cut into far more runs than are merged at once
+     */
+    private static final long MEMORY = 1024;
+
+    @Test
+    void MultiPassMergeMatchesSort() throws IOException {
+
+        Path dir = Files.createTempDirectory("scoremerge");
+        try {
+            Random random = new Random(SEED);
+            List<Path> inputs = new ArrayList<>();
+            List<String> lines = new ArrayList<>();
+            for (int file = 0; file < 3; file++) {
+                List<String> fileLines = new ArrayList<>();
+                for (int i = 0; i < 1500; i++) {
+                    String line = NAMES[random.nextInt(NAMES.length)] + "\t" + random.nextInt(MAX_SCORE + 1);
+                    fileLines.add(line);
+                    // some lines are written twice in a row, as a score saved twice would be
+                    if (random.nextInt(10) == 0)
+                        fileLines.add(line);
+                }
+                // lines in the padded form the game wrote, and lines holding no score, which are skipped
+                fileLines.add(" Alice\t\t 7");
+                fileLines.add("no score here");
+                fileLines.add("Bob\tlots");
+                Path input = dir.resolve("HighScores" + file + ".txt");
+                Files.write(input, fileLines, StandardCharsets.UTF_8);
+                inputs.add(input);
+                lines.addAll(fileLines);
+            }
+
+            Path output = dir.resolve("ranked.txt");
+            Path tmp = Files.createDirectory(dir.resolve("tmp"));
+            long written = new ScoreMerge(MEMORY, tmp).merge(inputs, output);
+
+            List<String> expected = rank(lines);
+            Assertions.assertEquals(expected.size(), written);
+            Assertions.assertEquals(expected, Files.readAllLines(output, StandardCharsets.UTF_8));
+            try (Stream<Path> left = Files.list(tmp)) {
+                Assertions.assertEquals(0, left.count());
+            }
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void SharedRanks() throws IOException {
+
+        Path dir = Files.createTempDirectory("scoremerge");
+        try {
+            Path input = dir.resolve("HighScores.txt");
+            Files.write(input, List.of("Carol\t5", "Alice\t9", "Bob\t9", "Alice\t9", "Dave\t5", "Erin\t1", "Bob\t9"), StandardCharsets.UTF_8);
+            Path output = dir.resolve("ranked.txt");
+
+            Assertions.assertEquals(5, new ScoreMerge(ScoreMerge.DEF_MEMORY, dir).merge(List.of(input), output));
+            Assertions.assertEquals(List.of("1\tAlice\t9", "1\tBob\t9", "3\tCarol\t5", "3\tDave\t5", "5\tErin\t1"), Files.readAllLines(output, StandardCharsets.UTF_8));
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    /**
+     * Ranks the lines of old high score files in memory: each name and score kept once, best score first and then by name, with equal scores sharing the rank of the first of them
+     *
+     * @param lines Lines of every old high score file
+     * @return the lines of the ranked file
+     */
+    private static List<String> rank(List<String> lines) {
+        Set<String> seen = new LinkedHashSet<>();
+        List<ScoreEntry> scores = new ArrayList<>();
+        for (String line : lines) {
+            ScoreEntry entry = ScoreEntry.parse(line);
+            if (entry != null && seen.add(entry.getName() + "\t" + entry.getScore()))
+                scores.add(entry);
+        }
+        scores.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparing(ScoreEntry::getName));
+
+        List<String> ranked = new ArrayList<>();
+        int rank = 0;
+        for (int i = 0; i < scores.size(); i++) {
+            if (i == 0 || scores.get(i).getScore() != scores.get(i - 1).getScore())
+                rank = i + 1;
+            ranked.add(rank + "\t" + scores.get(i).getName() + "\t" + scores.get(i).getScore());
+        }
+        return ranked;
+    }
+
+    /**
+     * Deletes a temporary folder and everything in it
+     *
+     * @param dir Folder to delete
+     * @throws IOException Exception error when a file cannot be deleted
+     */
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class ScoreStoreTest {
+
+    /**
+     * Seed of the scores added
+     */
+    private static final long SEED = 7;
+
+    /**
+     * Usernames the scores are added under, differing only in case for some, so equal names land in the same name hash
+     */
+    private static final String[] NAMES = {"Alice", "ALICE", "bob", "Carol", "alice", "Dave", "BOB"};
+
+    /**
+     * Highest score added, kept low so many scores are equal
+     */
+    private static final int MAX_SCORE = 50;
+
+    /**
+     * Order of the ranked scores: best score first, then the earliest record
+     */
+    private static final Comparator<ScoreEntry> RANKED = Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparingInt(ScoreEntry::getRecord);
+
+    @Test
+    void RecoverTruncatedRecord() throws IOException {
+
+        Path dir = Files.createTempDirectory("scores");
+        try {
+            Path file = dir.resolve("scores.dat");
+            List<ScoreEntry> added = new ArrayList<>();
+            try (ScoreStore store = ScoreStore.open(file)) {
+                addScores(store, added, new Random(SEED), 5);
+            }
+
+            // a record whose checksum fails followed by half a record, as a crash during an append leaves them
+            Files.write(file, new byte[ScoreStore.RECORD_SIZE + ScoreStore.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+            try (ScoreStore store = ScoreStore.open(file)) {
+                Assertions.assertEquals(5, store.getRecordCount());
+                Assertions.assertEquals(ScoreStore.HEADER_SIZE + 5L * ScoreStore.RECORD_SIZE, Files.size(file));
+                assertRanked(added, 0, 10, store.getTop(10));
+
+                Assertions.assertEquals(5, store.add("Erin", 12));
+                Assertions.assertEquals("Erin", store.get(5).getName());
+                Assertions.assertEquals(12, store.get(5).getScore());
+            }
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void TopBeforeAndAfterCompact() throws IOException {
+
+        Path dir = Files.createTempDirectory("scores");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            Random random = new Random(SEED);
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, random, 600);
+            assertRanked(added, 0, 25, store.getTop(25));
+            assertRanked(added, 0, added.size(), store.getRange(0, added.size()));
+
+            store.compact();
+            assertRanked(added, 0, 25, store.getTop(25));
+            assertRanked(added, 0, added.size(), store.getRange(0, added.size()));
+
+            // scores added after the index was built are merged with it
+            addScores(store, added, random, 200);
+            Assertions.assertEquals(added.size(), store.getScoreCount());
+            assertRanked(added, 0, added.size(), store.getRange(0, added.size()));
+            for (int first : new int[]{0, 1, 99, 400, 790, 799, 800, 900})
+                assertRanked(added, first, 10, store.getRange(first, 10));
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void ScoresByNameIgnoreCase() throws IOException {
+
+        Path dir = Files.createTempDirectory("scores");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, new Random(SEED), 300);
+            assertByName(added, store, "aLiCe");
+            assertByName(added, store, "Bob");
+            Assertions.assertTrue(store.getScores("Mallory").isEmpty());
+
+            store.compact();
+            assertByName(added, store, "aLiCe");
+            assertByName(added, store, "Bob");
+            Assertions.assertTrue(store.getScores("Mallory").isEmpty());
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    @Test
+    void CompactInSortedRuns() throws IOException {
+
+        Path dir = Files.createTempDirectory("scores");
+        try (ScoreStore store = ScoreStore.open(dir.resolve("scores.dat"))) {
+            // 1000 records held 64 at a time are cut into 16 runs, the last one short
+            store.setCompactRecords(64);
+            List<ScoreEntry> added = new ArrayList<>();
+            addScores(store, added, new Random(SEED), 1000);
+            store.compact();
+
+            Assertions.assertEquals(added.size(), store.getScoreCount());
+            assertRanked(added, 0, added.size(), store.getRange(0, added.size()));
+            assertByName(added, store, "ALICE");
+            assertByName(added, store, "dave");
+            try (Stream<Path> files = Files.list(dir)) {
+                Assertions.assertEquals(2, files.count());
+            }
+        } finally {
+            delete(dir);
+        }
+
+    }
+
+    /**
+     * Adds random scores under the test names in one group and keeps what was added
+     *
+     * @param store  Score store to add to
+     * @param added  List of the scores added so far
+     * @param random Source of the scores
+     * @param count  Number of scores to add
+     * @throws IOException Exception error when the scores cannot be written
+     */
+    private static void addScores(ScoreStore store, List<ScoreEntry> added, Random random, int count) throws IOException {
+        String[] names = new String[count];
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = NAMES[random.nextInt(NAMES.length)];
+            scores[i] = random.nextInt(MAX_SCORE + 1);
+        }
+        int first = store.addAll(names, scores, count);
+        for (int i = 0; i < count; i++)
+            added.add(new ScoreEntry(first + i, names[i], scores[i], 0));
+    }
+
+    /**
+     * Checks a page of the ranked scores against every score added, sorted by brute force
+     *
+     * @param added  Every score added
+     * @param first  Position of the first score of the page
+     * @param count  Largest number of scores asked for
+     * @param actual Scores returned by the store
+     */
+    private static void assertRanked(List<ScoreEntry> added, int first, int count, List<ScoreEntry> actual) {
+        List<ScoreEntry> sorted = new ArrayList<>(added);
+        sorted.sort(RANKED);
+        assertSameEntries(sorted.subList(Math.min(first, sorted.size()), Math.min(first + count, sorted.size())), actual);
+    }
+
+    /**
+     * Checks the scores of one user against every score added under that name ignoring case, sorted by brute force
+     *
+     * @param added Every score added
+     * @param store Score store to look the user up in
+     * @param name  Username to look up
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    private static void assertByName(List<ScoreEntry> added, ScoreStore store, String name) throws IOException {
+        List<ScoreEntry> expected = new ArrayList<>();
+        for (ScoreEntry entry : added) {
+            if (entry.getName().equalsIgnoreCase(name))
+                expected.add(entry);
+        }
+        expected.sort(RANKED);
+        Assertions.assertFalse(expected.isEmpty());
+        assertSameEntries(expected, store.getScores(name));
+    }
+
+    /**
+     * Checks two lists hold the same records, names and scores in the same order
+     *
+     * @param expected Scores expected
+     * @param actual   Scores returned by the store
+     */
+    private static void assertSameEntries(List<ScoreEntry> expected, List<ScoreEntry> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getRecord(), actual.get(i).getRecord());
+            Assertions.assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            Assertions.assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+        }
+    }
+
+    /**
+     * Deletes a temporary folder and the files in it
+     *
+     * @param dir Folder to delete
+     * @throws IOException Exception error when a file cannot be deleted
+     */
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+}
@@ -1,8 +1,7 @@
 package Controller;
 
 import Initialization.GameBoard;
-import Objects.Paddle;
-import Objects.Wall;
+import Replay.ReplayInput;
 
 import java.awt.*;
 import java.awt.event.*;
@@ -41,17 +40,17 @@ public class Controls implements KeyListener, MouseListener, MouseMotionListener
     public void keyPressed(KeyEvent e) {
         int code = e.getKeyCode();
         if (code == KeyEvent.VK_LEFT || code == KeyEvent.VK_A) {
-            Paddle.getPaddle().moveLeft();
+            GameBoard.getGameBoard().input(ReplayInput.PADDLE_LEFT, 0);
         }
         if (code == KeyEvent.VK_RIGHT || code == KeyEvent.VK_D) {
-            Paddle.getPaddle().movRight();
+            GameBoard.getGameBoard().input(ReplayInput.PADDLE_RIGHT, 0);
         }
         if (code == KeyEvent.VK_SPACE) {
             if (!GameBoard.getGameBoard().isShowPauseMenu())
                 if (GameBoard.getGameBoard().getGameTimer().isRunning())
                     GameBoard.getGameBoard().getGameTimer().stop();
                 else
-                    GameBoard.getGameBoard().getGameTimer().start();
+                    GameBoard.getGameBoard().startGame();
         }
         if (code == KeyEvent.VK_ESCAPE) {
             GameBoard.getGameBoard().setShowPauseMenu(!GameBoard.getGameBoard().isShowPauseMenu());
@@ -71,7 +70,7 @@ public class Controls implements KeyListener, MouseListener, MouseMotionListener
      */
     @Override
     public void keyReleased(KeyEvent keyEvent) {
-        Paddle.getPaddle().stop();
+        GameBoard.getGameBoard().input(ReplayInput.PADDLE_STOP, 0);
     }
 
     /**
@@ -89,8 +88,7 @@ public class Controls implements KeyListener, MouseListener, MouseMotionListener
             GameBoard.getGameBoard().repaint();
         } else if (GameBoard.getGameBoard().getRestartButtonRect().contains(p)) {
             GameBoard.getGameBoard().setMessage("Restarting Game...");
-            Wall.getWall().ballReset();
-            Wall.getWall().wallReset();
+            GameBoard.getGameBoard().input(ReplayInput.RESTART, 0);
             GameBoard.getGameBoard().setShowPauseMenu(false);
             GameBoard.getGameBoard().repaint();
         } else if (GameBoard.getGameBoard().getExitButtonRect().contains(p)) {
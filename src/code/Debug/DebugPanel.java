@@ -1,6 +1,7 @@
 package Debug;
 
-import Objects.Wall;
+import Initialization.GameBoard;
+import Replay.ReplayInput;
 
 import javax.swing.*;
 import javax.swing.event.ChangeListener;
@@ -19,6 +20,36 @@ public class DebugPanel extends JPanel {
      */
     private static final Color DEF_BKG = Color.BLACK;
 
+    /**
+     * Simulation tick rates the user can choose between
+     */
+    private static final Integer[] TICK_RATES = {100, 240, 1000};
+
+    /**
+     * Number of balls each ball in play is split into when multiball is pressed
+     */
+    private static final int MULTIBALL_COPIES = 3;
+
+    /**
+     * Time in milliseconds between refreshes of the timing table
+     */
+    private static final int TIMINGS_REFRESH_DELAY = 250;
+
+    /**
+     * Number of nanoseconds in a millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Table of the timing histograms of every phase of the game loop, refreshed while the panel is showing
+     */
+    private final JTextArea TIMINGS_TABLE = new JTextArea();
+
+    /**
+     * Timer refreshing the timing table
+     */
+    private final Timer TIMINGS_REFRESH;
+
     /**
      * Slider to adjust the horizontal speed of the ball
      */
@@ -32,32 +63,109 @@ public class DebugPanel extends JPanel {
     /**
      * Creates the panel and adds all its features onto it
      *
-     * @param wall The wall object to be able to skip levels of the game and reset the ball count of
+     * @param gameBoard The game board to send the debugging commands to, so they are applied to the wall and recorded like any other input
      */
-    public DebugPanel(Wall wall) {
+    public DebugPanel(GameBoard gameBoard) {
 
         initialize();
 
-        JButton skipLevel = makeButton("Skip Level", e -> wall.nextLevel());
-        JButton resetBalls = makeButton("Reset Balls", e -> wall.resetBallCount());
+        JButton skipLevel = makeButton("Skip Level", e -> gameBoard.input(ReplayInput.SKIP_LEVEL, 0));
+        JButton resetBalls = makeButton("Reset Balls", e -> gameBoard.input(ReplayInput.RESET_BALLS, 0));
+        JButton multiBall = makeButton("Multiball", e -> gameBoard.input(ReplayInput.MULTIBALL, MULTIBALL_COPIES));
+
+        ballXSpeed = makeSlider(-4, 4, e -> gameBoard.input(ReplayInput.BALL_X_SPEED, ballXSpeed.getValue()));
+        ballYSpeed = makeSlider(-4, 4, e -> gameBoard.input(ReplayInput.BALL_Y_SPEED, ballYSpeed.getValue()));
+
+        JCheckBox overlay = new JCheckBox("Frame Overlay");
+        overlay.setBackground(DEF_BKG);
+        overlay.setForeground(Color.WHITE);
+        overlay.addActionListener(e -> gameBoard.setShowTimings(overlay.isSelected()));
+
+        JButton resetTimings = makeButton("Reset Timings", e -> {
+            gameBoard.getTimings().reset();
+            refreshTimings(gameBoard.getTimings());
+        });
 
-        ballXSpeed = makeSlider(-4, 4, e -> wall.setBallXSpeed(ballXSpeed.getValue()));
-        ballYSpeed = makeSlider(-4, 4, e -> wall.setBallYSpeed(ballYSpeed.getValue()));
+        JComboBox<Integer> tickRate = new JComboBox<>(TICK_RATES);
+        tickRate.setSelectedItem(gameBoard.getClock().getTickRate());
+        tickRate.addActionListener(e -> gameBoard.input(ReplayInput.TICK_RATE, (Integer) tickRate.getSelectedItem()));
 
-        this.add(skipLevel);
-        this.add(resetBalls);
+        JPanel controls = new JPanel(new GridLayout(4, 2));
+        controls.setBackground(DEF_BKG);
 
-        this.add(ballXSpeed);
-        this.add(ballYSpeed);
+        controls.add(skipLevel);
+        controls.add(resetBalls);
+
+        controls.add(ballXSpeed);
+        controls.add(ballYSpeed);
+
+        JLabel tickRateLabel = new JLabel("Tick Rate (Hz)", SwingConstants.CENTER);
+        tickRateLabel.setForeground(Color.WHITE);
+
+        controls.add(tickRateLabel);
+        controls.add(tickRate);
+
+        controls.add(multiBall);
+        controls.add(overlay);
+
+        TIMINGS_TABLE.setEditable(false);
+        TIMINGS_TABLE.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        TIMINGS_TABLE.setBackground(DEF_BKG);
+        TIMINGS_TABLE.setForeground(Color.GREEN);
+        refreshTimings(gameBoard.getTimings());
+        TIMINGS_REFRESH = new Timer(TIMINGS_REFRESH_DELAY, e -> refreshTimings(gameBoard.getTimings()));
+
+        JPanel timings = new JPanel(new BorderLayout());
+        timings.add(TIMINGS_TABLE, BorderLayout.CENTER);
+        timings.add(resetTimings, BorderLayout.SOUTH);
+
+        this.add(controls, BorderLayout.CENTER);
+        this.add(timings, BorderLayout.SOUTH);
 
     }
 
     /**
-     * Initialises the DebugPanel by setting the background color and grid layout
+     * Initialises the DebugPanel by setting the background color and layout
      */
     public void initialize() {
         this.setBackground(DEF_BKG);
-        this.setLayout(new GridLayout(2, 2));
+        this.setLayout(new BorderLayout());
+    }
+
+    /**
+     * Starts refreshing the timing table when the panel is added to a showing window
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        TIMINGS_REFRESH.start();
+    }
+
+    /**
+     * Stops refreshing the timing table when the panel is removed from its window
+     */
+    @Override
+    public void removeNotify() {
+        TIMINGS_REFRESH.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Fills the timing table with the median, 99th percentile, longest sample and overruns of every phase of the game loop
+     *
+     * @param timings Timing histograms of the game loop
+     */
+    private void refreshTimings(FrameTimings timings) {
+        StringBuilder table = new StringBuilder(String.format("%-12s %8s %8s %8s %8s %9s", "Phase (ms)", "p50", "p99", "max", "samples", "overruns"));
+        for (int i = 0; i < timings.getPhaseCount(); i++) {
+            TimingHistogram phase = timings.getHistogram(i);
+            synchronized (phase) {
+                table.append(String.format("%n%-12s %8.2f %8.2f %8.2f %8d %9d", timings.getPhaseName(i), phase.getPercentile(0.5) / NANOS_PER_MILLI,
+                        phase.getPercentile(0.99) / NANOS_PER_MILLI, phase.getMax() / NANOS_PER_MILLI, phase.getCount(), phase.getOverruns()));
+            }
+        }
+        table.append(String.format("%nPainted area %.1f%% of full repaints", 100 * timings.getPaintedFraction()));
+        TIMINGS_TABLE.setText(table.toString());
     }
 
     /**
@@ -0,0 +1,173 @@
+package Debug;
+
+/**
+ * Class to keep a timing histogram for every phase of the game loop, so a stutter can be traced to the simulation, the painting or the event thread running the timer late. The timer phases are recorded on the event thread and the paint phases on the drawing thread of the canvas when the board is drawn actively, so the times the phases are measured from are guarded by the lock of this object
+ *
+ * @author Salaar Mir
+ */
+public class FrameTimings {
+
+    /**
+     * Phase measuring how late the game timer fired after it was due, which is time spent queued behind other work on the event thread
+     */
+    public static final int TIMER_DELAY = 0;
+
+    /**
+     * Phase measuring the simulation ticks run by one firing of the game timer: moving the paddle and balls, the collisions and the rules of the game
+     */
+    public static final int SIMULATION = 1;
+
+    /**
+     * Phase measuring one paint of the game board
+     */
+    public static final int PAINT = 2;
+
+    /**
+     * Phase measuring the time between the start of one paint and the next, which is the frame time the player sees
+     */
+    public static final int FRAME = 3;
+
+    /**
+     * Names of the phases, in the order of their constants
+     */
+    private static final String[] PHASE_NAMES = {"Timer delay", "Simulation", "Paint", "Frame"};
+
+    /**
+     * Histogram of every phase
+     */
+    private final TimingHistogram[] PHASES = new TimingHistogram[PHASE_NAMES.length];
+
+    /**
+     * Time the game timer is expected to fire again, or 0 if the timer has just been started
+     */
+    private long m_timerDue;
+
+    /**
+     * Time the last paint started, or 0 if nothing has been painted since the timer was started
+     */
+    private long m_lastPaint;
+
+    /**
+     * Number of pixels painted since the last reset
+     */
+    private long m_paintedArea;
+
+    /**
+     * Number of pixels repainting the whole board every time would have painted since the last reset
+     */
+    private long m_boardArea;
+
+    /**
+     * Creates the histograms for a game loop aiming for one frame every frame budget
+     *
+     * @param frameBudgetNanos Time in nanoseconds between firings of the game timer
+     */
+    public FrameTimings(long frameBudgetNanos) {
+        PHASES[TIMER_DELAY] = new TimingHistogram(frameBudgetNanos);
+        PHASES[SIMULATION] = new TimingHistogram(frameBudgetNanos);
+        PHASES[PAINT] = new TimingHistogram(frameBudgetNanos);
+        // a frame only overruns once it has missed a whole firing of the timer
+        PHASES[FRAME] = new TimingHistogram(2 * frameBudgetNanos);
+    }
+
+    /**
+     * Returns the number of phases timed
+     *
+     * @return the number of phases
+     */
+    public int getPhaseCount() {
+        return PHASES.length;
+    }
+
+    /**
+     * Returns the name of a phase
+     *
+     * @param phase Phase constant
+     * @return the name of the phase
+     */
+    public String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Returns the histogram of a phase
+     *
+     * @param phase Phase constant
+     * @return the histogram of the phase
+     */
+    public TimingHistogram getHistogram(int phase) {
+        return PHASES[phase];
+    }
+
+    /**
+     * Records a sample of a phase
+     *
+     * @param phase Phase constant
+     * @param nanos Length of the sample in nanoseconds
+     */
+    public void record(int phase, long nanos) {
+        PHASES[phase].record(nanos);
+    }
+
+    /**
+     * Records how late the game timer fired, using the time it was due from the previous firing
+     *
+     * @param now    Time the timer fired
+     * @param period Time in nanoseconds between firings of the timer
+     */
+    public synchronized void timerFired(long now, long period) {
+        if (m_timerDue != 0)
+            PHASES[TIMER_DELAY].record(now - m_timerDue);
+        m_timerDue = now + period;
+    }
+
+    /**
+     * Records the frame time when a paint starts
+     *
+     * @param now Time the paint started
+     */
+    public synchronized void paintStarted(long now) {
+        if (m_lastPaint != 0)
+            PHASES[FRAME].record(now - m_lastPaint);
+        m_lastPaint = now;
+    }
+
+    /**
+     * Records the area painted for one frame against the area of the whole board
+     *
+     * @param painted   Number of pixels painted
+     * @param boardArea Number of pixels on the whole board
+     */
+    public synchronized void recordPaintedArea(long painted, long boardArea) {
+        m_paintedArea += painted;
+        m_boardArea += boardArea;
+    }
+
+    /**
+     * Returns the area painted since the last reset as a fraction of repainting the whole board every frame
+     *
+     * @return the fraction of the board painted, or 0 if nothing has been painted
+     */
+    public synchronized double getPaintedFraction() {
+        return (m_boardArea == 0) ? 0 : (double) m_paintedArea / m_boardArea;
+    }
+
+    /**
+     * Forgets when the timer last fired and the last paint, so a pause is not counted as a late timer or a long frame
+     */
+    public synchronized void timerStarted() {
+        m_timerDue = 0;
+        m_lastPaint = 0;
+    }
+
+    /**
+     * Empties the histogram of every phase and forgets the area painted
+     */
+    public synchronized void reset() {
+        for (TimingHistogram phase : PHASES)
+            phase.reset();
+        m_paintedArea = 0;
+        m_boardArea = 0;
+    }
+
+}
@@ -0,0 +1,202 @@
+package Debug;
+
+import java.util.Arrays;
+
+/**
+ * Class to count how long a phase of the game loop takes in fixed buckets, so the percentiles can be read at any time without keeping every sample or allocating while recording. Samples may be recorded on the drawing thread of the canvas while the debug panel reads and resets the histogram on the event thread, so every method holds the lock of the histogram
+ *
+ * @author Salaar Mir
+ */
+public class TimingHistogram {
+
+    /**
+     * Number of low bits dropped from every sample, so the smallest bucket is about a microsecond wide
+     */
+    private static final int UNIT_SHIFT = 10;
+
+    /**
+     * Number of bits each power of two is split by, giving eight buckets per power of two and a worst case error of one eighth
+     */
+    private static final int SUB_BITS = 3;
+
+    /**
+     * Number of buckets each power of two is split into
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Number of buckets at the bottom of the range that are one unit wide each
+     */
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+
+    /**
+     * Power of two of the first bucket after the linear buckets
+     */
+    private static final int FIRST_EXPONENT = SUB_BITS + 1;
+
+    /**
+     * Number of buckets, reaching past a second so any stall lands in a bucket of its own size
+     */
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (31 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    /**
+     * Number of samples in each bucket
+     */
+    private final long[] COUNTS = new long[BUCKET_COUNT];
+
+    /**
+     * Time in nanoseconds a sample may take before it counts as an overrun
+     */
+    private final long BUDGET_NANOS;
+
+    /**
+     * Returns the time a sample may take before it counts as an overrun
+     *
+     * @return the budget of the phase in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return BUDGET_NANOS;
+    }
+
+    /**
+     * Number of samples recorded since the last reset
+     */
+    private long m_count;
+
+    /**
+     * Returns the number of samples recorded since the last reset
+     *
+     * @return the number of samples recorded
+     */
+    public synchronized long getCount() {
+        return m_count;
+    }
+
+    /**
+     * Number of samples longer than the budget since the last reset
+     */
+    private long m_overruns;
+
+    /**
+     * Returns the number of samples longer than the budget since the last reset
+     *
+     * @return the number of overruns
+     */
+    public synchronized long getOverruns() {
+        return m_overruns;
+    }
+
+    /**
+     * Longest sample recorded since the last reset
+     */
+    private long m_max;
+
+    /**
+     * Returns the longest sample recorded since the last reset
+     *
+     * @return the longest sample in nanoseconds
+     */
+    public synchronized long getMax() {
+        return m_max;
+    }
+
+    /**
+     * Most recent sample recorded
+     */
+    private long m_last;
+
+    /**
+     * Returns the most recent sample recorded
+     *
+     * @return the most recent sample in nanoseconds
+     */
+    public synchronized long getLast() {
+        return m_last;
+    }
+
+    /**
+     * Creates an empty histogram
+     *
+     * @param budgetNanos Time in nanoseconds a sample may take before it counts as an overrun
+     */
+    public TimingHistogram(long budgetNanos) {
+        BUDGET_NANOS = budgetNanos;
+    }
+
+    /**
+     * Adds a sample to the histogram
+     *
+     * @param nanos Length of the sample in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        COUNTS[bucket(nanos)]++;
+        m_count++;
+        if (nanos > BUDGET_NANOS)
+            m_overruns++;
+        if (nanos > m_max)
+            m_max = nanos;
+        m_last = nanos;
+    }
+
+    /**
+     * Returns the time that the specified fraction of samples took at most, rounded up to the top of its bucket
+     *
+     * @param fraction Fraction of samples between 0 and 1
+     * @return the time at that percentile in nanoseconds, or 0 if there are no samples
+     */
+    public synchronized long getPercentile(double fraction) {
+        if (m_count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * m_count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += COUNTS[i];
+            if (seen >= rank)
+                return Math.min(upperBound(i), m_max);
+        }
+        return m_max;
+    }
+
+    /**
+     * Empties the histogram
+     */
+    public synchronized void reset() {
+        Arrays.fill(COUNTS, 0);
+        m_count = 0;
+        m_overruns = 0;
+        m_max = 0;
+        m_last = 0;
+    }
+
+    /**
+     * Returns the bucket a sample falls into
+     *
+     * @param nanos Length of the sample in nanoseconds
+     * @return the index of the bucket
+     */
+    private static int bucket(long nanos) {
+        long units = nanos >>> UNIT_SHIFT;
+        if (units < LINEAR_BUCKETS)
+            return (int) units;
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        int sub = (int) (units >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKET_COUNT - 1, LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + sub);
+    }
+
+    /**
+     * Returns the time just past the top of a bucket
+     *
+     * @param bucket Index of the bucket
+     * @return the upper bound of the bucket in nanoseconds
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS)
+            return (long) (bucket + 1) << UNIT_SHIFT;
+        int exponent = FIRST_EXPONENT + (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS + UNIT_SHIFT);
+    }
+
+}
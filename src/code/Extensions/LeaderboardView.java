@@ -0,0 +1,302 @@
+package Extensions;
+
+import Scores.ScoreEntry;
+import Scores.ScoreStore;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class to show every score in the score store, best first, in a scrolling list. The list only makes cells for the rows on screen, and the rows are read from the index of the score store a page at a time as they are scrolled to, so the list opens at once however many scores there are. Every read of the store runs on a loader thread of its own, since the store can be busy forcing submitted scores to the disk, and rows show as loading until their page arrives, so scrolling never waits on the disk
+ *
+ * @author Salaar Mir
+ */
+public class LeaderboardView {
+
+    /**
+     * Only instance of the leaderboard screen
+     */
+    private static final LeaderboardView LEADERBOARD_VIEW = new LeaderboardView();
+
+    /**
+     * Returns the only instance of the leaderboard screen
+     *
+     * @return the only instance of the leaderboard screen
+     */
+    public static LeaderboardView getLeaderboardView() {
+        return LEADERBOARD_VIEW;
+    }
+
+    /**
+     * Frame to display the leaderboard on
+     */
+    private final JFrame FRAME = new JFrame("High Scores");
+
+    /**
+     * JavaFX panel to add onto a Java Swing frame so JavaFX features can be used
+     */
+    private final JFXPanel FXPANEL = new JFXPanel();
+
+    /**
+     * Width of the leaderboard screen
+     */
+    private final int DEF_WIDTH = 450;
+
+    /**
+     * Height of the leaderboard screen
+     */
+    private final int DEF_HEIGHT = 600;
+
+    /**
+     * Size of text on the leaderboard screen
+     */
+    private final int TEXT_SIZE = 14;
+
+    /**
+     * Font of the rows of the leaderboard, fixed width so the columns line up
+     */
+    private final Font LIST_FONT = new Font("Monospaced", TEXT_SIZE);
+
+    /**
+     * Height of every row of the list, fixed so the list never has to measure rows to lay them out
+     */
+    private final double ROW_HEIGHT = 24;
+
+    /**
+     * Number of scores read from the score store at once
+     */
+    private static final int PAGE_SIZE = 64;
+
+    /**
+     * Largest number of pages kept, the least recently shown being dropped first
+     */
+    private static final int MAX_PAGES = 16;
+
+    /**
+     * Placeholder for the rows past the end of a page that came back short because some of its records failed their checksums
+     */
+    private static final ScoreEntry UNAVAILABLE = new ScoreEntry(ScoreEntry.NO_RECORD, "", 0, 0);
+
+    /**
+     * Label showing how many scores there are
+     */
+    private final Label TITLE = new Label();
+
+    /**
+     * List showing the rows on screen
+     */
+    private final ListView<ScoreEntry> LIST = new ListView<>();
+
+    /**
+     * Thread reading the score store, so the JavaFX thread never waits on it
+     */
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Leaderboard Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Boolean to tell whether the frame and scene have been set up
+     */
+    private boolean m_initialised;
+
+    private LeaderboardView() {
+    }
+
+    /**
+     * Initialise the leaderboard screen if it has not been shown before, read the number of scores again and display it to the user
+     */
+    public void initAndShowMenu() {
+        if (!m_initialised) {
+            FRAME.add(FXPANEL);
+            FRAME.setSize(DEF_WIDTH, DEF_HEIGHT);
+            FRAME.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+            showScores();
+            m_initialised = true;
+        }
+        refresh();
+        FRAME.setLocationRelativeTo(null);
+        FRAME.setVisible(true);
+    }
+
+    /**
+     * Sets up the list, drawing each row as its rank, name and score
+     */
+    private void showScores() {
+
+        final int VB_SPACING = 10;
+
+        LIST.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(ScoreEntry entry, boolean empty) {
+                super.updateItem(entry, empty);
+                setFont(LIST_FONT);
+                if (empty)
+                    setText(null);
+                else if (entry == null)
+                    setText(String.format("%,8d  Loading...", getIndex() + 1));
+                else if (entry == UNAVAILABLE)
+                    setText(String.format("%,8d  Unavailable", getIndex() + 1));
+                else
+                    setText(String.format("%,8d  %-24s %,10d", getIndex() + 1, entry.getName(), entry.getScore()));
+            }
+        });
+        LIST.setFixedCellSize(ROW_HEIGHT);
+        TITLE.setFont(LIST_FONT);
+        Button close = new Button("Close");
+        close.setOnAction(e -> screenHide());
+
+        VBox vb = new VBox();
+        vb.setSpacing(VB_SPACING);
+        vb.getChildren().addAll(TITLE, LIST, close);
+        VBox.setVgrow(LIST, Priority.ALWAYS);
+        FXPANEL.setScene(new Scene(vb, DEF_WIDTH, DEF_HEIGHT));
+    }
+
+    /**
+     * Counts the scores on the loader thread and then gives the list a fresh set of pages, so scores submitted since it was last shown appear
+     */
+    private void refresh() {
+        TITLE.setText("Loading scores...");
+        LOADER.execute(() -> {
+            try {
+                ScoreStore store = ScoreStore.getScoreStore();
+                int size = store.getScoreCount();
+                Platform.runLater(() -> {
+                    TITLE.setText(String.format("%,d scores", size));
+                    LIST.setItems(new ScorePages(store, size));
+                });
+            } catch (IOException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> TITLE.setText("The high scores could not be read"));
+            }
+        });
+    }
+
+    /**
+     * Hide the leaderboard screen
+     */
+    public void screenHide() {
+        FRAME.setVisible(false);
+    }
+
+    /**
+     * Class to hold the ranked scores of the score store as a list the size of the whole store, reading a page of scores from the store on the loader thread only when one of its rows is asked for. The pages are only used on the JavaFX thread
+     */
+    private static class ScorePages extends ObservableListBase<ScoreEntry> {
+
+        /**
+         * Store the scores are read from
+         */
+        private final ScoreStore STORE;
+
+        /**
+         * Number of ranked scores when the list was made
+         */
+        private final int SIZE;
+
+        /**
+         * Pages read so far, by page number, in the order they were last shown
+         */
+        private final Map<Integer, List<ScoreEntry>> PAGES = new LinkedHashMap<>(MAX_PAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<ScoreEntry>> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+
+        /**
+         * Pages being read on the loader thread
+         */
+        private final Set<Integer> LOADING = new HashSet<>();
+
+        /**
+         * Creates a list over the ranked scores of a store
+         *
+         * @param store Store the scores are read from
+         * @param size  Number of ranked scores in the store
+         */
+        ScorePages(ScoreStore store, int size) {
+            STORE = store;
+            SIZE = size;
+        }
+
+        /**
+         * Returns the score at a rank, starting to read its page on the loader thread if it is not kept
+         *
+         * @param index Position of the score, 0 being the best
+         * @return the score, null while its page is being read or if it could not be read, or the unavailable placeholder if its page has been read but came back too short to hold it
+         */
+        @Override
+        public ScoreEntry get(int index) {
+            int page = index / PAGE_SIZE;
+            List<ScoreEntry> scores = PAGES.get(page);
+            if (scores == null) {
+                load(page);
+                return null;
+            }
+            int offset = index % PAGE_SIZE;
+            return (offset < scores.size()) ? scores.get(offset) : UNAVAILABLE;
+        }
+
+        /**
+         * Reads a page on the loader thread unless it is already being read, then keeps it and tells the list its rows have changed so they are drawn again. A page that was read but is short is kept as it is, since reading it again would skip the same damaged records, while a page that could not be read at all is tried again the next time one of its rows is asked for
+         *
+         * @param page Number of the page
+         */
+        private void load(int page) {
+            if (!LOADING.add(page))
+                return;
+            LOADER.execute(() -> {
+                List<ScoreEntry> scores;
+                try {
+                    scores = STORE.getRange(page * PAGE_SIZE, PAGE_SIZE);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    Platform.runLater(() -> LOADING.remove(page));
+                    return;
+                }
+                Platform.runLater(() -> {
+                    LOADING.remove(page);
+                    PAGES.put(page, scores);
+                    int first = page * PAGE_SIZE;
+                    beginChange();
+                    for (int i = first; i < Math.min(SIZE, first + PAGE_SIZE); i++)
+                        nextSet(i, null);
+                    endChange();
+                });
+            });
+        }
+
+        /**
+         * Returns the number of ranked scores when the list was made
+         *
+         * @return the number of rows in the list
+         */
+        @Override
+        public int size() {
+            return SIZE;
+        }
+
+    }
+
+}
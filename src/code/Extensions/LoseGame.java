@@ -1,6 +1,10 @@
 package Extensions;
 
 import Objects.Brick;
+import Scores.Leaderboard;
+import Scores.ScoreEntry;
+import Scores.ScoreWriter;
+import javafx.application.Platform;
 import javafx.embed.swing.JFXPanel;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -13,9 +17,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
 import javax.swing.*;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Class to allow users to input their usernames and submit their scores after they have run out of balls
@@ -67,6 +70,16 @@ public class LoseGame {
         return m_username;
     }
 
+    /**
+     * Rank of the user's saved score and the scores ranked around it, or null if the score could not be saved
+     */
+    private String m_ranks;
+
+    /**
+     * Number of scores shown above and below the user's score on the leaderboard
+     */
+    private final int AROUND_RADIUS = 2;
+
     /**
      * Width of the high score panel
      */
@@ -129,9 +142,8 @@ public class LoseGame {
         vb.setSpacing(VB_SPACING);
         submit.setOnAction(e -> {
             m_username = textField.getText();
-            scoreSubmitted(vb);
-            createFile();
-            writeFile();
+            submit.setDisable(true);
+            writeFile(vb);
 
         });
 
@@ -169,11 +181,13 @@ public class LoseGame {
 
 
         int popupWidth = 700;
-        int popupHeight = 200;
+        int popupHeight = (m_ranks == null) ? 200 : 320;
         FRAME.setSize(popupWidth, popupHeight);
         VBox vb2 = new VBox();
         vb.setVisible(false);
-        Text text = new Text("Hey " + getUsername() + "! Your Username and Score were saved to the HighScore file!");
+        Text text = new Text((m_ranks == null)
+                ? "Sorry " + getUsername() + ", your Username and Score could not be saved to the HighScore file"
+                : "Hey " + getUsername() + "! Your Username and Score were saved to the HighScore file!");
         FRAME.setLocationRelativeTo(null);
         Button end = new Button("End Game");
         end.setOnAction(e -> {
@@ -182,40 +196,59 @@ public class LoseGame {
             System.exit(0);
 
         });
-        vb2.getChildren().addAll(text, end);
+        vb2.getChildren().add(text);
+        if (m_ranks != null) {
+            Text ranks = new Text(m_ranks);
+            ranks.setFont(MENU_FONT);
+            vb2.getChildren().add(ranks);
+        }
+        vb2.getChildren().add(end);
         vb2.setSpacing(VB2_SPACING);
         ROOT.add(vb2, VB2_XCOORD, VB2_YCOORD);
 
     }
 
     /**
-     * Create high score file to save names and scores of users
-     */
-    public void createFile() {
-        try {
-            File highScore = new File("HighScores.txt");
-            highScore.createNewFile();
-        } catch (IOException e) {
-            System.out.println("An error occurred.");
-            e.printStackTrace();
-        }
+     * Returns the rank of the user's saved score and the scores ranked around it
+     *
+     * @param submitted Score saved by the user
+     * @return the rank of the score followed by one line for each score around it
+     * @throws IOException Exception error when the leaderboard cannot be read
+     */
+    private String getRanks(ScoreEntry submitted) throws IOException {
+        Leaderboard leaderboard = Leaderboard.getLeaderboard();
+        StringBuilder ranks = new StringBuilder();
+        ranks.append(String.format("You ranked #%,d of %,d", leaderboard.getRank(submitted), leaderboard.size()));
+        List<ScoreEntry> around = leaderboard.getAround(submitted, AROUND_RADIUS);
+        int rank = leaderboard.getRank(around.get(0));
+        for (ScoreEntry entry : around)
+            ranks.append(String.format("%n%s%,8d  %s  %d", (entry.getRecord() == submitted.getRecord()) ? "> " : "  ", rank++, entry.getName(), entry.getScore()));
+        return ranks.toString();
     }
 
     /**
-     * Write the names of users and their high scores onto the file
-     */
-    private void writeFile() {
-        try {
-            FileWriter writer = new FileWriter("HighScores.txt", true);
-            writer.write("\n");
-            writer.write(" " + getUsername());
-            writer.write("\t\t");
-            writer.write(" " + Brick.getScore());
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("An error occurred.");
-            e.printStackTrace();
-        }
+     * Queues the name of the user and their score to be written to the score store, and once it is safely on the disk ranks it on the leaderboard and shows the user it has been saved, without holding up the JavaFX thread. A score that could not be written or read back, or could not be ranked, still gets a message, so the user is never left waiting
+     *
+     * @param vb VBox pane to hide once the score has been saved
+     */
+    private void writeFile(VBox vb) {
+        ScoreWriter.getScoreWriter().submit(getUsername(), Brick.getScore()).whenCompleteAsync((submitted, error) -> {
+            String ranks = null;
+            if (error != null || submitted == null) {
+                System.out.println("An error occurred.");
+                if (error != null)
+                    error.printStackTrace();
+            } else {
+                try {
+                    ranks = getRanks(submitted);
+                } catch (IOException | RuntimeException e) {
+                    e.printStackTrace();
+                    ranks = "";
+                }
+            }
+            m_ranks = ranks;
+            Platform.runLater(() -> scoreSubmitted(vb));
+        });
     }
 
 
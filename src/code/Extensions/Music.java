@@ -4,27 +4,19 @@ package Extensions;
 import javax.sound.sampled.*;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Class to allow for the game to have background music while its running
+ * Class to allow for the game to have background music while its running. The song is streamed from its file on a thread of its own rather than loaded whole, so only a few chunks of it are ever in memory however long it is, and nothing is opened until the music is first played
  *
  * @author Salaar Mir
  */
 public class Music {
 
-
     /**
      * Object used to play the background music
      */
-    private static Music m_music;
-
-    static {
-        try {
-            m_music = new Music();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-        }
-    }
+    private static final Music MUSIC = new Music();
 
     /**
      * Returns the only instance of the music object used to play background music
@@ -32,61 +24,128 @@ public class Music {
      * @return the only instance of the music object used to play background music
      */
     public static Music getMusic() {
-        return m_music;
+        return MUSIC;
     }
 
     /**
-     * File to store file path of song to be played in the background
+     * File of the song to be played in the background
      */
-    private File m_musicFile = new File("src/code/Music/music.wav");
+    private static final File MUSIC_FILE = new File("src/code/Music/music.wav");
 
     /**
-     * Audio input stream to play music on
+     * Length of audio read from the file and written to the line at a time, in milliseconds
      */
-    private AudioInputStream m_audioStream = AudioSystem.getAudioInputStream((m_musicFile));
+    private static final int CHUNK_MILLIS = 50;
 
     /**
-     * Clip of song to be played in the background
+     * Number of chunks the line holds, which it plays round as a ring while the next chunk is read
      */
-    private Clip m_clip = AudioSystem.getClip();
+    private static final int RING_CHUNKS = 4;
 
     /**
-     * Constructor of Music class to be able to play and stop the music
-     *
-     * @throws UnsupportedAudioFileException Exception error if an unsupported audio file is played
-     * @throws IOException                   Exception error when there is a failure while searching for a file
-     * @throws LineUnavailableException      Exception error indicating line cannot be opened because it is unavailable
+     * Thread streaming the song to the line, or null if the music is not playing. A thread stops streaming as soon as it is no longer the player, so a thread left over from before the music was stopped never plays over a new one
      */
-    public Music() throws UnsupportedAudioFileException, IOException, LineUnavailableException {
-    }
+    private volatile Thread m_player;
 
     /**
-     * Play song clip in the background
-     *
-     * @throws LineUnavailableException Exception error indicating line cannot be opened because it is unavailable
-     * @throws IOException              Exception error when there is a failure while searching for a file
+     * Line the song is being played on, or null if it has not been opened. A thread only clears the line if it is still its own, so a thread left over from before the music was stopped never clears the line of a new one
      */
-    void playMusic() throws LineUnavailableException, IOException {
-
-
-        m_clip.open(m_audioStream);
-        m_clip.start();
-        m_clip.loop(Clip.LOOP_CONTINUOUSLY);
+    private final AtomicReference<SourceDataLine> LINE = new AtomicReference<>();
 
+    /**
+     * Constructor of Music class to be able to play and stop the music
+     */
+    private Music() {
     }
 
     /**
-     * Stop song clip in the background
+     * Play song in the background on repeat, starting the thread that streams it if it is not already playing
      */
-    void stopMusic() {
+    synchronized void playMusic() {
+        if (m_player != null)
+            return;
+        Thread player = new Thread(this::stream, "Music Player");
+        player.setDaemon(true);
+        m_player = player;
+        player.start();
+    }
 
-        m_clip.stop();
-        m_audioStream = null;
-        m_clip = null;
-        m_music = null;
-        m_musicFile = null;
+    /**
+     * Stop song in the background, silencing the line at once and letting the thread close it
+     */
+    synchronized void stopMusic() {
+        m_player = null;
+        SourceDataLine line = LINE.get();
+        if (line != null) {
+            line.stop();
+            line.flush();
+        }
+    }
 
+    /**
+     * Streams the song to a line a chunk at a time, starting the song again from the beginning whenever it ends, until the music is stopped. The line is only made the current line while this thread is still the player, checked under the same lock as stopping the music, so stopMusic always finds the line that is playing
+     */
+    private void stream() {
+        AudioInputStream song = null;
+        try {
+            song = openSong();
+            AudioFormat format = song.getFormat();
+            int frameSize = format.getFrameSize();
+            int chunk = Math.max(1, (int) (format.getFrameRate() * CHUNK_MILLIS / 1000)) * frameSize;
+            byte[] buffer = new byte[chunk];
+            SourceDataLine line = AudioSystem.getSourceDataLine(format);
+            try (line) {
+                line.open(format, chunk * RING_CHUNKS);
+                synchronized (this) {
+                    if (m_player != Thread.currentThread())
+                        return;
+                    LINE.set(line);
+                }
+                line.start();
+                boolean restarted = false;
+                while (m_player == Thread.currentThread()) {
+                    int read = song.readNBytes(buffer, 0, chunk);
+                    read -= read % frameSize;
+                    if (read == 0) {
+                        if (restarted)
+                            break;
+                        song.close();
+                        song = openSong();
+                        restarted = true;
+                        continue;
+                    }
+                    restarted = false;
+                    line.write(buffer, 0, read);
+                }
+                line.stop();
+                line.flush();
+            } finally {
+                LINE.compareAndSet(line, null);
+            }
+        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                if (song != null)
+                    song.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
+    /**
+     * Opens the song from the start, converting it to signed PCM if it is stored in another encoding
+     *
+     * @return a stream of the song
+     * @throws UnsupportedAudioFileException Exception error if an unsupported audio file is played
+     * @throws IOException                   Exception error when there is a failure while searching for a file
+     */
+    private static AudioInputStream openSong() throws UnsupportedAudioFileException, IOException {
+        AudioInputStream song = AudioSystem.getAudioInputStream(MUSIC_FILE);
+        if (song.getFormat().getEncoding() == AudioFormat.Encoding.PCM_SIGNED || song.getFormat().getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED)
+            return song;
+        return AudioSystem.getAudioInputStream(AudioFormat.Encoding.PCM_SIGNED, song);
+    }
 
 }
@@ -0,0 +1,335 @@
+package Extensions;
+
+import Objects.SoundQueue;
+
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class to play the sound effects of the game with little delay. Every effect is decoded once into memory, from a file in the sounds folder if there is one or else made by code, and is played on one of a fixed set of voices. One audio thread takes the effects the game queues, mixes every playing voice together in software a few milliseconds at a time and writes the mix to a single line, which is kept short so an effect is heard within 20 milliseconds of the impact that caused it. When more effects are triggered than there are voices, the voice that has been playing longest is taken over
+ *
+ * @author Salaar Mir
+ */
+public class SoundMixer {
+
+    /**
+     * Object used to play the sound effects
+     */
+    private static final SoundMixer SOUND_MIXER = new SoundMixer();
+
+    /**
+     * Returns the only instance of the sound mixer used to play sound effects
+     *
+     * @return the only instance of the sound mixer used to play sound effects
+     */
+    public static SoundMixer getSoundMixer() {
+        return SOUND_MIXER;
+    }
+
+    /**
+     * Sample rate of the mix in frames per second
+     */
+    static final int SAMPLE_RATE = 44100;
+
+    /**
+     * Number of frames mixed at a time, 5 milliseconds
+     */
+    static final int PERIOD_FRAMES = SAMPLE_RATE / 200;
+
+    /**
+     * Number of mixed periods the line holds, which with the period being mixed keeps the delay under 20 milliseconds
+     */
+    private static final int LINE_PERIODS = 3;
+
+    /**
+     * Number of bytes in one stereo frame of 16 bit samples
+     */
+    private static final int FRAME_BYTES = 4;
+
+    /**
+     * Number of effects that can play at once
+     */
+    static final int VOICES = 16;
+
+    /**
+     * Loudness each effect is played at, leaving room for several to play together before the mix clips
+     */
+    private static final float VOICE_GAIN = 0.5f;
+
+    /**
+     * Folder effect files are loaded from, named after the effects
+     */
+    private static final String SOUND_DIR = "src/code/Sounds/";
+
+    /**
+     * Names of the effects, indexed by effect from SoundQueue
+     */
+    private static final String[] NAMES = {"brickhit", "brickbreak", "paddle", "border"};
+
+    /**
+     * Format of the mix and of every decoded effect
+     */
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+
+    /**
+     * Queue the game writes effects to
+     */
+    private final SoundQueue QUEUE = new SoundQueue();
+
+    /**
+     * Returns the queue the game writes effects to
+     *
+     * @return the queue the game writes effects to
+     */
+    public SoundQueue getQueue() {
+        return QUEUE;
+    }
+
+    /**
+     * Decoded mono samples of each effect, indexed by effect
+     */
+    private final short[][] SAMPLES = new short[SoundQueue.EFFECT_COUNT][];
+
+    /**
+     * Effect each voice is playing, or SoundQueue.EMPTY if it is free
+     */
+    private final int[] VOICE_EFFECTS = new int[VOICES];
+
+    /**
+     * Next sample each voice plays
+     */
+    private final int[] VOICE_POSITIONS = new int[VOICES];
+
+    /**
+     * Loudness of the left channel of each voice
+     */
+    private final float[] VOICE_LEFT = new float[VOICES];
+
+    /**
+     * Loudness of the right channel of each voice
+     */
+    private final float[] VOICE_RIGHT = new float[VOICES];
+
+    /**
+     * Reusable sums of the voices for one period, left and right channels interleaved
+     */
+    private final int[] MIX = new int[PERIOD_FRAMES * 2];
+
+    /**
+     * Reusable bytes of one mixed period
+     */
+    private final byte[] OUT = new byte[PERIOD_FRAMES * FRAME_BYTES];
+
+    /**
+     * Thread mixing the effects, or null if it has not been started
+     */
+    private Thread m_mixer;
+
+    /**
+     * Constructor of the sound mixer, with every voice free
+     */
+    private SoundMixer() {
+        Arrays.fill(VOICE_EFFECTS, SoundQueue.EMPTY);
+    }
+
+    /**
+     * Decodes every effect and starts the audio thread if it is not already running
+     */
+    public synchronized void start() {
+        if (m_mixer != null)
+            return;
+        m_mixer = new Thread(this::run, "Sound Mixer");
+        m_mixer.setDaemon(true);
+        m_mixer.setPriority(Thread.MAX_PRIORITY);
+        m_mixer.start();
+    }
+
+    /**
+     * Decodes the effects, opens the line and mixes a period at a time until the game ends, the blocking write to the short line setting the pace
+     */
+    private void run() {
+        loadEffects();
+        try (SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT)) {
+            line.open(FORMAT, OUT.length * LINE_PERIODS);
+            line.start();
+            while (true) {
+                mix();
+                line.write(OUT, 0, OUT.length);
+            }
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts the effects the game has queued and mixes the next period of every playing voice into the output bytes
+     */
+    void mix() {
+        for (int packed = QUEUE.poll(); packed != SoundQueue.EMPTY; packed = QUEUE.poll())
+            trigger(SoundQueue.getEffect(packed), SoundQueue.getPan(packed));
+
+        Arrays.fill(MIX, 0);
+        for (int v = 0; v < VOICES; v++) {
+            int effect = VOICE_EFFECTS[v];
+            if (effect == SoundQueue.EMPTY)
+                continue;
+            short[] samples = SAMPLES[effect];
+            int position = VOICE_POSITIONS[v];
+            int frames = Math.min(PERIOD_FRAMES, samples.length - position);
+            float left = VOICE_LEFT[v];
+            float right = VOICE_RIGHT[v];
+            for (int f = 0; f < frames; f++) {
+                int sample = samples[position + f];
+                MIX[2 * f] += (int) (sample * left);
+                MIX[2 * f + 1] += (int) (sample * right);
+            }
+            VOICE_POSITIONS[v] = position + frames;
+            if (VOICE_POSITIONS[v] >= samples.length)
+                VOICE_EFFECTS[v] = SoundQueue.EMPTY;
+        }
+
+        for (int i = 0; i < MIX.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, MIX[i]));
+            OUT[2 * i] = (byte) sample;
+            OUT[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * Starts an effect on a free voice, or if every voice is busy on the voice that has been playing longest, whose loudest part is already over
+     *
+     * @param effect Effect to play
+     * @param pan    Stereo position of the effect, from 0 for fully left to 1 for fully right
+     */
+    void trigger(int effect, double pan) {
+        if (effect < 0 || effect >= SoundQueue.EFFECT_COUNT || SAMPLES[effect] == null)
+            return;
+        int voice = 0;
+        for (int v = 0; v < VOICES; v++) {
+            if (VOICE_EFFECTS[v] == SoundQueue.EMPTY) {
+                voice = v;
+                break;
+            }
+            if (VOICE_POSITIONS[v] > VOICE_POSITIONS[voice])
+                voice = v;
+        }
+        VOICE_EFFECTS[voice] = effect;
+        VOICE_POSITIONS[voice] = 0;
+        VOICE_LEFT[voice] = (float) (VOICE_GAIN * Math.cos(pan * Math.PI / 2));
+        VOICE_RIGHT[voice] = (float) (VOICE_GAIN * Math.sin(pan * Math.PI / 2));
+    }
+
+    /**
+     * Returns the number of voices playing
+     *
+     * @return the number of voices playing
+     */
+    int getPlayingVoices() {
+        int playing = 0;
+        for (int effect : VOICE_EFFECTS) {
+            if (effect != SoundQueue.EMPTY)
+                playing++;
+        }
+        return playing;
+    }
+
+    /**
+     * Decodes every effect that has not been decoded yet, from its file in the sounds folder if there is one or else by making it in code
+     */
+    void loadEffects() {
+        for (int effect = 0; effect < SoundQueue.EFFECT_COUNT; effect++) {
+            if (SAMPLES[effect] != null)
+                continue;
+            File file = new File(SOUND_DIR + NAMES[effect] + ".wav");
+            if (file.exists()) {
+                try {
+                    SAMPLES[effect] = decode(file);
+                    continue;
+                } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+            SAMPLES[effect] = makeEffect(effect);
+        }
+    }
+
+    /**
+     * Decodes an effect file into mono samples at the rate of the mix, averaging the channels of stereo files
+     *
+     * @param file Effect file
+     * @return the samples of the effect
+     * @throws UnsupportedAudioFileException Exception error if the file cannot be converted to the format of the mix
+     * @throws IOException                   Exception error when the file cannot be read
+     */
+    private static short[] decode(File file) throws UnsupportedAudioFileException, IOException {
+        AudioFormat mono = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(file);
+             AudioInputStream pcm = AudioSystem.getAudioInputStream(mono, AudioSystem.getAudioInputStream(
+                     new AudioFormat(in.getFormat().getSampleRate(), 16, in.getFormat().getChannels(), true, false), in))) {
+            byte[] bytes = pcm.readAllBytes();
+            short[] samples = new short[bytes.length / 2];
+            for (int i = 0; i < samples.length; i++)
+                samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+            return samples;
+        }
+    }
+
+    /**
+     * Makes the samples of an effect in code: a short high tick for a brick hit, a burst of noise over a falling tone for a brick breaking, a round low tone for the paddle and a quiet click for the borders
+     *
+     * @param effect Effect to make
+     * @return the samples of the effect
+     */
+    private static short[] makeEffect(int effect) {
+        double seconds;
+        double start;
+        double end;
+        double noise;
+        double loudness;
+        switch (effect) {
+            case SoundQueue.BRICK_HIT:
+                seconds = 0.04;
+                start = 1400;
+                end = 1200;
+                noise = 0;
+                loudness = 0.5;
+                break;
+            case SoundQueue.BRICK_BREAK:
+                seconds = 0.12;
+                start = 900;
+                end = 300;
+                noise = 0.5;
+                loudness = 0.7;
+                break;
+            case SoundQueue.PADDLE_HIT:
+                seconds = 0.06;
+                start = 440;
+                end = 400;
+                noise = 0;
+                loudness = 0.6;
+                break;
+            default:
+                seconds = 0.025;
+                start = 250;
+                end = 250;
+                noise = 0.2;
+                loudness = 0.25;
+                break;
+        }
+        Random random = new Random(effect);
+        short[] samples = new short[(int) (seconds * SAMPLE_RATE)];
+        double phase = 0;
+        for (int i = 0; i < samples.length; i++) {
+            double t = (double) i / samples.length;
+            phase += 2 * Math.PI * (start + (end - start) * t) / SAMPLE_RATE;
+            double envelope = Math.exp(-5 * t) * Math.min(1, i / 44.0);
+            double value = (1 - noise) * Math.sin(phase) + noise * (2 * random.nextDouble() - 1);
+            samples[i] = (short) (Short.MAX_VALUE * loudness * envelope * value);
+        }
+        return samples;
+    }
+
+}
@@ -8,12 +8,7 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
 import javax.swing.*;
-import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 
 /**
  * Class to display the start menu to the user and allow them to choose whether they want to start or end the game or view the HighScores file
@@ -83,15 +78,7 @@ public class StartMenu {
     /**
      * Only instance of the start menu object to be displayed to the user when the game first starts
      */
-    private static StartMenu m_startMenu;
-
-    static {
-        try {
-            m_startMenu = new StartMenu();
-        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException e) {
-            e.printStackTrace();
-        }
-    }
+    private static final StartMenu m_startMenu = new StartMenu();
 
     /**
      * Returns the start menu object
@@ -104,22 +91,15 @@ public class StartMenu {
 
     /**
      * Creates new start menu object
-     *
-     * @throws UnsupportedAudioFileException Exception error if an unsupported audio file is played
-     * @throws LineUnavailableException      Exception error indicating line cannot be opened because it is unavailable
-     * @throws IOException                   Exception error when there is a failure while searching for a file
      */
-    private StartMenu() throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+    private StartMenu() {
 
     }
 
     /**
      * Initialises the start menu and displays it to the user
-     *
-     * @throws LineUnavailableException Exception error indicating line cannot be opened because it is unavailable
-     * @throws IOException              Exception error when there is a failure while searching for a file
      */
-    public void initAndShowMenu() throws LineUnavailableException, IOException {
+    public void initAndShowMenu() {
 
         FRAME.add(FXPANEL);
         FRAME.setSize(DEF_WIDTH, DEF_HEIGHT);
@@ -195,7 +175,7 @@ public class StartMenu {
             BACKMUSIC.stopMusic();
             System.exit(0);
         });
-        highScore.setOnAction(e -> openFile());
+        highScore.setOnAction(e -> LeaderboardView.getLeaderboardView().initAndShowMenu());
         vb.getChildren().addAll(start, end, highScore);
 
         vb.setAlignment(Pos.CENTER);
@@ -226,28 +206,6 @@ public class StartMenu {
 
     }
 
-    /**
-     * Opens the high score file to show users their past scores
-     */
-    private void openFile() {
-        try {
-
-            File highScore = new File("HighScores.txt");
-            highScore.createNewFile();
-            if (!Desktop.isDesktopSupported()) {
-                System.out.println("not supported");
-                return;
-            }
-            Desktop desktop = Desktop.getDesktop();
-            if (highScore.exists())
-                desktop.open(highScore);
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-    }
-
 
 }
 
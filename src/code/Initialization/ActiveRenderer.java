@@ -0,0 +1,146 @@
+package Initialization;
+
+import Controller.Controls;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class to draw the game board actively: a canvas with a buffer strategy, drawn and shown by its own thread at a steady frame rate, instead of waiting for Swing to schedule and coalesce repaints on the event thread. The drawing itself is still done by the game board and the GUI class
+ *
+ * @author Salaar Mir
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+
+    /**
+     * Number of buffers asked for, falling back to fewer if the screen cannot flip that many
+     */
+    private static final int BUFFERS = 3;
+
+    /**
+     * Time in nanoseconds between frames while the game is not running, such as when paused or in a menu
+     */
+    private static final long IDLE_FRAME_NANOS = 50_000_000L;
+
+    /**
+     * Game board drawn into each frame
+     */
+    private final GameBoard BOARD;
+
+    /**
+     * Time in nanoseconds between frames while the game is running
+     */
+    private final long FRAME_NANOS;
+
+    /**
+     * Thread drawing and showing the frames, or null while the canvas is not on screen
+     */
+    private Thread m_thread;
+
+    /**
+     * Boolean to keep the drawing thread running
+     */
+    private volatile boolean m_running;
+
+    /**
+     * Creates the canvas for a game board, passing mouse input on to the controls of the board. The canvas never takes the keyboard focus, so keys keep going to the board
+     *
+     * @param board      Game board to draw
+     * @param frameNanos Time in nanoseconds between frames while the game is running
+     * @param controls   Controls of the game
+     */
+    public ActiveRenderer(GameBoard board, long frameNanos, Controls controls) {
+        BOARD = board;
+        FRAME_NANOS = frameNanos;
+        this.setIgnoreRepaint(true);
+        this.setFocusable(false);
+        this.addMouseListener(controls);
+        this.addMouseMotionListener(controls);
+    }
+
+    /**
+     * Creates the buffers and starts the drawing thread once the canvas is on screen
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        this.createBufferStrategy(BUFFERS);
+        m_running = true;
+        m_thread = new Thread(this, "Breakout Renderer");
+        m_thread.setDaemon(true);
+        m_thread.start();
+    }
+
+    /**
+     * Stops the drawing thread before the canvas and its buffers are taken off screen
+     */
+    @Override
+    public void removeNotify() {
+        m_running = false;
+        LockSupport.unpark(m_thread);
+        try {
+            m_thread.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        m_thread = null;
+        super.removeNotify();
+    }
+
+    /**
+     * Ignores repaints from the system, as every frame is drawn by the drawing thread
+     *
+     * @param g Encapsulates information that is required to render the canvas
+     */
+    @Override
+    public void paint(Graphics g) {
+    }
+
+    /**
+     * Ignores updates from the system, as every frame is drawn by the drawing thread
+     *
+     * @param g Encapsulates information that is required to render the canvas
+     */
+    @Override
+    public void update(Graphics g) {
+    }
+
+    /**
+     * Draws and shows frames until the canvas is taken off screen, waiting until each frame is due rather than drawing as fast as possible, and dropping frames rather than catching up after falling behind
+     */
+    @Override
+    public void run() {
+        long due = System.nanoTime();
+        while (m_running) {
+            drawFrame();
+            due += BOARD.getGameTimer().isRunning() ? FRAME_NANOS : IDLE_FRAME_NANOS;
+            long wait = due - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            else
+                due = System.nanoTime();
+        }
+    }
+
+    /**
+     * Draws the game board into the back buffer and shows it, drawing again if the buffers are lost on the way
+     */
+    private void drawFrame() {
+        BufferStrategy strategy = this.getBufferStrategy();
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    BOARD.render(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+}
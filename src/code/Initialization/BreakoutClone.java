@@ -1,9 +1,7 @@
 package Initialization;
 
 import Extensions.StartMenu;
-
-import javax.sound.sampled.LineUnavailableException;
-import java.io.IOException;
+import Scores.Leaderboard;
 
 /**
  * Class to first start the game to let the user play
@@ -16,11 +14,10 @@ public class BreakoutClone {
      * Displays the initial start menu to the user to be able to start playing the game
      *
      * @param args The command line arguments
-     * @throws LineUnavailableException Exception error indicating line cannot be opened because it is unavailable
-     * @throws IOException              Exception error when there is a failure while searching for a file
      */
-    public static void main(String[] args) throws LineUnavailableException, IOException {
+    public static void main(String[] args) {
 
+        Leaderboard.preload();
         StartMenu startScreen = StartMenu.getMenu();
         startScreen.initAndShowMenu();
 
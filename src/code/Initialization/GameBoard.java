@@ -2,15 +2,24 @@ package Initialization;
 
 import Controller.Controls;
 import Debug.DebugConsole;
+import Debug.FrameTimings;
 import Extensions.EndGame;
 import Extensions.LoseGame;
-import Objects.Brick;
+import Extensions.SoundMixer;
+import Objects.BallBatch;
+import Objects.DamageRegion;
 import Objects.Paddle;
 import Objects.Wall;
+import Replay.ReplayInput;
+import Replay.ReplayRecorder;
 import View.GUI;
+import View.HudMessage;
+import View.LayerCompositor;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Objects;
 
 /**
@@ -76,6 +85,99 @@ public class GameBoard extends JComponent {
         return m_gameTimer;
     }
 
+    /**
+     * Default number of simulation ticks per second
+     */
+    private static final int DEF_TICK_RATE = 100;
+
+    /**
+     * Clock used to run the simulation at a fixed tick rate separately from rendering
+     */
+    private final GameClock CLOCK = new GameClock(DEF_TICK_RATE);
+
+    /**
+     * Returns the clock used to run the simulation
+     *
+     * @return the clock used to run the simulation
+     */
+    public GameClock getClock() {
+        return CLOCK;
+    }
+
+    /**
+     * Time in milliseconds between firings of the game timer
+     */
+    private static final int FRAME_DELAY = 10;
+
+    /**
+     * Time in nanoseconds between firings of the game timer
+     */
+    private static final long FRAME_NANOS = FRAME_DELAY * 1_000_000L;
+
+    /**
+     * Timing histograms of every phase of the game loop, measured against the time between firings of the game timer
+     */
+    private final FrameTimings TIMINGS = new FrameTimings(FRAME_NANOS);
+
+    /**
+     * Returns the timing histograms of every phase of the game loop
+     *
+     * @return the timing histograms of the game loop
+     */
+    public FrameTimings getTimings() {
+        return TIMINGS;
+    }
+
+    /**
+     * Boolean to show or hide the frame timing overlay
+     */
+    private volatile boolean m_showTimings;
+
+    /**
+     * Set boolean to true or false depending on if the frame timing overlay should be drawn over the game
+     *
+     * @param showTimings True if the overlay should be shown or false if it should be hidden
+     */
+    public void setShowTimings(boolean showTimings) {
+        this.m_showTimings = showTimings;
+        repaint();
+    }
+
+    /**
+     * System property naming the file to record the game session to
+     */
+    private static final String RECORD_PROPERTY = "breakout.record";
+
+    /**
+     * System property holding the seed to start the game session from
+     */
+    private static final String SEED_PROPERTY = "breakout.seed";
+
+    /**
+     * System property choosing how the game board is drawn, either "passive" for Swing painting or "active" for a buffer strategy drawn by its own thread
+     */
+    private static final String RENDER_PROPERTY = "breakout.render";
+
+    /**
+     * Value of the render property choosing active rendering
+     */
+    private static final String ACTIVE_RENDER = "active";
+
+    /**
+     * Canvas drawing the game board actively, or null if the board is painted by Swing
+     */
+    private ActiveRenderer m_activeRenderer;
+
+    /**
+     * Lock held while the game is stepped, changed by input or drawn, so the game is never drawn half way through a change when it is drawn by another thread
+     */
+    private final Object STATE_LOCK = new Object();
+
+    /**
+     * Recorder writing the game session to a replay file, or null if the session is not being recorded
+     */
+    private ReplayRecorder m_recorder;
+
     /**
      * Wall of bricks that need to be broken
      */
@@ -85,7 +187,62 @@ public class GameBoard extends JComponent {
     /**
      * Messages displayed throughout the game
      */
-    private String m_message;
+    private volatile String m_message;
+
+    /**
+     * Cached layers holding the bricks and the message, so a frame only draws them again when they change
+     */
+    private final LayerCompositor LAYERS = new LayerCompositor();
+
+    /**
+     * Mixer playing the sound effects of impacts
+     */
+    private final SoundMixer SOUNDS = SoundMixer.getSoundMixer();
+
+    /**
+     * Baseline of the message
+     */
+    private static final int MESSAGE_Y = 225;
+
+    /**
+     * Message the last repaint of the changed areas accounted for
+     */
+    private String m_damagedMessage;
+
+    /**
+     * Areas of the board that have changed since the last firing of the game timer, which the wall adds the bricks it cracks or breaks to
+     */
+    private final DamageRegion DAMAGE = new DamageRegion();
+
+    /**
+     * Areas the balls and paddle could have been drawn in since the last firing of the game timer
+     */
+    private DamageRegion m_sweep = new DamageRegion();
+
+    /**
+     * Areas the balls and paddle can be drawn in until the next firing of the game timer
+     */
+    private DamageRegion m_nextSweep = new DamageRegion();
+
+    /**
+     * Reusable rectangle for areas added to the damage
+     */
+    private final Rectangle DAMAGE_BOUNDS = new Rectangle();
+
+    /**
+     * Boolean to repaint the whole board on the next firing of the game timer instead of only the areas that changed
+     */
+    private boolean m_fullRepaint;
+
+    /**
+     * Boolean that is true while the changed areas are being painted one by one, so each of those paints is not timed as a frame of its own
+     */
+    private boolean m_paintingDamage;
+
+    /**
+     * Builds the brick and ball count message without allocating while the counts stay the same
+     */
+    private final HudMessage HUD = new HudMessage();
 
     /**
      * Sets the various messages that should be displayed throughout the game
@@ -99,7 +256,7 @@ public class GameBoard extends JComponent {
     /**
      * Boolean to show or hide the pause menu
      */
-    private boolean m_showPauseMenu;
+    private volatile boolean m_showPauseMenu;
 
     /**
      * Returns boolean to notify action listener whether the pause menu should be displayed or hidden
@@ -276,7 +433,6 @@ public class GameBoard extends JComponent {
 
         m_strLen = 0;
         setShowPauseMenu(false);
-        int extraPoints = 100;
         int textSize = 30;
         MENU_FONT = new Font("Monospaced", Font.PLAIN, textSize);
 
@@ -284,42 +440,200 @@ public class GameBoard extends JComponent {
         this.initialize();
         this.setMessage("Press SPACE to start");
         m_wall = Wall.getWall();
+        m_wall.setDamageRegion(DAMAGE);
+        m_wall.setSoundQueue(SOUNDS.getQueue());
+        SOUNDS.start();
         m_debugConsole = new DebugConsole(m_wall, this);
         m_wall.nextLevel();
 
-        int TIMER_DELAY = 10;
-        m_gameTimer = new Timer(TIMER_DELAY, e -> {
-            m_wall.move();
-            m_wall.findImpacts();
-            this.setMessage(String.format("Bricks: %d Balls %d", m_wall.getBrickCount(), m_wall.getBallCount()));
-            if (m_wall.isBallLost()) {
-                if (m_wall.ballEnd()) {
-                    m_wall.wallReset();
-                    this.setMessage("Game over");
-                    SCORE.initAndShowMenu();
-                }
-                m_wall.ballReset();
-                m_gameTimer.stop();
-            } else if (m_wall.isDone()) {
-                if (m_wall.hasLevel()) {
-                    this.setMessage("Go to Next Level -> +100 Points!!");
-                    Brick.setScore(Brick.getScore() + extraPoints);
-
-                    m_gameTimer.stop();
-                    m_wall.ballReset();
-                    m_wall.wallReset();
-                    m_wall.nextLevel();
-                } else {
-                    Brick.setScore(Brick.getScore() + extraPoints);
-                    Brick.setScore(Brick.getScore() + (m_wall.getBallCount() * extraPoints));
-                    EndGame.getScore().displayMenu();
-                    m_gameTimer.stop();
-                }
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed != null) {
+            m_wall.setSeed(Long.parseLong(seed));
+            m_wall.ballReset();
+        }
+        String record = System.getProperty(RECORD_PROPERTY);
+        if (record != null)
+            startRecording(Path.of(record));
+
+        m_gameTimer = new Timer(FRAME_DELAY, e -> {
+            long now = System.nanoTime();
+            TIMINGS.timerFired(now, FRAME_NANOS);
+            synchronized (STATE_LOCK) {
+                int steps = CLOCK.advance(now);
+                for (int i = 0; i < steps && m_gameTimer.isRunning(); i++)
+                    tick();
             }
+            TIMINGS.record(FrameTimings.SIMULATION, System.nanoTime() - now);
 
-            repaint();
+            if (m_activeRenderer == null)
+                repaintDamage();
         });
 
+        if (ACTIVE_RENDER.equals(System.getProperty(RENDER_PROPERTY))) {
+            m_wall.setDamageRegion(null);
+            m_activeRenderer = new ActiveRenderer(this, FRAME_NANOS, CONTROLS);
+            this.setLayout(new BorderLayout());
+            this.add(m_activeRenderer, BorderLayout.CENTER);
+        }
+
+    }
+
+    /**
+     * Starts or resumes the game, discarding the time spent paused so the simulation does not try to catch up on it
+     */
+    public void startGame() {
+        CLOCK.reset(System.nanoTime());
+        TIMINGS.timerStarted();
+        m_fullRepaint = true;
+        m_gameTimer.start();
+    }
+
+    /**
+     * Repaints only the areas of the board that changed during the last firing of the game timer: where the balls and paddle were and are now drawn, the bricks cracked or broken, the message if it changed and the frame timing overlay if it is shown. The whole board is repainted instead when the timer has just been started or has been stopped by the game
+     */
+    private void repaintDamage() {
+        m_nextSweep.clear();
+        BallBatch balls = m_wall.getBalls();
+        double r = balls.getRadius();
+        for (int i = 0; i < balls.size(); i++) {
+            double prevX = balls.getPreviousX(i);
+            double prevY = balls.getPreviousY(i);
+            double x = balls.getX(i);
+            double y = balls.getY(i);
+            m_nextSweep.add(Math.min(prevX, x) - r, Math.min(prevY, y) - r, Math.abs(x - prevX) + 2 * r, Math.abs(y - prevY) + 2 * r);
+        }
+        Paddle paddle = Paddle.getPaddle();
+        Rectangle face = paddle.getPaddleFace();
+        double offset = paddle.getInterpolationOffset(0);
+        m_nextSweep.add(face.x + Math.min(0, offset), face.y, face.width + Math.abs(offset), face.height);
+
+        long boardArea = (long) getWidth() * getHeight();
+        if (m_fullRepaint || !m_gameTimer.isRunning()) {
+            m_fullRepaint = false;
+            repaint();
+            TIMINGS.recordPaintedArea(boardArea, boardArea);
+        } else {
+            DAMAGE.add(m_sweep);
+            DAMAGE.add(m_nextSweep);
+            if (!Objects.equals(m_message, m_damagedMessage)) {
+                addMessageDamage(m_damagedMessage);
+                addMessageDamage(m_message);
+            }
+            if (m_showTimings) {
+                GRAPHICS.getTimingsBounds(TIMINGS, DAMAGE_BOUNDS);
+                DAMAGE.add(DAMAGE_BOUNDS);
+            }
+            paintDamage(boardArea);
+        }
+        DAMAGE.clear();
+        m_damagedMessage = m_message;
+
+        DamageRegion tmp = m_sweep;
+        m_sweep = m_nextSweep;
+        m_nextSweep = tmp;
+    }
+
+    /**
+     * Adds the area covered by a message to the damage
+     *
+     * @param message Message to add, or null if there is none
+     */
+    private void addMessageDamage(String message) {
+        if (message == null)
+            return;
+        if (getFont() == null) {
+            DAMAGE.add(0, 0, getWidth(), getHeight());
+            return;
+        }
+        FontMetrics metrics = getFontMetrics(getFont());
+        DAMAGE.add(getMessageX(message), MESSAGE_Y - metrics.getAscent(), metrics.stringWidth(message), metrics.getAscent() + metrics.getDescent());
+    }
+
+    /**
+     * Returns the left edge of a message, which is moved left for the longer level cleared message
+     *
+     * @param message Message to place
+     * @return the left edge of the message
+     */
+    private int getMessageX(String message) {
+        if (Objects.equals(message, "Go to Next Level -> +100 Points!!"))
+            return 200;
+        else
+            return 250;
+    }
+
+    /**
+     * Starts recording the game session to a replay file, closing the recording when the game exits
+     *
+     * @param file Path of the replay file
+     */
+    private void startRecording(Path file) {
+        try {
+            m_recorder = new ReplayRecorder(file, m_wall, CLOCK.getTickRate(), ReplayRecorder.DEF_KEYFRAME_INTERVAL);
+            ReplayRecorder recorder = m_recorder;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Applies an input command from the player to the game, recording it if the session is being recorded
+     *
+     * @param command  Command from ReplayInput
+     * @param argument Argument of the command, or 0 if it takes none
+     */
+    public void input(int command, int argument) {
+        synchronized (STATE_LOCK) {
+            if (command == ReplayInput.TICK_RATE)
+                CLOCK.setTickRate(argument);
+            else
+                ReplayInput.apply(command, argument, m_wall, Paddle.getPaddle());
+        }
+
+        if (m_recorder != null) {
+            try {
+                m_recorder.recordInput(command, argument);
+            } catch (IOException e) {
+                e.printStackTrace();
+                m_recorder = null;
+            }
+        }
+    }
+
+    /**
+     * Advances the game by a single simulation tick
+     */
+    private void tick() {
+        int result = m_wall.step(CLOCK.getStepSeconds());
+        if (m_recorder != null) {
+            try {
+                m_recorder.tick();
+            } catch (IOException e) {
+                e.printStackTrace();
+                m_recorder = null;
+            }
+        }
+        this.setMessage(HUD.getMessage(m_wall.getBrickCount(), m_wall.getBallCount()));
+        if (result == Wall.GAME_OVER) {
+            this.setMessage("Game over");
+            SCORE.initAndShowMenu();
+            m_gameTimer.stop();
+        } else if (result == Wall.BALL_LOST) {
+            m_gameTimer.stop();
+        } else if (result == Wall.LEVEL_CLEARED) {
+            this.setMessage("Go to Next Level -> +100 Points!!");
+            m_gameTimer.stop();
+        } else if (result == Wall.GAME_WON) {
+            EndGame.getScore().displayMenu();
+            m_gameTimer.stop();
+        }
     }
 
     /**
@@ -335,41 +649,76 @@ public class GameBoard extends JComponent {
     }
 
     /**
-     * Paint the different objects that will be displayed
+     * Paints each changed area of the board straight away as a separate rectangle, since repaint would have the repaint manager merge them into one box spanning all of them, and times them together as one frame
+     *
+     * @param boardArea Number of pixels on the whole board, which the painted area is measured against
+     */
+    private void paintDamage(long boardArea) {
+        long start = System.nanoTime();
+        TIMINGS.paintStarted(start);
+        long painted = 0;
+        m_paintingDamage = true;
+        try {
+            for (int i = 0; i < DAMAGE.size(); i++) {
+                DAMAGE_BOUNDS.setBounds(DAMAGE.get(i));
+                SwingUtilities.computeIntersection(0, 0, getWidth(), getHeight(), DAMAGE_BOUNDS);
+                if (DAMAGE_BOUNDS.isEmpty())
+                    continue;
+                paintImmediately(DAMAGE_BOUNDS);
+                painted += (long) DAMAGE_BOUNDS.width * DAMAGE_BOUNDS.height;
+            }
+        } finally {
+            m_paintingDamage = false;
+        }
+        TIMINGS.record(FrameTimings.PAINT, System.nanoTime() - start);
+        TIMINGS.recordPaintedArea(painted, boardArea);
+    }
+
+    /**
+     * Paint the different objects that will be displayed, unless the board is drawn actively by its canvas
      *
      * @param g Encapsulates information that is required to render the different game objects
      */
     public void paint(Graphics g) {
+        if (m_activeRenderer != null)
+            return;
+        render((Graphics2D) g);
+        Toolkit.getDefaultToolkit().sync();
+    }
 
-        Graphics2D g2d = (Graphics2D) g;
-
-        GRAPHICS.clear(g2d);
-
-        g2d.setColor(Color.BLUE);
-
-        int STRINGXCOORD;
-        int STRINGYCOORD = 225;
+    /**
+     * Draws the different objects that will be displayed, from the event thread when the board is painted by Swing or from the drawing thread of the canvas when it is drawn actively
+     *
+     * @param g2d Encapsulates information that is required to render the different game objects
+     */
+    public void render(Graphics2D g2d) {
+        long start = System.nanoTime();
+        if (m_gameTimer.isRunning() && !m_paintingDamage)
+            TIMINGS.paintStarted(start);
 
-        if (Objects.equals(m_message, "Go to Next Level -> +100 Points!!"))
-            STRINGXCOORD = 200;
-        else
-            STRINGXCOORD = 250;
+        synchronized (STATE_LOCK) {
+            LAYERS.drawBricks(m_wall, getWidth(), getHeight(), g2d);
 
+            g2d.setColor(Color.BLUE);
 
-        g2d.drawString(m_message, STRINGXCOORD, STRINGYCOORD);
+            int STRINGXCOORD = getMessageX(m_message);
+            int STRINGYCOORD = MESSAGE_Y;
 
-        GRAPHICS.drawBall(m_wall.getBall(), g2d);
+            LAYERS.drawMessage(m_message, STRINGXCOORD, STRINGYCOORD, g2d);
 
-        for (Brick b : m_wall.getBricks())
-            if (!b.isBroken())
-                GRAPHICS.drawBrick(b, g2d);
+            GRAPHICS.drawBalls(m_wall.getBalls(), m_wall.getBall(), CLOCK.getAlpha(), g2d);
 
-        GRAPHICS.drawPlayer(Paddle.getPaddle(), g2d);
+            GRAPHICS.drawPlayer(Paddle.getPaddle(), CLOCK.getAlpha(), g2d);
+        }
 
         if (m_showPauseMenu)
             GRAPHICS.drawMenu(g2d);
 
-        Toolkit.getDefaultToolkit().sync();
+        if (m_showTimings)
+            GRAPHICS.drawTimings(TIMINGS, g2d);
+
+        if (!m_paintingDamage)
+            TIMINGS.record(FrameTimings.PAINT, System.nanoTime() - start);
     }
 
 
@@ -0,0 +1,129 @@
+package Initialization;
+
+/**
+ * Class to run the game simulation at a fixed tick rate, independent of how often the screen is redrawn
+ *
+ * @author Salaar Mir
+ */
+public class GameClock {
+
+    /**
+     * Number of nanoseconds in a second
+     */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Longest stretch of real time a single frame may catch up on, so a stalled event thread cannot cause a spiral of catch up ticks
+     */
+    private static final long MAX_FRAME_NANOS = NANOS_PER_SECOND / 4;
+
+    /**
+     * Number of simulation ticks per second
+     */
+    private int m_tickRate;
+
+    /**
+     * Returns the number of simulation ticks per second
+     *
+     * @return the number of simulation ticks per second
+     */
+    public int getTickRate() {
+        return m_tickRate;
+    }
+
+    /**
+     * Length of one simulation tick in nanoseconds
+     */
+    private long m_stepNanos;
+
+    /**
+     * Length of one simulation tick in seconds
+     */
+    private double m_stepSeconds;
+
+    /**
+     * Returns the length of one simulation tick in seconds
+     *
+     * @return the length of one simulation tick in seconds
+     */
+    public double getStepSeconds() {
+        return m_stepSeconds;
+    }
+
+    /**
+     * Real time that has passed but has not yet been simulated
+     */
+    private long m_accumulator;
+
+    /**
+     * Time of the last call to advance
+     */
+    private long m_lastTime;
+
+    /**
+     * Fraction of a tick left in the accumulator after the last advance, used to interpolate rendering
+     */
+    private double m_alpha;
+
+    /**
+     * Returns the fraction of a tick the renderer should interpolate between the previous and current simulation states
+     *
+     * @return the fraction of a tick between the previous and current simulation states
+     */
+    public double getAlpha() {
+        return m_alpha;
+    }
+
+    /**
+     * Creates the clock running at the specified tick rate
+     *
+     * @param tickRate Number of simulation ticks per second
+     */
+    public GameClock(int tickRate) {
+        setTickRate(tickRate);
+        reset(System.nanoTime());
+    }
+
+    /**
+     * Changes the number of simulation ticks per second
+     *
+     * @param tickRate New number of simulation ticks per second
+     */
+    public void setTickRate(int tickRate) {
+        if (tickRate <= 0)
+            throw new IllegalArgumentException(String.format("Invalid Tick Rate:%d", tickRate));
+        m_tickRate = tickRate;
+        m_stepNanos = NANOS_PER_SECOND / tickRate;
+        m_stepSeconds = 1.0 / tickRate;
+        m_accumulator = Math.min(m_accumulator, m_stepNanos);
+    }
+
+    /**
+     * Discards any real time waiting to be simulated, used when the game is resumed after a pause
+     *
+     * @param now Current time in nanoseconds
+     */
+    public void reset(long now) {
+        m_lastTime = now;
+        m_accumulator = 0;
+        m_alpha = 0;
+    }
+
+    /**
+     * Adds the real time passed since the last call and returns how many simulation ticks should be run to catch up
+     *
+     * @param now Current time in nanoseconds
+     * @return the number of simulation ticks to run
+     */
+    public int advance(long now) {
+        long elapsed = Math.min(now - m_lastTime, MAX_FRAME_NANOS);
+        m_lastTime = now;
+        m_accumulator += Math.max(elapsed, 0);
+
+        int steps = (int) (m_accumulator / m_stepNanos);
+        m_accumulator -= steps * m_stepNanos;
+        m_alpha = (double) m_accumulator / m_stepNanos;
+        return steps;
+    }
+
+}
@@ -30,6 +30,20 @@ abstract public class Ball {
      */
     private Point2D m_center;
 
+    /**
+     * Coordinates for the center of the ball before the last simulation step, used to interpolate rendering
+     */
+    private final Point2D PREV_CENTER = new Point2D.Double();
+
+    /**
+     * Returns coordinates for the center of the ball before the last simulation step
+     *
+     * @return coordinates for the center of the ball before the last simulation step
+     */
+    public Point2D getPreviousPosition() {
+        return PREV_CENTER;
+    }
+
     /**
      * Returns coordinates for the center of the ball
      *
@@ -45,7 +59,8 @@ abstract public class Ball {
      * @param newCenter Coordinates for the new ball center
      */
     public void setCenter(Point2D newCenter) {
-        m_center = newCenter;
+        m_center = new Point2D.Double(newCenter.getX(), newCenter.getY());
+        PREV_CENTER.setLocation(m_center);
     }
 
     /**
@@ -133,9 +148,23 @@ abstract public class Ball {
     }
 
     /**
-     * Horizontal speed at which the ball moves
+     * Number of simulation ticks per second the integer speeds are expressed against (the original 10 ms timer)
+     */
+    private static final int SPEED_SCALE = 100;
+
+    /**
+     * Horizontal velocity of the ball in units per second
+     */
+    private double m_velocityX;
+
+    /**
+     * Returns the horizontal velocity of the ball in units per second
+     *
+     * @return the horizontal velocity of the ball in units per second
      */
-    private int m_speedX;
+    public double getVelocityX() {
+        return m_velocityX;
+    }
 
     /**
      * Returns the horizontal speed of the ball
@@ -143,7 +172,7 @@ abstract public class Ball {
      * @return the horizontal speed of the ball
      */
     public int getSpeedX() {
-        return m_speedX;
+        return (int) Math.round(m_velocityX / SPEED_SCALE);
     }
 
     /**
@@ -152,13 +181,22 @@ abstract public class Ball {
      * @param s New horizontal speed of the ball
      */
     public void setXSpeed(int s) {
-        m_speedX = s;
+        m_velocityX = s * SPEED_SCALE;
     }
 
     /**
-     * Vertical speed at which the ball moves
+     * Vertical velocity of the ball in units per second
+     */
+    private double m_velocityY;
+
+    /**
+     * Returns the vertical velocity of the ball in units per second
+     *
+     * @return the vertical velocity of the ball in units per second
      */
-    private int m_speedY;
+    public double getVelocityY() {
+        return m_velocityY;
+    }
 
     /**
      * Returns the vertical speed of the ball
@@ -166,7 +204,7 @@ abstract public class Ball {
      * @return the vertical speed of the ball
      */
     public int getSpeedY() {
-        return m_speedY;
+        return (int) Math.round(m_velocityY / SPEED_SCALE);
     }
 
     /**
@@ -175,7 +213,7 @@ abstract public class Ball {
      * @param s New vertical speed of the ball
      */
     public void setYSpeed(int s) {
-        m_speedY = s;
+        m_velocityY = s * SPEED_SCALE;
     }
 
     /**
@@ -216,8 +254,8 @@ abstract public class Ball {
         this.BORDER = border;
         this.INNER = inner;
 
-        m_speedX = INITIALSPEED;
-        m_speedY = INITIALSPEED;
+        m_velocityX = INITIALSPEED;
+        m_velocityY = INITIALSPEED;
     }
 
     /**
@@ -231,14 +269,34 @@ abstract public class Ball {
     protected abstract Shape makeBall(Point2D center, float radiusA, float radiusB);
 
     /**
-     * Moves the ball in game
+     * Moves the ball in game by the distance it travels in the given time
+     *
+     * @param seconds Length of the simulation step in seconds
      */
-    public void move() {
+    public void move(double seconds) {
+        storePreviousPosition();
+        translate(m_velocityX * seconds, m_velocityY * seconds);
+    }
+
+    /**
+     * Remembers the current center as the position the renderer interpolates from, called once at the start of every simulation step
+     */
+    public void storePreviousPosition() {
+        PREV_CENTER.setLocation(m_center);
+    }
+
+    /**
+     * Moves the ball by the specified distance
+     *
+     * @param dx Horizontal distance to move the ball
+     * @param dy Vertical distance to move the ball
+     */
+    public void translate(double dx, double dy) {
 
         int heightDivider = 2;
         int widthDivider = 2;
         RectangularShape tmp = (RectangularShape) m_ballFace;
-        m_center.setLocation((m_center.getX() + m_speedX), (m_center.getY() + m_speedY));
+        m_center.setLocation((m_center.getX() + dx), (m_center.getY() + dy));
         double w = tmp.getWidth();
         double h = tmp.getHeight();
 
@@ -249,6 +307,28 @@ abstract public class Ball {
         m_ballFace = tmp;
     }
 
+    /**
+     * Returns the radius of the ball
+     *
+     * @return the radius of the ball
+     */
+    public double getRadius() {
+        RectangularShape tmp = (RectangularShape) m_ballFace;
+        return Math.max(tmp.getWidth(), tmp.getHeight()) / 2;
+    }
+
+    /**
+     * Bounces the ball off a surface by reflecting its velocity about the surface normal
+     *
+     * @param nx Horizontal part of the unit surface normal
+     * @param ny Vertical part of the unit surface normal
+     */
+    public void reflect(double nx, double ny) {
+        double dot = m_velocityX * nx + m_velocityY * ny;
+        m_velocityX -= 2 * dot * nx;
+        m_velocityY -= 2 * dot * ny;
+    }
+
     /**
      * Set the horizontal and vertical speed of the ball
      *
@@ -256,22 +336,33 @@ abstract public class Ball {
      * @param y The new vertical speed of the ball
      */
     public void setSpeed(int x, int y) {
-        m_speedX = x;
-        m_speedY = y;
+        m_velocityX = x * SPEED_SCALE;
+        m_velocityY = y * SPEED_SCALE;
+    }
+
+    /**
+     * Set the horizontal and vertical velocity of the ball in units per second
+     *
+     * @param x The new horizontal velocity of the ball
+     * @param y The new vertical velocity of the ball
+     */
+    public void setVelocity(double x, double y) {
+        m_velocityX = x;
+        m_velocityY = y;
     }
 
     /**
      * Reverses the horizontal speed of the ball
      */
     public void reverseX() {
-        m_speedX *= REVERSEDIRECTION;
+        m_velocityX *= REVERSEDIRECTION;
     }
 
     /**
      * Reverses the vertical speed of the ball
      */
     public void reverseY() {
-        m_speedY *= REVERSEDIRECTION;
+        m_velocityY *= REVERSEDIRECTION;
     }
 
     /**
@@ -281,6 +372,7 @@ abstract public class Ball {
      */
     public void moveTo(Point p) {
         m_center.setLocation(p);
+        PREV_CENTER.setLocation(p);
 
         RectangularShape tmp = (RectangularShape) m_ballFace;
         double w = tmp.getWidth();
@@ -0,0 +1,296 @@
+package Objects;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class to store every ball in play in flat primitive arrays, so all balls can be moved and collided in a single pass each tick
+ *
+ * @author Salaar Mir
+ */
+public class BallBatch {
+
+    /**
+     * Number of balls the batch can hold before its arrays are first grown
+     */
+    private static final int DEF_CAPACITY = 8;
+
+    /**
+     * Horizontal coordinate of each ball center
+     */
+    private double[] m_x = new double[DEF_CAPACITY];
+
+    /**
+     * Vertical coordinate of each ball center
+     */
+    private double[] m_y = new double[DEF_CAPACITY];
+
+    /**
+     * Horizontal velocity of each ball in units per second
+     */
+    private double[] m_velocityX = new double[DEF_CAPACITY];
+
+    /**
+     * Vertical velocity of each ball in units per second
+     */
+    private double[] m_velocityY = new double[DEF_CAPACITY];
+
+    /**
+     * Horizontal coordinate of each ball center before the last simulation step, used to interpolate rendering
+     */
+    private double[] m_prevX = new double[DEF_CAPACITY];
+
+    /**
+     * Vertical coordinate of each ball center before the last simulation step, used to interpolate rendering
+     */
+    private double[] m_prevY = new double[DEF_CAPACITY];
+
+    /**
+     * Number of balls in play
+     */
+    private int m_size;
+
+    /**
+     * Returns the number of balls in play
+     *
+     * @return the number of balls in play
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * Radius shared by every ball in the batch
+     */
+    private final double RADIUS;
+
+    /**
+     * Returns the radius shared by every ball in the batch
+     *
+     * @return the radius of the balls
+     */
+    public double getRadius() {
+        return RADIUS;
+    }
+
+    /**
+     * Creates an empty batch of balls with the specified radius
+     *
+     * @param radius Radius shared by every ball in the batch
+     */
+    public BallBatch(double radius) {
+        RADIUS = radius;
+    }
+
+    /**
+     * Adds a ball to the batch
+     *
+     * @param x         Horizontal coordinate of the ball center
+     * @param y         Vertical coordinate of the ball center
+     * @param velocityX Horizontal velocity of the ball in units per second
+     * @param velocityY Vertical velocity of the ball in units per second
+     * @return the index of the new ball
+     */
+    public int add(double x, double y, double velocityX, double velocityY) {
+        if (m_size == m_x.length) {
+            int capacity = m_size * 2;
+            m_x = Arrays.copyOf(m_x, capacity);
+            m_y = Arrays.copyOf(m_y, capacity);
+            m_velocityX = Arrays.copyOf(m_velocityX, capacity);
+            m_velocityY = Arrays.copyOf(m_velocityY, capacity);
+            m_prevX = Arrays.copyOf(m_prevX, capacity);
+            m_prevY = Arrays.copyOf(m_prevY, capacity);
+        }
+        int i = m_size++;
+        m_x[i] = m_prevX[i] = x;
+        m_y[i] = m_prevY[i] = y;
+        m_velocityX[i] = velocityX;
+        m_velocityY[i] = velocityY;
+        return i;
+    }
+
+    /**
+     * Removes a ball from the batch by moving the last ball into its place
+     *
+     * @param i Index of the ball to remove
+     */
+    public void remove(int i) {
+        int last = --m_size;
+        m_x[i] = m_x[last];
+        m_y[i] = m_y[last];
+        m_velocityX[i] = m_velocityX[last];
+        m_velocityY[i] = m_velocityY[last];
+        m_prevX[i] = m_prevX[last];
+        m_prevY[i] = m_prevY[last];
+    }
+
+    /**
+     * Removes every ball from the batch
+     */
+    public void clear() {
+        m_size = 0;
+    }
+
+    /**
+     * Remembers the current centers as the positions the renderer interpolates from, called once at the start of every simulation step
+     */
+    public void storePreviousPositions() {
+        System.arraycopy(m_x, 0, m_prevX, 0, m_size);
+        System.arraycopy(m_y, 0, m_prevY, 0, m_size);
+    }
+
+    /**
+     * Returns the horizontal coordinate of a ball center
+     *
+     * @param i Index of the ball
+     * @return the horizontal coordinate of the ball center
+     */
+    public double getX(int i) {
+        return m_x[i];
+    }
+
+    /**
+     * Returns the vertical coordinate of a ball center
+     *
+     * @param i Index of the ball
+     * @return the vertical coordinate of the ball center
+     */
+    public double getY(int i) {
+        return m_y[i];
+    }
+
+    /**
+     * Returns the horizontal coordinate of a ball center before the last simulation step
+     *
+     * @param i Index of the ball
+     * @return the previous horizontal coordinate of the ball center
+     */
+    public double getPreviousX(int i) {
+        return m_prevX[i];
+    }
+
+    /**
+     * Returns the vertical coordinate of a ball center before the last simulation step
+     *
+     * @param i Index of the ball
+     * @return the previous vertical coordinate of the ball center
+     */
+    public double getPreviousY(int i) {
+        return m_prevY[i];
+    }
+
+    /**
+     * Returns the horizontal velocity of a ball in units per second
+     *
+     * @param i Index of the ball
+     * @return the horizontal velocity of the ball
+     */
+    public double getVelocityX(int i) {
+        return m_velocityX[i];
+    }
+
+    /**
+     * Returns the vertical velocity of a ball in units per second
+     *
+     * @param i Index of the ball
+     * @return the vertical velocity of the ball
+     */
+    public double getVelocityY(int i) {
+        return m_velocityY[i];
+    }
+
+    /**
+     * Sets the velocity of a ball in units per second
+     *
+     * @param i         Index of the ball
+     * @param velocityX New horizontal velocity of the ball
+     * @param velocityY New vertical velocity of the ball
+     */
+    public void setVelocity(int i, double velocityX, double velocityY) {
+        m_velocityX[i] = velocityX;
+        m_velocityY[i] = velocityY;
+    }
+
+    /**
+     * Moves a ball by the specified distance
+     *
+     * @param i  Index of the ball
+     * @param dx Horizontal distance to move the ball
+     * @param dy Vertical distance to move the ball
+     */
+    public void translate(int i, double dx, double dy) {
+        m_x[i] += dx;
+        m_y[i] += dy;
+    }
+
+    /**
+     * Bounces a ball off a surface by reflecting its velocity about the surface normal
+     *
+     * @param i  Index of the ball
+     * @param nx Horizontal part of the unit surface normal
+     * @param ny Vertical part of the unit surface normal
+     */
+    public void reflect(int i, double nx, double ny) {
+        double dot = m_velocityX[i] * nx + m_velocityY[i] * ny;
+        m_velocityX[i] -= 2 * dot * nx;
+        m_velocityY[i] -= 2 * dot * ny;
+    }
+
+    /**
+     * Reverses the horizontal velocity of a ball
+     *
+     * @param i Index of the ball
+     */
+    public void reverseX(int i) {
+        m_velocityX[i] = -m_velocityX[i];
+    }
+
+    /**
+     * Reverses the vertical velocity of a ball
+     *
+     * @param i Index of the ball
+     */
+    public void reverseY(int i) {
+        m_velocityY[i] = -m_velocityY[i];
+    }
+
+    /**
+     * Writes the position, previous position and velocity of every ball
+     *
+     * @param out Output to write the balls to
+     * @throws IOException Exception error when the balls cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(m_size);
+        for (int i = 0; i < m_size; i++) {
+            out.writeDouble(m_x[i]);
+            out.writeDouble(m_y[i]);
+            out.writeDouble(m_prevX[i]);
+            out.writeDouble(m_prevY[i]);
+            out.writeDouble(m_velocityX[i]);
+            out.writeDouble(m_velocityY[i]);
+        }
+    }
+
+    /**
+     * Replaces every ball with the balls read from a state written by writeState
+     *
+     * @param in Input to read the balls from
+     * @throws IOException Exception error when the balls cannot be read
+     */
+    public void readState(DataInput in) throws IOException {
+        int size = in.readInt();
+        clear();
+        for (int i = 0; i < size; i++) {
+            double x = in.readDouble();
+            double y = in.readDouble();
+            double prevX = in.readDouble();
+            double prevY = in.readDouble();
+            add(x, y, in.readDouble(), in.readDouble());
+            m_prevX[i] = prevX;
+            m_prevY[i] = prevY;
+        }
+    }
+}
@@ -6,114 +6,85 @@ import java.awt.geom.Point2D;
 import java.util.Random;
 
 /**
- * Brick class to create the bricks used for the brick wall in the game
+ * Brick class to describe each type of brick used for the brick wall in the game. One object exists per type and is shared by every brick of that type, while the state of each brick is kept in a {@link BrickField}
  *
  * @author Salaar Mir-modified
  */
 abstract public class Brick {
 
     /**
-     * Integer to signify when ball impacts upper part of a brick
+     * Clay brick type
      */
-    private final int UP_IMPACT = 100;
+    static final int CLAY = 1;
 
     /**
-     * Returns the integer to signify the ball impacted the upper part of a brick
-     *
-     * @return the integer to signify the ball impacted the upper part of a brick
+     * Steel brick type
      */
-    public int getUpImpact() {
-        return UP_IMPACT;
-    }
+    static final int STEEL = 2;
 
     /**
-     * Integer to signify when ball impacts lower part of a brick
+     * Cement brick type
      */
-    private final int DOWN_IMPACT = 200;
+    static final int CEMENT = 3;
 
     /**
-     * Returns the integer to signify the ball impacted the lower part of a brick
-     *
-     * @return the integer to signify the ball impacted the lower part of a brick
+     * Gold brick type
      */
-    public int getDownImpact() {
-        return DOWN_IMPACT;
-    }
+    static final int GOLD = 4;
 
     /**
-     * Integer to signify the ball impacted the left part of a brick
-     */
-    private final int LEFT_IMPACT = 300;
-
-    /**
-     * Returns the integer to signify the ball impacted the left part of a brick
+     * Returns the number of brick type codes, one more than the largest, so arrays can be indexed by type code
      *
-     * @return the integer to signify the ball impacted the left part of a brick
+     * @return the number of brick type codes
      */
-    public int getLeftImpact() {
-        return LEFT_IMPACT;
+    public static int getTypeCount() {
+        return GOLD + 1;
     }
 
     /**
-     * Integer to signify the ball impacted the right part of a brick
-     */
-    private final int RIGHT_IMPACT = 400;
-
-    /**
-     * Returns the integer to signify the ball impacted the right part of a brick
-     *
-     * @return the integer to signify the ball impacted the right part of a brick
-     */
-    public int getRightImpact() {
-        return RIGHT_IMPACT;
-    }
-
-    /**
-     * The score earned by the user
-     */
-    private static int m_score = 0;
-
-    /**
-     * Returns the score earned by the user
+     * Returns the score earned by the user in the game shown on the game board
      *
      * @return the score earned by the user
      */
     public static int getScore() {
-        return m_score;
+        return Wall.getWall().getScore();
     }
 
     /**
-     * Updates the score earned by the user
+     * Updates the score earned by the user in the game shown on the game board
      *
      * @param m_score Updated score
      */
     public static void setScore(int m_score) {
-        Brick.m_score = m_score;
+        Wall.getWall().setScore(m_score);
     }
 
-    /**
-     * Used to generate random number
-     */
-    private final Random RND;
-
     /**
      * Name of brick to specify its type
      */
     private final String NAME;
 
+    /**
+     * Returns the name of the brick type
+     *
+     * @return the name of the brick type
+     */
+    public String getName() {
+        return NAME;
+    }
 
     /**
-     * The brick face
+     * Integer code of the brick type
      */
-    private final Shape BRICKFACE;
+    private final int TYPE;
 
     /**
-     * Returns the brick face
+     * Returns the integer code of the brick type
      *
-     * @return the brick face
+     * @return the integer code of the brick type
      */
-    public Shape getBRICKFACE() {
-        return BRICKFACE;
+    public int getType() {
+        return TYPE;
     }
 
     /**
@@ -150,22 +121,12 @@ abstract public class Brick {
     private final int FULL_STRENGTH;
 
     /**
-     * The current strength of the brick
-     */
-    private int m_strength;
-
-    /**
-     * Boolean to represent whether the brick is broken or not
-     */
-    private boolean m_broken;
-
-    /**
-     * Returns true if the brick is broken or false otherwise
+     * Returns the max strength of the brick
      *
-     * @return true if the brick is broken or false otherwise
+     * @return the number of hits it initially takes to break the brick
      */
-    public final boolean isBroken() {
-        return m_broken;
+    public int getFullStrength() {
+        return FULL_STRENGTH;
     }
 
     /**
@@ -173,7 +134,7 @@ abstract public class Brick {
      *
      * @author Salaar Mir-modified
      */
-    public class Crack {
+    public static class Crack {
 
         /**
          * Number of sections of a crack
@@ -241,21 +202,6 @@ abstract public class Brick {
             return DOWN;
         }
 
-        /**
-         * Integer to signify crack being made vertically at a given point
-         */
-        private static final int VERTICAL = 100;
-
-        /**
-         * Integer to signify crack being made horizontally at a given point
-         */
-        private static final int HORIZONTAL = 200;
-
-        /**
-         * The path of the crack
-         */
-        private final GeneralPath CRACK;
-
         /**
          * The depth of the crack
          */
@@ -274,89 +220,122 @@ abstract public class Brick {
          */
         public Crack(int crackDepth, int steps) {
 
-            CRACK = new GeneralPath();
             this.CRACK_DEPTH = crackDepth;
             this.STEPS = steps;
 
         }
 
         /**
-         * Returns the path of the crack
-         *
-         * @return the path of the crack
+         * Number of places along the hit face a crack can start from
          */
-        public GeneralPath draw() {
+        private static final int IMPACT_SLOTS = 4;
 
-            return CRACK;
-        }
+        /**
+         * Number of places along the far edge a crack can end at
+         */
+        private static final int END_SLOTS = 4;
 
         /**
-         * Resets the path of the crack
+         * Number of differently shaped cracks between the same start and end
          */
-        public void reset() {
-            CRACK.reset();
-        }
+        private static final int SHAPES = 2;
+
+        /**
+         * Number of crack variants a brick of one size can show
+         */
+        public static final int VARIANTS = 4 * IMPACT_SLOTS * END_SLOTS * SHAPES;
 
         /**
-         * Makes the crack starting at a specified location and towards an inputted direction
+         * Picks which crack variant a brick shows after a hit at a specified location towards an inputted direction. The variant is worked out from the same random numbers a crack path used to be drawn from, so games and replays play out exactly as before
          *
+         * @param x         Left edge of the brick being cracked
+         * @param y         Top edge of the brick being cracked
+         * @param width     Width of the brick being cracked
+         * @param height    Height of the brick being cracked
          * @param point     Start point of the crack
          * @param direction Direction of the crack
+         * @param rnd       Random number generator used to shape the crack
+         * @return the crack variant, from 0 up to VARIANTS
          */
-        protected void makeCrack(Point2D point, int direction) {
-            Rectangle bounds = Brick.this.BRICKFACE.getBounds();
+        protected int pickVariant(int x, int y, int width, int height, Point2D point, int direction, Random rnd) {
+            boolean across = direction == LEFT || direction == RIGHT;
+            int from = across ? y : x;
+            int length = across ? height : width;
+            int impact = (int) (across ? point.getY() : point.getX()) - from;
+            int end = randomBetween(from, from + length, rnd) - from;
 
-            Point impact = new Point((int) point.getX(), (int) point.getY());
-            Point start = new Point();
-            Point end = new Point();
+            int bound = CRACK_DEPTH;
+            int jump = bound * 5;
+            int shape = 0;
+            for (int i = 1; i < STEPS; i++) {
+                shape = shape * 31 + randomInBounds(bound, rnd);
+                if (inMiddle(i, CRACK_SECTIONS, STEPS))
+                    shape = shape * 31 + jumps(jump, JUMP_PROBABILITY, rnd);
+            }
 
+            int variant = direction / 10 - 1;
+            variant = variant * IMPACT_SLOTS + slot(impact, length, IMPACT_SLOTS);
+            variant = variant * END_SLOTS + slot(end, length, END_SLOTS);
+            return variant * SHAPES + Math.floorMod(shape, SHAPES);
+        }
 
-            switch (direction) {
-                case LEFT:
-                    start.setLocation(bounds.x + bounds.width, bounds.y);
-                    end.setLocation(bounds.x + bounds.width, bounds.y + bounds.height);
-                    Point tmp = makeRandomPoint(start, end, VERTICAL);
-                    makeCrack(impact, tmp);
-
-                    break;
-                case RIGHT:
-                    start.setLocation(bounds.getLocation());
-                    end.setLocation(bounds.x, bounds.y + bounds.height);
-                    tmp = makeRandomPoint(start, end, VERTICAL);
-                    makeCrack(impact, tmp);
-
-                    break;
-                case UP:
-                    start.setLocation(bounds.x, bounds.y + bounds.height);
-                    end.setLocation(bounds.x + bounds.width, bounds.y + bounds.height);
-                    tmp = makeRandomPoint(start, end, HORIZONTAL);
-                    makeCrack(impact, tmp);
-                    break;
-                case DOWN:
-                    start.setLocation(bounds.getLocation());
-                    end.setLocation(bounds.x + bounds.width, bounds.y);
-                    tmp = makeRandomPoint(start, end, HORIZONTAL);
-                    makeCrack(impact, tmp);
-                    break;
+        /**
+         * Makes the crack of a variant on a brick whose top left corner is at the origin, so it can be drawn once and copied onto every brick of the same size showing that variant
+         *
+         * @param crack   Path to add the crack to
+         * @param width   Width of the brick
+         * @param height  Height of the brick
+         * @param variant Crack variant from pickVariant
+         */
+        protected void makeCrack(GeneralPath crack, int width, int height, int variant) {
+            Random rnd = new Random(variant);
+            variant /= SHAPES;
+            int endSlot = variant % END_SLOTS;
+            variant /= END_SLOTS;
+            int impactSlot = variant % IMPACT_SLOTS;
+            int direction = (variant / IMPACT_SLOTS + 1) * 10;
+
+            boolean across = direction == LEFT || direction == RIGHT;
+            int length = across ? height : width;
+            int impact = (2 * impactSlot + 1) * length / (2 * IMPACT_SLOTS);
+            int end = (2 * endSlot + 1) * length / (2 * END_SLOTS);
 
+            switch (direction) {
+                case LEFT -> makeCrack(crack, width, impact, width, end, rnd);
+                case RIGHT -> makeCrack(crack, 0, impact, 0, end, rnd);
+                case UP -> makeCrack(crack, impact, 0, end, height, rnd);
+                case DOWN -> makeCrack(crack, impact, height, end, 0, rnd);
             }
         }
 
         /**
-         * Makes the crack from a specified start point to a specified end point
+         * Returns which of a number of equal slots along an edge a position falls in
          *
-         * @param start Specified start point
-         * @param end   Specified end point
+         * @param position Position along the edge
+         * @param length   Length of the edge
+         * @param slots    Number of slots
+         * @return the slot the position falls in
          */
-        protected void makeCrack(Point start, Point end) {
-
-            GeneralPath path = new GeneralPath();
+        private static int slot(int position, int length, int slots) {
+            return Math.max(0, Math.min(slots - 1, position * slots / Math.max(1, length)));
+        }
 
+        /**
+         * Makes the crack from a specified start point to a specified end point, drawing straight onto the path so no temporary objects are created
+         *
+         * @param crack  Path to add the crack to
+         * @param startX Horizontal coordinate of the start point
+         * @param startY Vertical coordinate of the start point
+         * @param endX   Horizontal coordinate of the end point
+         * @param endY   Vertical coordinate of the end point
+         * @param rnd    Random number generator used to shape the crack
+         */
+        protected void makeCrack(GeneralPath crack, int startX, int startY, int endX, int endY, Random rnd) {
 
-            path.moveTo(start.x, start.y);
+            crack.moveTo(startX, startY);
 
-            double w = (end.x - start.x) / (double) STEPS;
-            double h = (end.y - start.y) / (double) STEPS;
+            double w = (endX - startX) / (double) STEPS;
+            double h = (endY - startY) / (double) STEPS;
 
             int bound = CRACK_DEPTH;
             int jump = bound * 5;
@@ -365,29 +344,29 @@ abstract public class Brick {
 
             for (int i = 1; i < STEPS; i++) {
 
-                x = (i * w) + start.x;
-                y = (i * h) + start.y + randomInBounds(bound);
+                x = (i * w) + startX;
+                y = (i * h) + startY + randomInBounds(bound, rnd);
 
                 if (inMiddle(i, CRACK_SECTIONS, STEPS))
-                    y += jumps(jump, JUMP_PROBABILITY);
+                    y += jumps(jump, JUMP_PROBABILITY, rnd);
 
-                path.lineTo(x, y);
+                crack.lineTo(x, y);
 
             }
 
-            path.lineTo(end.x, end.y);
-            CRACK.append(path, true);
+            crack.lineTo(endX, endY);
         }
 
         /**
          * Returns random int to signify where crack start point will be
          *
          * @param bound Depth of the crack
+         * @param rnd   Random number generator to use
          * @return random int to signify where crack start point will be
          */
-        public int randomInBounds(int bound) {
+        public int randomInBounds(int bound, Random rnd) {
             int n = (bound * 2) + 1;
-            return RND.nextInt(n) - bound;
+            return rnd.nextInt(n) - bound;
         }
 
         /**
@@ -410,144 +389,111 @@ abstract public class Brick {
          *
          * @param bound       the bounds of the brick
          * @param probability The jump probability
+         * @param rnd         Random number generator to use
          * @return random int to signify where crack will be if random number is greater than the jump probability or 0 otherwise
          */
-        public int jumps(int bound, double probability) {
+        public int jumps(int bound, double probability, Random rnd) {
 
-            if (RND.nextDouble() > probability)
-                return randomInBounds(bound);
+            if (rnd.nextDouble() > probability)
+                return randomInBounds(bound, rnd);
             return 0;
 
         }
 
         /**
-         * Creates and returns a random point between two points in a specified direction
+         * Returns a random coordinate between two coordinates, used to pick where a crack ends on the edge of a brick
          *
-         * @param from      Starting point
-         * @param to        Ending point
-         * @param direction Direction for point to be made
-         * @return a random point between two points in a specified directio
+         * @param from Lowest coordinate
+         * @param to   Coordinate just past the highest
+         * @param rnd  Random number generator to use
+         * @return a random coordinate between the two coordinates
          */
-        public Point makeRandomPoint(Point from, Point to, int direction) {
-
-            Point out = new Point();
-            int pos;
-
-            switch (direction) {
-                case HORIZONTAL -> {
-                    pos = RND.nextInt(to.x - from.x) + from.x;
-                    out.setLocation(pos, to.y);
-                }
-                case VERTICAL -> {
-                    pos = RND.nextInt(to.y - from.y) + from.y;
-                    out.setLocation(to.x, pos);
-                }
-
-            }
-            return out;
+        public int randomBetween(int from, int to, Random rnd) {
+            return rnd.nextInt(to - from) + from;
         }
 
 
     }
 
     /**
-     * Creates a brick object with specified information
+     * Creates a brick type with specified information
      *
      * @param name     The name of the brick to specify its type
-     * @param pos      The point at which the brick is made
-     * @param size     The size of the brick
+     * @param type     The integer code of the brick type
      * @param border   The border color of the brick
      * @param inner    The inner color of the brick
      * @param strength The strength of the brick
      */
-    public Brick(String name, Point pos, Dimension size, Color border, Color inner, int strength) {
-        RND = new Random();
-        m_broken = false;
+    protected Brick(String name, int type, Color border, Color inner, int strength) {
         this.NAME = name;
-        BRICKFACE = makeBrickFace(pos, size);
+        this.TYPE = type;
         this.BORDER = border;
         this.INNER = inner;
-        this.FULL_STRENGTH = this.m_strength = strength;
+        this.FULL_STRENGTH = strength;
 
     }
 
     /**
-     * Creates and returns a brick face at a specified point and size
+     * Returns true if a hit from the ball counts against the brick's strength or false if the brick shrugs it off
      *
-     * @param pos  Point at which to make the brick face
-     * @param size Size of the brick face
-     * @return a brick face at a specified point and size
+     * @param rnd Random number generator of the game
+     * @return true if the hit counts against the brick's strength or false otherwise
      */
-    protected abstract Shape makeBrickFace(Point pos, Dimension size);
-
-    /**
-     * Returns true if an unbroken brick has been impacted and broken or false otherwise
-     *
-     * @param point Point at which the brick was impacted
-     * @param dir   Direction in which to make the crack if brick has not yet been broken
-     * @return true if an unbroken brick has been impacted and broken or false otherwise
-     */
-    public boolean setImpact(Point2D point, int dir) {
-        if (m_broken)
-            return false;
-        impact();
-        return m_broken;
+    public boolean takesHit(Random rnd) {
+        return true;
     }
 
     /**
-     * Returns a brick object
+     * Returns true if bricks of this type show cracks after a hit that does not break them
      *
-     * @return a brick object
+     * @return true if bricks of this type show cracks or false otherwise
      */
-    public abstract Shape getBrick();
+    public boolean cracks() {
+        return false;
+    }
 
     /**
-     * Returns where the brick was impacted by the ball
+     * Picks the crack variant a brick of this type shows after it has been hit
      *
-     * @param b Ball which impacted the brick
-     * @return where the brick was impacted by the ball
+     * @param x      Left edge of the brick
+     * @param y      Top edge of the brick
+     * @param width  Width of the brick
+     * @param height Height of the brick
+     * @param point  Point at which the brick was impacted
+     * @param dir    Direction in which to make the crack
+     * @param rnd    Random number generator of the game
+     * @return the crack variant, from 0 up to Crack.VARIANTS
      */
-    public final int findImpact(Ball b) {
-        if (m_broken)
-            return 0;
-        int out = 0;
-        if (BRICKFACE.contains(b.getRIGHT()))
-            out = LEFT_IMPACT;
-        else if (BRICKFACE.contains(b.getLEFT()))
-            out = RIGHT_IMPACT;
-        else if (BRICKFACE.contains(b.getUP()))
-            out = DOWN_IMPACT;
-        else if (BRICKFACE.contains(b.getDOWN()))
-            out = UP_IMPACT;
-        return out;
+    public int pickCrack(int x, int y, int width, int height, Point2D point, int dir, Random rnd) {
+        return 0;
     }
 
     /**
-     * Repairs brick by resetting it to full strength and setting it to unbroken
+     * Adds the crack of a variant to a path, for a brick of this type whose top left corner is at the origin
+     *
+     * @param crack   Path to add the crack to
+     * @param width   Width of the brick
+     * @param height  Height of the brick
+     * @param variant Crack variant from pickCrack
      */
-    public void repair() {
-        m_broken = false;
-        m_strength = FULL_STRENGTH;
+    public void makeCrack(GeneralPath crack, int width, int height, int variant) {
     }
 
     /**
-     * Simulates the brick getting hit
+     * Returns the shared brick type object for the specified type code
+     *
+     * @param type The integer code of the brick type
+     * @return the shared brick type object
      */
-    public void impact() {
-
-        int broken = 0;
-        m_strength--;
-        m_broken = (m_strength == broken);
-
-        int scoreIncrease = 10;
-        if (m_strength == 0)
-            setScore(Brick.getScore() + scoreIncrease);
+    public static Brick getBrickType(int type) {
+        return switch (type) {
+            case CLAY -> ClayBrick.getClayBrick();
+            case STEEL -> SteelBrick.getSteelBrick();
+            case CEMENT -> CementBrick.getCementBrick();
+            case GOLD -> GoldBrick.getGoldBrick();
+            default -> throw new IllegalArgumentException(String.format("Unknown Type:%d", type));
+        };
     }
 
 
 }
-
-
-
-
-
@@ -0,0 +1,356 @@
+package Objects;
+
+import java.awt.geom.Point2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Class to keep the damage one game session has done to a level. The layout of the level comes from a shared LevelTemplate, and the strength of each brick is only copied from it the first time a brick is hit, so an untouched level costs almost nothing and repairing one only visits the bricks that were hit
+ *
+ * @author Salaar Mir
+ */
+public class BrickField {
+
+    /**
+     * Shared layout of the level
+     */
+    private final LevelTemplate TEMPLATE;
+
+    /**
+     * Returns the shared layout of the level
+     *
+     * @return the template the field was created from
+     */
+    public LevelTemplate getTemplate() {
+        return TEMPLATE;
+    }
+
+    /**
+     * Number of bricks at or above which the damage of a field is kept in direct memory instead of the heap, so huge levels keep the heap and the garbage collector flat
+     */
+    private static final int OFF_HEAP_BRICKS = 1 << 16;
+
+    /**
+     * Current strength of each brick, or null while no brick has been hit and every brick is at full strength
+     */
+    private ByteBuffer m_strength;
+
+    /**
+     * Set bit for every brick that has been broken
+     */
+    private final BitSet BROKEN;
+
+    /**
+     * Indices of the bricks hit since the last repair, each listed once
+     */
+    private IntBuffer m_damaged;
+
+    /**
+     * Number of bricks hit since the last repair
+     */
+    private int m_damagedCount;
+
+    /**
+     * Value returned for a brick that shows no crack
+     */
+    public static final int NO_CRACK = -1;
+
+    /**
+     * Crack variant shown on each brick plus one, or 0 for a brick with no crack, or null while no brick has been hit
+     */
+    private ByteBuffer m_cracks;
+
+    /**
+     * Number of times the set of broken bricks of each type has changed, indexed by type code
+     */
+    private final int[] BROKEN_VERSIONS = new int[Brick.getTypeCount()];
+
+    /**
+     * Returns a number that changes every time a brick of a type is broken or repaired, so a drawing of the unbroken bricks of that type can be kept until it does
+     *
+     * @param type Type code of the bricks
+     * @return the number of times the broken bricks of the type have changed
+     */
+    public int getBrokenVersion(int type) {
+        return BROKEN_VERSIONS[type];
+    }
+
+    /**
+     * Number of times the look of the field has changed, by a brick being hit, cracked or broken or by a repair
+     */
+    private int m_version;
+
+    /**
+     * Returns a number that changes every time the look of the field changes, so a drawing of the field can be kept until it does
+     *
+     * @return the number of times the field has changed
+     */
+    public int getVersion() {
+        return m_version;
+    }
+
+    /**
+     * Returns the number of bricks in the field
+     *
+     * @return the number of bricks in the field
+     */
+    public int size() {
+        return TEMPLATE.size();
+    }
+
+    /**
+     * Creates an undamaged field over a level layout
+     *
+     * @param template Shared layout of the level
+     */
+    public BrickField(LevelTemplate template) {
+        TEMPLATE = template;
+        BROKEN = new BitSet(template.size());
+    }
+
+    /**
+     * Returns the left edge of a brick
+     *
+     * @param i Index of the brick
+     * @return the left edge of the brick
+     */
+    public float getX(int i) {
+        return TEMPLATE.getX(i);
+    }
+
+    /**
+     * Returns the top edge of a brick
+     *
+     * @param i Index of the brick
+     * @return the top edge of the brick
+     */
+    public float getY(int i) {
+        return TEMPLATE.getY(i);
+    }
+
+    /**
+     * Returns the width of a brick
+     *
+     * @param i Index of the brick
+     * @return the width of the brick
+     */
+    public float getWidth(int i) {
+        return TEMPLATE.getWidth(i);
+    }
+
+    /**
+     * Returns the height of a brick
+     *
+     * @param i Index of the brick
+     * @return the height of the brick
+     */
+    public float getHeight(int i) {
+        return TEMPLATE.getHeight(i);
+    }
+
+    /**
+     * Returns the type code of a brick
+     *
+     * @param i Index of the brick
+     * @return the type code of the brick
+     */
+    public int getType(int i) {
+        return TEMPLATE.getType(i);
+    }
+
+    /**
+     * Returns the shared type object of a brick
+     *
+     * @param i Index of the brick
+     * @return the shared type object of the brick
+     */
+    public Brick getBrickType(int i) {
+        return Brick.getBrickType(TEMPLATE.getType(i));
+    }
+
+    /**
+     * Returns the current strength of a brick
+     *
+     * @param i Index of the brick
+     * @return the current strength of the brick
+     */
+    public int getStrength(int i) {
+        return (m_strength == null) ? TEMPLATE.getFullStrength(i) : m_strength.get(i);
+    }
+
+    /**
+     * Returns true if a brick is broken or false otherwise
+     *
+     * @param i Index of the brick
+     * @return true if the brick is broken or false otherwise
+     */
+    public boolean isBroken(int i) {
+        return BROKEN.get(i);
+    }
+
+    /**
+     * Returns true if any brick has been broken since the last repair or false otherwise
+     *
+     * @return true if any brick is broken or false otherwise
+     */
+    public boolean hasBroken() {
+        return !BROKEN.isEmpty();
+    }
+
+    /**
+     * Returns the index of the first unbroken brick at or after the specified index, or the field size if there is none
+     *
+     * @param from Index to start searching from
+     * @return the index of the next unbroken brick
+     */
+    public int nextUnbroken(int from) {
+        return Math.min(BROKEN.nextClearBit(from), TEMPLATE.size());
+    }
+
+    /**
+     * Returns the number of bricks hit since the last repair
+     *
+     * @return the number of bricks hit since the last repair
+     */
+    public int getDamagedCount() {
+        return m_damagedCount;
+    }
+
+    /**
+     * Returns the index of one of the bricks hit since the last repair
+     *
+     * @param d Position of the brick in the order the bricks were first hit, below getDamagedCount
+     * @return the index of the brick
+     */
+    public int getDamaged(int d) {
+        return m_damaged.get(d);
+    }
+
+    /**
+     * Returns the crack variant shown on a brick, or NO_CRACK if it is not cracked
+     *
+     * @param i Index of the brick
+     * @return the crack variant of the brick or NO_CRACK
+     */
+    public int getCrack(int i) {
+        return (m_cracks == null) ? NO_CRACK : (m_cracks.get(i) & 0xFF) - 1;
+    }
+
+    /**
+     * Simulates a brick getting hit by the ball, cracking it if its type shows cracks
+     *
+     * @param i     Index of the brick
+     * @param point Point at which the brick was impacted
+     * @param dir   Direction in which to make the crack if brick has not yet been broken
+     * @param rnd   Random number generator of the game
+     * @return true if the brick has been broken, or for bricks that crack true if a crack has been drawn, or false otherwise
+     */
+    public boolean setImpact(int i, Point2D point, int dir, Random rnd) {
+        if (BROKEN.get(i))
+            return false;
+        Brick type = getBrickType(i);
+        if (!type.takesHit(rnd))
+            return false;
+
+        if (m_strength == null) {
+            allocateDamage();
+            TEMPLATE.copyFullStrengths(m_strength);
+        }
+        int strength = m_strength.get(i);
+        if (strength == TEMPLATE.getFullStrength(i))
+            m_damaged.put(m_damagedCount++, i);
+        m_strength.put(i, (byte) --strength);
+        m_version++;
+        boolean broken = strength == 0;
+        if (broken) {
+            BROKEN.set(i);
+            BROKEN_VERSIONS[getType(i)]++;
+        }
+
+        if (!type.cracks())
+            return broken;
+        if (broken)
+            return false;
+
+        int crack = type.pickCrack((int) getX(i), (int) getY(i), (int) getWidth(i), (int) getHeight(i), point, dir, rnd);
+        m_cracks.put(i, (byte) (crack + 1));
+        return true;
+    }
+
+    /**
+     * Repairs every brick by removing all cracks and resetting it to full strength, visiting only the bricks hit since the last repair
+     */
+    public void repair() {
+        for (int d = 0; d < m_damagedCount; d++) {
+            int i = m_damaged.get(d);
+            m_strength.put(i, (byte) TEMPLATE.getFullStrength(i));
+            if (BROKEN.get(i))
+                BROKEN_VERSIONS[getType(i)]++;
+            BROKEN.clear(i);
+            m_cracks.put(i, (byte) 0);
+        }
+        if (m_damagedCount > 0)
+            m_version++;
+        m_damagedCount = 0;
+    }
+
+    /**
+     * Creates the strength, crack and damage lists the first time a brick is hit, in direct memory for huge levels
+     */
+    private void allocateDamage() {
+        if (size() >= OFF_HEAP_BRICKS) {
+            m_strength = ByteBuffer.allocateDirect(size());
+            m_cracks = ByteBuffer.allocateDirect(size());
+            m_damaged = ByteBuffer.allocateDirect(size() * Integer.BYTES).asIntBuffer();
+        } else {
+            m_strength = ByteBuffer.allocate(size());
+            m_cracks = ByteBuffer.allocate(size());
+            m_damaged = IntBuffer.allocate(size());
+        }
+    }
+
+    /**
+     * Writes the current strength of every brick, which is all that changes while a level is played
+     *
+     * @param out Output to write the strengths to
+     * @throws IOException Exception error when the strengths cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(size());
+        for (int i = 0; i < size(); i++)
+            out.writeByte(getStrength(i));
+    }
+
+    /**
+     * Restores the strength of every brick from a state written by writeState, marking bricks with no strength left as broken. Cracks are only drawn for show, so they are cleared rather than restored
+     *
+     * @param in Input to read the strengths from
+     * @throws IOException Exception error when the strengths cannot be read or do not match this field
+     */
+    public void readState(DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size != size())
+            throw new IOException(String.format("Brick Count Mismatch:%d", size));
+        repair();
+        m_version++;
+        if (m_strength == null)
+            allocateDamage();
+        for (int i = 0; i < size; i++) {
+            byte strength = in.readByte();
+            m_strength.put(i, strength);
+            if (strength == TEMPLATE.getFullStrength(i))
+                continue;
+            m_damaged.put(m_damagedCount++, i);
+            if (strength == 0) {
+                BROKEN.set(i);
+                BROKEN_VERSIONS[getType(i)]++;
+            }
+        }
+    }
+
+}
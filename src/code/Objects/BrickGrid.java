@@ -0,0 +1,341 @@
+package Objects;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Class to index the bricks of a level in a uniform grid, so collisions only need to test the bricks close to the ball
+ *
+ * @author Salaar Mir
+ */
+public class BrickGrid {
+
+    /**
+     * Left edge of the area covered by the grid
+     */
+    private double m_originX;
+
+    /**
+     * Top edge of the area covered by the grid
+     */
+    private double m_originY;
+
+    /**
+     * Width and height of every cell in the grid
+     */
+    private double m_cellSize;
+
+    /**
+     * Number of columns in the grid
+     */
+    private int m_cols;
+
+    /**
+     * Number of rows in the grid
+     */
+    private int m_rows;
+
+    /**
+     * Index into the item array where the bricks of each cell start
+     */
+    private int[] m_cellStart = new int[1];
+
+    /**
+     * Number of unbroken bricks stored in each cell
+     */
+    private int[] m_cellCount = new int[0];
+
+    /**
+     * Brick indices of every cell laid out one cell after another, with the unbroken bricks of a cell kept at the front of its run
+     */
+    private int[] m_items = new int[0];
+
+    /**
+     * Query number each brick was last returned by, so a brick spanning several cells is only returned once per query
+     */
+    private int[] m_stamp = new int[0];
+
+    /**
+     * Number of the current query
+     */
+    private int m_query;
+
+    /**
+     * First and last column and row of the cells overlapped by the brick last passed to setCellRange
+     */
+    private int m_c0, m_c1, m_r0, m_r1;
+
+    /**
+     * Offset of the first cell start within grid cells written by writeCells, after the origin, cell size, column count and row count
+     */
+    private static final int CELLS_HEADER = 32;
+
+    /**
+     * Rebuilds the grid around the specified bricks, leaving out any that are already broken, and reuses the arrays of the last build when they are large enough. An undamaged level whose template holds grid cells worked out ahead of time has them copied in instead
+     *
+     * @param bricks The bricks of the level to index
+     */
+    public void build(BrickField bricks) {
+        ByteBuffer precomputed = bricks.getTemplate().getCells();
+        if (precomputed != null && !bricks.hasBroken()) {
+            load(precomputed, bricks.size());
+            return;
+        }
+
+        int n = bricks.size();
+        double minX = 0, minY = 0, maxX = 0, maxY = 0;
+        double cellSize = 1;
+        for (int i = 0; i < n; i++) {
+            double x = bricks.getX(i);
+            double y = bricks.getY(i);
+            double w = bricks.getWidth(i);
+            double h = bricks.getHeight(i);
+            minX = (i == 0) ? x : Math.min(minX, x);
+            minY = (i == 0) ? y : Math.min(minY, y);
+            maxX = (i == 0) ? x + w : Math.max(maxX, x + w);
+            maxY = (i == 0) ? y + h : Math.max(maxY, y + h);
+            cellSize = Math.max(cellSize, Math.max(w, h));
+        }
+
+        m_originX = minX;
+        m_originY = minY;
+        m_cellSize = cellSize;
+        m_cols = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        m_rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+
+        int cells = m_cols * m_rows;
+        if (m_cellStart.length < cells + 1)
+            m_cellStart = new int[cells + 1];
+        else
+            Arrays.fill(m_cellStart, 0);
+        if (m_cellCount.length < cells)
+            m_cellCount = new int[cells];
+        else
+            Arrays.fill(m_cellCount, 0);
+
+        for (int i = 0; i < n; i++) {
+            setCellRange(bricks, i);
+            for (int r = m_r0; r <= m_r1; r++)
+                for (int c = m_c0; c <= m_c1; c++)
+                    m_cellStart[r * m_cols + c + 1]++;
+        }
+        for (int c = 0; c < cells; c++)
+            m_cellStart[c + 1] += m_cellStart[c];
+
+        if (m_items.length < m_cellStart[cells])
+            m_items = new int[m_cellStart[cells]];
+        for (int i = 0; i < n; i++) {
+            if (bricks.isBroken(i))
+                continue;
+            setCellRange(bricks, i);
+            for (int r = m_r0; r <= m_r1; r++) {
+                for (int c = m_c0; c <= m_c1; c++) {
+                    int cell = r * m_cols + c;
+                    m_items[m_cellStart[cell] + m_cellCount[cell]++] = i;
+                }
+            }
+        }
+
+        if (m_stamp.length < n)
+            m_stamp = new int[n];
+        else
+            Arrays.fill(m_stamp, 0);
+        m_query = 0;
+    }
+
+    /**
+     * Copies grid cells written by writeCells into the grid, reusing the arrays of the last build when they are large enough
+     *
+     * @param cells Grid cells of the undamaged level
+     * @param n     Number of bricks in the level
+     */
+    private void load(ByteBuffer cells, int n) {
+        m_originX = cells.getDouble(0);
+        m_originY = cells.getDouble(8);
+        m_cellSize = cells.getDouble(16);
+        m_cols = cells.getInt(24);
+        m_rows = cells.getInt(28);
+
+        int count = m_cols * m_rows;
+        if (m_cellStart.length < count + 1)
+            m_cellStart = new int[count + 1];
+        if (m_cellCount.length < count)
+            m_cellCount = new int[count];
+        for (int c = 0; c <= count; c++)
+            m_cellStart[c] = cells.getInt(CELLS_HEADER + c * Integer.BYTES);
+        for (int c = 0; c < count; c++)
+            m_cellCount[c] = m_cellStart[c + 1] - m_cellStart[c];
+
+        int items = m_cellStart[count];
+        int first = CELLS_HEADER + (count + 1) * Integer.BYTES;
+        if (m_items.length < items)
+            m_items = new int[items];
+        for (int k = 0; k < items; k++)
+            m_items[k] = cells.getInt(first + k * Integer.BYTES);
+
+        if (m_stamp.length < n)
+            m_stamp = new int[n];
+        else
+            Arrays.fill(m_stamp, 0);
+        m_query = 0;
+    }
+
+    /**
+     * Returns the number of bytes writeCells needs for the grid as it was last built
+     *
+     * @return the size of the grid cells in bytes
+     */
+    int getCellsSize() {
+        int count = m_cols * m_rows;
+        return CELLS_HEADER + (count + 1 + m_cellStart[count]) * Integer.BYTES;
+    }
+
+    /**
+     * Writes the grid as it was last built into a buffer at its current position, in the layout build reads back from a level template. The grid must have been built from an undamaged level
+     *
+     * @param out Buffer with room for getCellsSize bytes
+     */
+    void writeCells(ByteBuffer out) {
+        int count = m_cols * m_rows;
+        out.putDouble(m_originX);
+        out.putDouble(m_originY);
+        out.putDouble(m_cellSize);
+        out.putInt(m_cols);
+        out.putInt(m_rows);
+        for (int c = 0; c <= count; c++)
+            out.putInt(m_cellStart[c]);
+        for (int k = 0; k < m_cellStart[count]; k++)
+            out.putInt(m_items[k]);
+    }
+
+    /**
+     * Removes a brick from every cell it is stored in, used once the brick has been broken
+     *
+     * @param bricks The bricks the grid was built from
+     * @param index  Index of the brick to remove
+     */
+    public void remove(BrickField bricks, int index) {
+        setCellRange(bricks, index);
+        for (int r = m_r0; r <= m_r1; r++) {
+            for (int c = m_c0; c <= m_c1; c++) {
+                int cell = r * m_cols + c;
+                int start = m_cellStart[cell];
+                int last = start + m_cellCount[cell] - 1;
+                for (int k = start; k <= last; k++) {
+                    if (m_items[k] == index) {
+                        m_items[k] = m_items[last];
+                        m_items[last] = index;
+                        m_cellCount[cell]--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the indices of the unbroken bricks stored in the cells overlapping the specified area, in ascending order
+     *
+     * @param minX Left edge of the area
+     * @param minY Top edge of the area
+     * @param maxX Right edge of the area
+     * @param maxY Bottom edge of the area
+     * @param out  Array to store the brick indices in, which must be at least as long as the number of bricks
+     * @return the number of brick indices stored
+     */
+    public int query(double minX, double minY, double maxX, double maxY, int[] out) {
+        int c0 = Math.max(0, col(minX));
+        int c1 = Math.min(m_cols - 1, col(maxX));
+        int r0 = Math.max(0, row(minY));
+        int r1 = Math.min(m_rows - 1, row(maxY));
+
+        int n = 0;
+        if (c0 > c1 || r0 > r1)
+            return n;
+
+        if (++m_query == 0) {
+            Arrays.fill(m_stamp, 0);
+            m_query = 1;
+        }
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * m_cols + c;
+                int start = m_cellStart[cell];
+                int end = start + m_cellCount[cell];
+                for (int k = start; k < end; k++) {
+                    int brick = m_items[k];
+                    if (m_stamp[brick] != m_query) {
+                        m_stamp[brick] = m_query;
+                        out[n++] = brick;
+                    }
+                }
+            }
+        }
+
+        // keep the same order a full scan of the brick array would test the bricks in
+        for (int i = 1; i < n; i++) {
+            int v = out[i];
+            int j = i - 1;
+            while (j >= 0 && out[j] > v) {
+                out[j + 1] = out[j];
+                j--;
+            }
+            out[j + 1] = v;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the column containing the specified horizontal coordinate
+     *
+     * @param x Horizontal coordinate
+     * @return the column containing the coordinate
+     */
+    private int col(double x) {
+        return (int) Math.floor((x - m_originX) / m_cellSize);
+    }
+
+    /**
+     * Returns the row containing the specified vertical coordinate
+     *
+     * @param y Vertical coordinate
+     * @return the row containing the coordinate
+     */
+    private int row(double y) {
+        return (int) Math.floor((y - m_originY) / m_cellSize);
+    }
+
+    /**
+     * Returns the last column an area ending at the specified horizontal coordinate reaches into, so an area ending exactly on the edge of a column does not count the column after it
+     *
+     * @param x Right edge of the area
+     * @return the last column the area reaches into
+     */
+    private int lastCol(double x) {
+        return (int) Math.ceil((x - m_originX) / m_cellSize) - 1;
+    }
+
+    /**
+     * Returns the last row an area ending at the specified vertical coordinate reaches into, so an area ending exactly on the edge of a row does not count the row after it
+     *
+     * @param y Bottom edge of the area
+     * @return the last row the area reaches into
+     */
+    private int lastRow(double y) {
+        return (int) Math.ceil((y - m_originY) / m_cellSize) - 1;
+    }
+
+    /**
+     * Finds the range of cells the specified brick overlaps and stores it in the cell range fields
+     *
+     * @param bricks The bricks the grid is built from
+     * @param i      Index of the brick
+     */
+    private void setCellRange(BrickField bricks, int i) {
+        m_c0 = Math.max(0, col(bricks.getX(i)));
+        m_c1 = Math.max(m_c0, Math.min(m_cols - 1, lastCol(bricks.getX(i) + bricks.getWidth(i))));
+        m_r0 = Math.max(0, row(bricks.getY(i)));
+        m_r1 = Math.max(m_r0, Math.min(m_rows - 1, lastRow(bricks.getY(i) + bricks.getHeight(i))));
+    }
+}
@@ -3,6 +3,7 @@ package Objects;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
+import java.util.Random;
 
 /**
  * Class to create the cement brick type
@@ -33,89 +34,72 @@ public class CementBrick extends Brick {
     private static final int CEMENT_STRENGTH = 2;
 
     /**
-     * Object used to display the cracks on the brick when its hit
+     * Object used to make the cracks on the brick when its hit
      */
     private final Crack m_crack;
 
     /**
-     * Face of the brick
+     * Only instance of the cement brick type, shared by every cement brick
      */
-    private Shape m_brickFace;
+    private static final CementBrick CEMENT_BRICK = new CementBrick();
 
     /**
-     * Returns the face of the brick
+     * Returns the only instance of the cement brick type
      *
-     * @return the face of the brick
+     * @return the only instance of the cement brick type
      */
-    @Override
-    public Shape getBrick() {
-        return m_brickFace;
+    public static CementBrick getCementBrick() {
+        return CEMENT_BRICK;
     }
 
     /**
-     * Initialises the brick to be created in the game
-     *
-     * @param point coordinates at which the brick should be drawn
-     * @param size  size the brick should be drawn
+     * Initialises the cement brick type
      */
-    public CementBrick(Point point, Dimension size) {
-        super(NAME, point, size, DEF_BORDER, DEF_INNER, CEMENT_STRENGTH);
+    private CementBrick() {
+        super(NAME, CEMENT, DEF_BORDER, DEF_INNER, CEMENT_STRENGTH);
 
         final int DEF_CRACK_DEPTH = 1;
         final int DEF_STEPS = 35;
         m_crack = new Crack(DEF_CRACK_DEPTH, DEF_STEPS);
-        m_brickFace = super.getBRICKFACE();
     }
 
     /**
-     * Makes and returns the brick face at the position and size specified
+     * Returns true as cement bricks show cracks after they have been hit
      *
-     * @param pos  Coordinates where the brick face should be drawn
-     * @param size Size the brick should be drawn
-     * @return the brick face shape
+     * @return true
      */
     @Override
-    protected Shape makeBrickFace(Point pos, Dimension size) {
-        return new Rectangle(pos, size);
+    public boolean cracks() {
+        return true;
     }
 
     /**
-     * Set the impact of the ball on the brick at the coordinates specified to make a crack in the direction stated
+     * Picks the crack shown on the brick after it has been hit
      *
-     * @param point Coordinates at which to create the crack after the ball impacts the brick
-     * @param dir   Direction in which the crack should be drawn
-     * @return true if the brick has been broken or if a crack has been drawn or false otherwise
+     * @param x      Left edge of the brick
+     * @param y      Top edge of the brick
+     * @param width  Width of the brick
+     * @param height Height of the brick
+     * @param point  Coordinates at which to create the crack after the ball impacts the brick
+     * @param dir    Direction in which the crack should be drawn
+     * @param rnd    Random number generator of the game
+     * @return the crack variant
      */
     @Override
-    public boolean setImpact(Point2D point, int dir) {
-        if (super.isBroken())
-            return true;
-        super.impact();
-        if (!super.isBroken()) {
-            m_crack.makeCrack(point, dir);
-            updateBrick();
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Draw crack onto brick after it has been hit
-     */
-    private void updateBrick() {
-        if (!super.isBroken()) {
-            GeneralPath gp = m_crack.draw();
-            gp.append(super.getBRICKFACE(), false);
-            m_brickFace = gp;
-        }
+    public int pickCrack(int x, int y, int width, int height, Point2D point, int dir, Random rnd) {
+        return m_crack.pickVariant(x, y, width, height, point, dir, rnd);
     }
 
     /**
-     * Repair brick by removing all cracks and resetting it to full strength
+     * Draw the crack of a variant onto a brick whose top left corner is at the origin
+     *
+     * @param crack   Path to add the crack to
+     * @param width   Width of the brick
+     * @param height  Height of the brick
+     * @param variant Crack variant from pickCrack
      */
-    public void repair() {
-        super.repair();
-        m_crack.reset();
-        m_brickFace = super.getBRICKFACE();
+    @Override
+    public void makeCrack(GeneralPath crack, int width, int height, int variant) {
+        m_crack.makeCrack(crack, width, height, variant);
     }
 }
@@ -30,35 +30,24 @@ public class ClayBrick extends Brick {
     private static final int CLAY_STRENGTH = 1;
 
     /**
-     * Initialises the brick to be created in the game
-     *
-     * @param point coordinates at which the brick should be drawn
-     * @param size  size the brick should be drawn
+     * Only instance of the clay brick type, shared by every clay brick
      */
-    public ClayBrick(Point point, Dimension size) {
-        super(NAME, point, size, DEF_BORDER, DEF_INNER, CLAY_STRENGTH);
-    }
+    private static final ClayBrick CLAY_BRICK = new ClayBrick();
 
     /**
-     * Makes and returns the brick face at the position and size specified
+     * Returns the only instance of the clay brick type
      *
-     * @param pos  Coordinates where the brick face should be drawn
-     * @param size Size the brick should be drawn
-     * @return the brick face shape
+     * @return the only instance of the clay brick type
      */
-    @Override
-    protected Shape makeBrickFace(Point pos, Dimension size) {
-        return new Rectangle(pos, size);
+    public static ClayBrick getClayBrick() {
+        return CLAY_BRICK;
     }
 
     /**
-     * Returns the face of the brick
-     *
-     * @return the face of the brick
+     * Initialises the clay brick type
      */
-    @Override
-    public Shape getBrick() {
-        return super.getBRICKFACE();
+    private ClayBrick() {
+        super(NAME, CLAY, DEF_BORDER, DEF_INNER, CLAY_STRENGTH);
     }
 
 
@@ -0,0 +1,166 @@
+package Objects;
+
+import java.awt.*;
+
+/**
+ * Class to collect the parts of the game board that have changed since they were last drawn, as a few rectangles. Rectangles that overlap or touch are merged as they are added, and once the region is full a new rectangle is merged into whichever rectangle grows the least, so the region never allocates while the game is running
+ *
+ * @author Salaar Mir
+ */
+public class DamageRegion {
+
+    /**
+     * Largest number of separate rectangles kept
+     */
+    private static final int MAX_RECTS = 8;
+
+    /**
+     * Number of pixels every rectangle is grown by on each side, so borders drawn half outside a shape are covered
+     */
+    private static final int MARGIN = 2;
+
+    /**
+     * Rectangles of the region, of which only the first m_size are in use
+     */
+    private final Rectangle[] RECTS = new Rectangle[MAX_RECTS];
+
+    /**
+     * Reusable rectangle being added
+     */
+    private final Rectangle ADDED = new Rectangle();
+
+    /**
+     * Number of rectangles in the region
+     */
+    private int m_size;
+
+    /**
+     * Returns the number of rectangles in the region
+     *
+     * @return the number of rectangles in the region
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * Returns a rectangle of the region, which stays owned by the region and changes as the region does
+     *
+     * @param i Index of the rectangle
+     * @return the rectangle of the region
+     */
+    public Rectangle get(int i) {
+        return RECTS[i];
+    }
+
+    /**
+     * Creates an empty region
+     */
+    public DamageRegion() {
+        for (int i = 0; i < MAX_RECTS; i++)
+            RECTS[i] = new Rectangle();
+    }
+
+    /**
+     * Adds an area to the region, rounding it out to whole pixels and growing it by the margin
+     *
+     * @param x      Left edge of the area
+     * @param y      Top edge of the area
+     * @param width  Width of the area
+     * @param height Height of the area
+     */
+    public void add(double x, double y, double width, double height) {
+        int minX = (int) Math.floor(x) - MARGIN;
+        int minY = (int) Math.floor(y) - MARGIN;
+        int maxX = (int) Math.ceil(x + width) + MARGIN;
+        int maxY = (int) Math.ceil(y + height) + MARGIN;
+        ADDED.setBounds(minX, minY, maxX - minX, maxY - minY);
+        add(ADDED);
+    }
+
+    /**
+     * Adds a rectangle to the region as it is, merging it with any rectangles it overlaps or touches
+     *
+     * @param area Rectangle to add, which is copied
+     */
+    public void add(Rectangle area) {
+        if (area.isEmpty())
+            return;
+        int into = -1;
+        for (int i = 0; i < m_size && into < 0; i++) {
+            if (touches(RECTS[i], area))
+                into = i;
+        }
+        if (into < 0 && m_size < MAX_RECTS) {
+            RECTS[m_size++].setBounds(area);
+            return;
+        }
+        if (into < 0)
+            into = cheapestMerge(area);
+        RECTS[into].add(area);
+
+        // the grown rectangle may now reach others, which are folded into it
+        for (int i = 0; i < m_size; i++) {
+            if (i != into && touches(RECTS[i], RECTS[into])) {
+                RECTS[into].add(RECTS[i]);
+                Rectangle last = RECTS[--m_size];
+                RECTS[m_size] = RECTS[i];
+                RECTS[i] = last;
+                if (into == m_size)
+                    into = i;
+                i = -1;
+            }
+        }
+    }
+
+    /**
+     * Adds every rectangle of another region to this region
+     *
+     * @param other Region to add
+     */
+    public void add(DamageRegion other) {
+        for (int i = 0; i < other.size(); i++)
+            add(other.get(i));
+    }
+
+    /**
+     * Empties the region
+     */
+    public void clear() {
+        m_size = 0;
+    }
+
+    /**
+     * Returns the index of the rectangle whose area grows the least when merged with a new rectangle
+     *
+     * @param area Rectangle being added
+     * @return the index of the rectangle to merge into
+     */
+    private int cheapestMerge(Rectangle area) {
+        int best = 0;
+        long bestGrowth = Long.MAX_VALUE;
+        for (int i = 0; i < m_size; i++) {
+            Rectangle r = RECTS[i];
+            long width = Math.max(r.x + r.width, area.x + area.width) - Math.min(r.x, area.x);
+            long height = Math.max(r.y + r.height, area.y + area.height) - Math.min(r.y, area.y);
+            long growth = width * height - (long) r.width * r.height;
+            if (growth < bestGrowth) {
+                bestGrowth = growth;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns true if two rectangles overlap or share an edge or false otherwise
+     *
+     * @param a First rectangle
+     * @param b Second rectangle
+     * @return true if the rectangles overlap or touch or false otherwise
+     */
+    private static boolean touches(Rectangle a, Rectangle b) {
+        return a.x <= b.x + b.width && b.x <= a.x + a.width && a.y <= b.y + b.height && b.y <= a.y + a.height;
+    }
+
+}
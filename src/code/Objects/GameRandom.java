@@ -0,0 +1,74 @@
+package Objects;
+
+import java.util.Random;
+
+/**
+ * Random number generator shared by everything in a game session. Its whole state is one long that can be read and restored, so a session can be replayed exactly from its seed or from any saved keyframe
+ *
+ * @author Salaar Mir
+ */
+public class GameRandom extends Random {
+
+    /**
+     * Amount the state advances by on every draw
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Current state of the generator
+     */
+    private long m_state;
+
+    /**
+     * Returns the current state of the generator
+     *
+     * @return the current state of the generator
+     */
+    public long getState() {
+        return m_state;
+    }
+
+    /**
+     * Restores a state previously returned by getState, so the generator continues the same sequence from that point
+     *
+     * @param state State to restore
+     */
+    public void setState(long state) {
+        m_state = state;
+    }
+
+    /**
+     * Creates the generator with the specified seed
+     *
+     * @param seed Seed of the game session
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Restarts the generator from the specified seed
+     *
+     * @param seed Seed of the game session
+     */
+    @Override
+    public void setSeed(long seed) {
+        m_state = seed;
+    }
+
+    /**
+     * Returns the next pseudo random bits, using the SplitMix64 sequence
+     *
+     * @param bits Number of random bits to return
+     * @return the next pseudo random bits
+     */
+    @Override
+    protected int next(int bits) {
+        long z = (m_state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z >>> (64 - bits));
+    }
+
+}
@@ -30,42 +30,25 @@ public class GoldBrick extends Brick {
     private static final int GOLD_STRENGTH = 5;
 
     /**
-     * Face of the brick
+     * Only instance of the gold brick type, shared by every gold brick
      */
-    private final Shape m_brickFace;
+    private static final GoldBrick GOLD_BRICK = new GoldBrick();
 
     /**
-     * Returns the face of the brick
+     * Returns the only instance of the gold brick type
      *
-     * @return the face of the brick
+     * @return the only instance of the gold brick type
      */
-    @Override
-    public Shape getBrick() {
-        return m_brickFace;
+    public static GoldBrick getGoldBrick() {
+        return GOLD_BRICK;
     }
 
 
     /**
-     * Initialises the brick to be created in the game
-     *
-     * @param point coordinates at which the brick should be drawn
-     * @param size  size the brick should be drawn
-     */
-    public GoldBrick(Point point, Dimension size) {
-        super(NAME, point, size, DEF_BORDER, DEF_INNER, GOLD_STRENGTH);
-        m_brickFace = super.getBRICKFACE();
-    }
-
-    /**
-     * Makes and returns the brick face at the position and size specified
-     *
-     * @param pos  Coordinates where the brick face should be drawn
-     * @param size Size the brick should be drawn
-     * @return the brick face shape
+     * Initialises the gold brick type
      */
-    @Override
-    protected Shape makeBrickFace(Point pos, Dimension size) {
-        return new Rectangle(pos, size);
+    private GoldBrick() {
+        super(NAME, GOLD, DEF_BORDER, DEF_INNER, GOLD_STRENGTH);
     }
 
 
@@ -0,0 +1,160 @@
+package Objects;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to read and write level packs, binary files holding the layout of many levels so they can be memory mapped at startup instead of built by code. A pack is a header, then an index with one entry per level, then for every level its brick columns followed by its grid cells worked out ahead of time
+ * <p>
+ * Header: magic (int), version (short), reserved (short), level count (int)
+ * <p>
+ * Index entry: position of the brick columns (int), brick count (int), position of the grid cells (int), size of the grid cells in bytes (int)
+ * <p>
+ * Columns: left edges, top edges, widths and heights (little endian floats), then type codes and full strengths (bytes), each one value per brick, padded to a multiple of four
+ *
+ * @author Salaar Mir
+ */
+public class LevelPack {
+
+    /**
+     * Magic number at the start of every level pack, the characters BRKL
+     */
+    public static final int MAGIC = 0x42524B4C;
+
+    /**
+     * Version of the level pack format
+     */
+    public static final short VERSION = 3;
+
+    /**
+     * Number of bytes in the header
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Number of bytes in the index entry of one level
+     */
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    /**
+     * Path the converter writes to when none is given
+     */
+    private static final String DEF_FILE = "levels.pack";
+
+    /**
+     * Memory maps a level pack and returns a template for each of its levels. The field buffers of each template and its grid cells are views straight into the mapped file, so no brick is copied
+     *
+     * @param file Path of the level pack
+     * @return the layout of every level in the pack, in order
+     * @throws IOException Exception error when the file cannot be mapped or is not a valid level pack
+     */
+    public static LevelTemplate[] read(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (data.getInt(0) != MAGIC)
+                throw new IOException("Not A Level Pack");
+            int version = data.getShort(4);
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported Level Pack Version:%d", version));
+            int levelCount = data.getInt(8);
+            if (levelCount <= 0 || HEADER_SIZE + (long) levelCount * INDEX_ENTRY_SIZE > data.capacity())
+                throw new IOException(String.format("Invalid Level Count:%d", levelCount));
+
+            LevelTemplate[] levels = new LevelTemplate[levelCount];
+            for (int i = 0; i < levelCount; i++) {
+                int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+                int bricksAt = data.getInt(entry);
+                int brickCount = data.getInt(entry + 4);
+                int cellsAt = data.getInt(entry + 8);
+                int cellsSize = data.getInt(entry + 12);
+                if (brickCount < 0)
+                    throw new IOException(String.format("Invalid Brick Count:%d", brickCount));
+                ByteBuffer columns = slice(data, bricksAt, LevelTemplate.getColumnsSize(brickCount));
+                ByteBuffer cells = (cellsSize == 0) ? null : slice(data, cellsAt, cellsSize);
+                levels[i] = new LevelTemplate(columns, brickCount, cells);
+            }
+            return levels;
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Level Pack Is Truncated", e);
+        }
+    }
+
+    /**
+     * Writes the layout of every level, together with the grid cells of each undamaged level, to a level pack
+     *
+     * @param file   Path of the level pack
+     * @param levels Layout of every level, in order
+     * @throws IOException Exception error when the file cannot be written
+     */
+    public static void write(Path file, LevelTemplate[] levels) throws IOException {
+        BrickGrid[] grids = new BrickGrid[levels.length];
+        long size = HEADER_SIZE + (long) levels.length * INDEX_ENTRY_SIZE;
+        for (int i = 0; i < levels.length; i++) {
+            grids[i] = new BrickGrid();
+            grids[i].build(new BrickField(levels[i]));
+            size += LevelTemplate.getColumnsSize(levels[i].size()) + grids[i].getCellsSize();
+        }
+        if (size > Integer.MAX_VALUE)
+            throw new IOException(String.format("Level Pack Too Large:%d", size));
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort((short) 0);
+        out.putInt(levels.length);
+
+        int at = HEADER_SIZE + levels.length * INDEX_ENTRY_SIZE;
+        for (int i = 0; i < levels.length; i++) {
+            int bricksSize = (int) LevelTemplate.getColumnsSize(levels[i].size());
+            out.putInt(at);
+            out.putInt(levels[i].size());
+            out.putInt(at + bricksSize);
+            out.putInt(grids[i].getCellsSize());
+            at += bricksSize + grids[i].getCellsSize();
+        }
+        for (int i = 0; i < levels.length; i++) {
+            levels[i].writeColumns(out);
+            grids[i].writeCells(out);
+        }
+        Files.write(file, out.array());
+    }
+
+    /**
+     * Returns a section of the mapped file, checking that it lies inside the file
+     *
+     * @param data   Mapped file
+     * @param at     Position of the section
+     * @param length Number of bytes in the section
+     * @return the section of the file
+     * @throws IOException Exception error when the section runs past the end of the file
+     */
+    private static ByteBuffer slice(ByteBuffer data, int at, long length) throws IOException {
+        if (at < 0 || length < 0 || at + length > data.capacity())
+            throw new IOException("Level Pack Is Truncated");
+        return data.slice(at, (int) length);
+    }
+
+    /**
+     * Exports the levels built into the game to a level pack
+     *
+     * @param args Optionally the path of the level pack to write
+     * @throws IOException Exception error when the level pack cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of((args.length > 0) ? args[0] : DEF_FILE);
+        LevelTemplate[] levels = Wall.makeDefaultLevels();
+        write(file, levels);
+        System.out.printf("Wrote %d levels to %s (%d bytes)%n", levels.length, file, Files.size(file));
+    }
+
+}
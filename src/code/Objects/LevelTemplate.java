@@ -0,0 +1,262 @@
+package Objects;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Class to hold the layout of a level, meaning the position, size, type and full strength of every brick, with one buffer per field so collisions and drawing walk contiguous memory. The buffers are kept in the heap, or in direct memory for huge levels so they do not grow the heap. A level pack stores the same buffers one after another as columns, so the template of a packed level is a set of views into the mapped file and nothing is copied when the pack is read. A template is never changed once it has been built, so one copy can be shared by every game session in the process, with each session keeping only its damage in a BrickField
+ *
+ * @author Salaar Mir
+ */
+public class LevelTemplate {
+
+    /**
+     * Byte order of the columns of a level pack, the order of the machines the game runs on so the float views read without swapping
+     */
+    static final ByteOrder COLUMN_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Left edge of each brick
+     */
+    private final FloatBuffer X;
+
+    /**
+     * Top edge of each brick
+     */
+    private final FloatBuffer Y;
+
+    /**
+     * Width of each brick
+     */
+    private final FloatBuffer W;
+
+    /**
+     * Height of each brick
+     */
+    private final FloatBuffer H;
+
+    /**
+     * Type code of each brick
+     */
+    private final ByteBuffer TYPE;
+
+    /**
+     * Strength of each brick before it has been hit
+     */
+    private final ByteBuffer FULL_STRENGTH;
+
+    /**
+     * Grid cells worked out ahead of time for the undamaged level in the layout BrickGrid reads, or null if the grid has to be built when the level is loaded
+     */
+    private final ByteBuffer CELLS;
+
+    /**
+     * Returns the grid cells worked out ahead of time for the undamaged level
+     *
+     * @return the grid cells, or null if there are none
+     */
+    ByteBuffer getCells() {
+        return CELLS;
+    }
+
+    /**
+     * Number of bricks in the level
+     */
+    private int m_size;
+
+    /**
+     * Returns the number of bricks in the level
+     *
+     * @return the number of bricks in the level
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * Creates an empty template able to hold the specified number of bricks, for Levels to fill
+     *
+     * @param capacity Number of bricks the template can hold
+     */
+    LevelTemplate(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates an empty template able to hold the specified number of bricks, for Levels to fill, optionally keeping the fields outside the heap
+     *
+     * @param capacity Number of bricks the template can hold
+     * @param offHeap  True to keep the fields in direct memory, so huge levels do not grow the heap
+     */
+    LevelTemplate(int capacity, boolean offHeap) {
+        this(capacity, offHeap, null);
+    }
+
+    /**
+     * Creates an empty template able to hold the specified number of bricks, with grid cells worked out ahead of time
+     *
+     * @param capacity Number of bricks the template can hold
+     * @param offHeap  True to keep the fields in direct memory
+     * @param cells    Grid cells of the undamaged level, or null if there are none
+     */
+    private LevelTemplate(int capacity, boolean offHeap, ByteBuffer cells) {
+        X = floats(capacity, offHeap);
+        Y = floats(capacity, offHeap);
+        W = floats(capacity, offHeap);
+        H = floats(capacity, offHeap);
+        TYPE = offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        FULL_STRENGTH = offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        CELLS = cells;
+    }
+
+    /**
+     * Creates a template whose fields are views into columns that have already been written, such as a section of a level pack, without copying them
+     *
+     * @param columns Left edges, top edges, widths and heights of every brick as floats, then their type codes and full strengths as bytes
+     * @param size    Number of bricks
+     * @param cells   Grid cells of the undamaged level, or null if there are none
+     */
+    LevelTemplate(ByteBuffer columns, int size, ByteBuffer cells) {
+        int floats = size * Float.BYTES;
+        X = columns.slice(0, floats).order(COLUMN_ORDER).asFloatBuffer();
+        Y = columns.slice(floats, floats).order(COLUMN_ORDER).asFloatBuffer();
+        W = columns.slice(2 * floats, floats).order(COLUMN_ORDER).asFloatBuffer();
+        H = columns.slice(3 * floats, floats).order(COLUMN_ORDER).asFloatBuffer();
+        TYPE = columns.slice(4 * floats, size);
+        FULL_STRENGTH = columns.slice(4 * floats + size, size);
+        CELLS = cells;
+        m_size = size;
+    }
+
+    /**
+     * Returns the number of bytes the columns of a level take in a level pack, padded to a multiple of four so the next section stays aligned
+     *
+     * @param size Number of bricks
+     * @return the size of the columns in bytes
+     */
+    static long getColumnsSize(int size) {
+        return (size * (4L * Float.BYTES + 2) + 3) & ~3L;
+    }
+
+    /**
+     * Returns a buffer able to hold the specified number of floats
+     *
+     * @param capacity Number of floats the buffer can hold
+     * @param offHeap  True to keep the buffer in direct memory
+     * @return the buffer
+     */
+    private static FloatBuffer floats(int capacity, boolean offHeap) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer() : FloatBuffer.allocate(capacity);
+    }
+
+    /**
+     * Adds a brick of a specified size and type at the point inputted, only while Levels is building the template
+     *
+     * @param point The coordinates of the point where the brick should be created
+     * @param size  The size of the brick
+     * @param type  The type of the brick
+     * @return the index of the new brick
+     */
+    int add(Point point, Dimension size, int type) {
+        int i = m_size++;
+        X.put(i, point.x);
+        Y.put(i, point.y);
+        W.put(i, size.width);
+        H.put(i, size.height);
+        TYPE.put(i, (byte) type);
+        FULL_STRENGTH.put(i, (byte) Brick.getBrickType(type).getFullStrength());
+        return i;
+    }
+
+    /**
+     * Returns the left edge of a brick
+     *
+     * @param i Index of the brick
+     * @return the left edge of the brick
+     */
+    public float getX(int i) {
+        return X.get(i);
+    }
+
+    /**
+     * Returns the top edge of a brick
+     *
+     * @param i Index of the brick
+     * @return the top edge of the brick
+     */
+    public float getY(int i) {
+        return Y.get(i);
+    }
+
+    /**
+     * Returns the width of a brick
+     *
+     * @param i Index of the brick
+     * @return the width of the brick
+     */
+    public float getWidth(int i) {
+        return W.get(i);
+    }
+
+    /**
+     * Returns the height of a brick
+     *
+     * @param i Index of the brick
+     * @return the height of the brick
+     */
+    public float getHeight(int i) {
+        return H.get(i);
+    }
+
+    /**
+     * Returns the type code of a brick
+     *
+     * @param i Index of the brick
+     * @return the type code of the brick
+     */
+    public int getType(int i) {
+        return TYPE.get(i);
+    }
+
+    /**
+     * Returns the strength of a brick before it has been hit
+     *
+     * @param i Index of the brick
+     * @return the full strength of the brick
+     */
+    public int getFullStrength(int i) {
+        return FULL_STRENGTH.get(i);
+    }
+
+    /**
+     * Copies the full strength of every brick into a buffer
+     *
+     * @param out Buffer with room for every brick
+     */
+    void copyFullStrengths(ByteBuffer out) {
+        for (int i = 0; i < m_size; i++)
+            out.put(i, (byte) getFullStrength(i));
+    }
+
+    /**
+     * Writes the fields of every brick as level pack columns into a buffer at its current position
+     *
+     * @param out Buffer with room for the columns
+     */
+    void writeColumns(ByteBuffer out) {
+        int at = out.position();
+        ByteBuffer columns = out.slice(at, (int) getColumnsSize(m_size)).order(COLUMN_ORDER);
+        for (int i = 0; i < m_size; i++) {
+            columns.putFloat(i * Float.BYTES, getX(i));
+            columns.putFloat((m_size + i) * Float.BYTES, getY(i));
+            columns.putFloat((2 * m_size + i) * Float.BYTES, getWidth(i));
+            columns.putFloat((3 * m_size + i) * Float.BYTES, getHeight(i));
+            columns.put(4 * m_size * Float.BYTES + i, (byte) getType(i));
+            columns.put(4 * m_size * Float.BYTES + m_size + i, (byte) getFullStrength(i));
+        }
+        out.position(at + columns.capacity());
+    }
+
+}
@@ -17,9 +17,9 @@ public class Levels {
      * @param lineCnt        The number of lines to be filled with bricks
      * @param brickSizeRatio Length of bricks height compared to its width
      * @param type           The type of brick to draw
-     * @return an array of bricks that will be drawn onto the game board
+     * @return the layout of the bricks that will be drawn onto the game board
      */
-    public static Brick[] makeSingleTypeLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int type) {
+    public static LevelTemplate makeSingleTypeLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int type) {
         // if brickCount is not divisible by line count,brickCount is adjusted to the biggest multiple of lineCount smaller then brickCount
         brickCnt -= brickCnt % lineCnt;
 
@@ -30,13 +30,13 @@ public class Levels {
 
         brickCnt += lineCnt / 2;
 
-        Brick[] tmp = new Brick[brickCnt];
+        LevelTemplate tmp = new LevelTemplate(brickCnt);
 
         Dimension brickSize = new Dimension((int) brickLen, (int) brickHgt);
         Point p = new Point();
 
         int i;
-        for (i = 0; i < tmp.length; i++) {
+        for (i = 0; i < brickCnt; i++) {
             int line = i / brickOnLine;
             if (line == lineCnt)
                 break;
@@ -44,13 +44,13 @@ public class Levels {
             x = (line % 2 == 0) ? x : (x - (brickLen / 2));
             double y = (line) * brickHgt;
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, type);
+            tmp.add(p, brickSize, type);
         }
 
-        for (double y = brickHgt; i < tmp.length; i++, y += 2 * brickHgt) {
+        for (double y = brickHgt; i < brickCnt; i++, y += 2 * brickHgt) {
             double x = (brickOnLine * brickLen) - (brickLen / 2);
             p.setLocation(x, y);
-            tmp[i] = new ClayBrick(p, brickSize);
+            tmp.add(p, brickSize, Brick.CLAY);
         }
         return tmp;
 
@@ -65,9 +65,9 @@ public class Levels {
      * @param brickSizeRatio Length of bricks height compared to its width
      * @param typeA          First type of brick to draw
      * @param typeB          Second type of brick to draw
-     * @return an array of bricks that will be drawn onto the game board
+     * @return the layout of the bricks that will be drawn onto the game board
      */
-    public static Brick[] makeChessboardLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB) {
+    public static LevelTemplate makeChessboardLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB) {
         // if brickCount is not divisible by line count, brickCount is adjusted to the biggest multiple of lineCount smaller then brickCount
         brickCnt -= brickCnt % lineCnt;
 
@@ -81,13 +81,13 @@ public class Levels {
 
         brickCnt += lineCnt / 2;
 
-        Brick[] tmp = new Brick[brickCnt];
+        LevelTemplate tmp = new LevelTemplate(brickCnt);
 
         Dimension brickSize = new Dimension((int) brickLen, (int) brickHgt);
         Point p = new Point();
 
         int i;
-        for (i = 0; i < tmp.length; i++) {
+        for (i = 0; i < brickCnt; i++) {
             int line = i / brickOnLine;
             if (line == lineCnt)
                 break;
@@ -98,13 +98,13 @@ public class Levels {
             p.setLocation(x, y);
 
             boolean b = ((line % 2 == 0 && i % 2 == 0) || (line % 2 != 0 && posX > centerLeft && posX <= centerRight));
-            tmp[i] = b ? Wall.makeBrick(p, brickSize, typeA) : Wall.makeBrick(p, brickSize, typeB);
+            tmp.add(p, brickSize, b ? typeA : typeB);
         }
 
-        for (double y = brickHgt; i < tmp.length; i++, y += 2 * brickHgt) {
+        for (double y = brickHgt; i < brickCnt; i++, y += 2 * brickHgt) {
             double x = (brickOnLine * brickLen) - (brickLen / 2);
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, typeA);
+            tmp.add(p, brickSize, typeA);
         }
         return tmp;
     }
@@ -119,9 +119,9 @@ public class Levels {
      * @param typeA          First type of brick to draw
      * @param typeB          Second type of brick to draw
      * @param typeC          Third type of brick to draw
-     * @return an array of bricks that will be drawn onto the game board
+     * @return the layout of the bricks that will be drawn onto the game board
      */
-    public static Brick[] makeColumnLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB, int typeC) {
+    public static LevelTemplate makeColumnLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB, int typeC) {
         // if brickCount is not divisible by line count,brickCount is adjusted to the biggest multiple of lineCount smaller then brickCount
         brickCnt -= brickCnt % lineCnt;
 
@@ -132,13 +132,13 @@ public class Levels {
 
         brickCnt += lineCnt / 2;
 
-        Brick[] tmp = new Brick[brickCnt];
+        LevelTemplate tmp = new LevelTemplate(brickCnt);
 
         Dimension brickSize = new Dimension((int) brickLen, (int) brickHgt);
         Point p = new Point();
 
         int i;
-        for (i = 0; i < tmp.length; i++) {
+        for (i = 0; i < brickCnt; i++) {
             int line = i / brickOnLine;
             if (line == lineCnt)
                 break;
@@ -148,17 +148,17 @@ public class Levels {
             p.setLocation(x, y);
 
             if (i == 2 || i == 5 || i == 8 || i == 12 || i == 15 || i == 18 || i == 22 || i == 25 || i == 28)
-                tmp[i] = Wall.makeBrick(p, brickSize, typeC);
+                tmp.add(p, brickSize, typeC);
             else if (i == 1 || i == 4 || i == 7 || i == 11 || i == 14 || i == 17 || i == 21 || i == 24 || i == 27)
-                tmp[i] = Wall.makeBrick(p, brickSize, typeB);
+                tmp.add(p, brickSize, typeB);
             else
-                tmp[i] = Wall.makeBrick(p, brickSize, typeA);
+                tmp.add(p, brickSize, typeA);
         }
 
-        for (double y = brickHgt; i < tmp.length; i++, y += 2 * brickHgt) {
+        for (double y = brickHgt; i < brickCnt; i++, y += 2 * brickHgt) {
             double x = (brickOnLine * brickLen) - (brickLen / 2);
             p.setLocation(x, y);
-            tmp[i] = new ClayBrick(p, brickSize);
+            tmp.add(p, brickSize, Brick.CLAY);
         }
         return tmp;
 
@@ -174,9 +174,9 @@ public class Levels {
      * @param typeA          First type of brick to draw
      * @param typeB          Second type of brick to draw
      * @param typeC          Third type of brick to draw
-     * @return an array of bricks that will be drawn onto the game board
+     * @return the layout of the bricks that will be drawn onto the game board
      */
-    public static Brick[] makeFinalLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB, int typeC) {
+    public static LevelTemplate makeFinalLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, int typeA, int typeB, int typeC) {
         // if brickCount is not divisible by line count,brickCount is adjusted to the biggest multiple of lineCount smaller then brickCount
         brickCnt -= brickCnt % lineCnt;
 
@@ -187,7 +187,7 @@ public class Levels {
 
         brickCnt += lineCnt / 2;
 
-        Brick[] tmp = new Brick[brickCnt];
+        LevelTemplate tmp = new LevelTemplate(brickCnt);
 
         Dimension brickSize = new Dimension((int) brickLen, (int) brickHgt);
         Point p = new Point();
@@ -201,7 +201,7 @@ public class Levels {
             x = (line % 2 == 0) ? x : (x - (brickLen / 2));
             double y = (line) * brickHgt;
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, typeB);
+            tmp.add(p, brickSize, typeB);
         }
         for (i = 10; i <= 19; i++) {
             int line = i / brickOnLine;
@@ -211,7 +211,7 @@ public class Levels {
             x = (line % 2 == 0) ? x : (x - (brickLen / 2));
             double y = (line) * brickHgt;
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, typeA);
+            tmp.add(p, brickSize, typeA);
         }
         for (i = 20; i <= 29; i++) {
             int line = i / brickOnLine;
@@ -221,9 +221,9 @@ public class Levels {
             x = (line % 2 == 0) ? x : (x - (brickLen / 2));
             double y = (line) * brickHgt;
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, typeC);
+            tmp.add(p, brickSize, typeC);
         }
-        for (i = 30; i < tmp.length; i++) {
+        for (i = 30; i < brickCnt; i++) {
             int line = i / brickOnLine;
             if (line == lineCnt)
                 break;
@@ -231,17 +231,51 @@ public class Levels {
             x = (line % 2 == 0) ? x : (x - (brickLen / 2));
             double y = (line) * brickHgt;
             p.setLocation(x, y);
-            tmp[i] = Wall.makeBrick(p, brickSize, typeA);
+            tmp.add(p, brickSize, typeA);
         }
 
-        for (double y = brickHgt; i < tmp.length; i++, y += 2 * brickHgt) {
+        for (double y = brickHgt; i < brickCnt; i++, y += 2 * brickHgt) {
             double x = (brickOnLine * brickLen) - (brickLen / 2);
             p.setLocation(x, y);
-            tmp[i] = new ClayBrick(p, brickSize);
+            tmp.add(p, brickSize, Brick.CLAY);
         }
         return tmp;
 
     }
 
+    /**
+     * Creates a stress test level of any size where the lines are filled edge to edge with bricks of random types, keeping the layout in direct memory so even millions of bricks do not grow the heap
+     *
+     * @param drawArea       The rectangular area where the bricks should be drawn
+     * @param brickCnt       The number of bricks to draw
+     * @param lineCnt        The number of lines to be filled with bricks
+     * @param brickSizeRatio Length of bricks height compared to its width
+     * @param seed           Seed of the random number generator picking the type of each brick
+     * @return the layout of the bricks that will be drawn onto the game board
+     */
+    public static LevelTemplate makeStressLevel(Rectangle drawArea, int brickCnt, int lineCnt, double brickSizeRatio, long seed) {
+        // if brickCount is not divisible by line count,brickCount is adjusted to the biggest multiple of lineCount smaller then brickCount
+        brickCnt -= brickCnt % lineCnt;
+
+        int brickOnLine = brickCnt / lineCnt;
+
+        double brickLen = drawArea.getWidth() / brickOnLine;
+        double brickHgt = brickLen / brickSizeRatio;
+
+        LevelTemplate tmp = new LevelTemplate(brickCnt, true);
+
+        Dimension brickSize = new Dimension((int) brickLen, (int) brickHgt);
+        Point p = new Point();
+        GameRandom rnd = new GameRandom(seed);
+        int[] types = {Brick.CLAY, Brick.CEMENT, Brick.STEEL};
+
+        for (int i = 0; i < brickCnt; i++) {
+            double x = drawArea.getX() + (i % brickOnLine) * brickLen;
+            double y = drawArea.getY() + (i / brickOnLine) * brickHgt;
+            p.setLocation(x, y);
+            tmp.add(p, brickSize, types[rnd.nextInt(types.length)]);
+        }
+        return tmp;
+    }
 
 }
@@ -1,6 +1,9 @@
 package Objects;
 
 import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Class to create the paddle that the user can control
@@ -38,9 +41,9 @@ public class Paddle {
     }
 
     /**
-     * Constant amount the paddle can move in each direction
+     * Constant speed the paddle can move in each direction in units per second
      */
-    private static final int DEF_MOVE_AMOUNT = 5;
+    private static final int DEF_MOVE_SPEED = 500;
 
     /**
      * Width of the paddle
@@ -62,7 +65,7 @@ public class Paddle {
      *
      * @return the shape of the paddle face
      */
-    public Shape getPaddleFace() {
+    public Rectangle getPaddleFace() {
         return PADDLEFACE;
     }
 
@@ -81,9 +84,29 @@ public class Paddle {
     }
 
     /**
-     * Changeable variable to adjust the paddle movement
+     * Horizontal position of the paddle center, kept separately from the integer paddle face so slow steps are not lost to rounding
      */
-    private int m_moveAmount;
+    private double m_x;
+
+    /**
+     * Horizontal position of the paddle center before the last simulation step, used to interpolate rendering
+     */
+    private double m_prevX;
+
+    /**
+     * Returns the horizontal offset of the paddle between the previous and current simulation steps at the given fraction
+     *
+     * @param alpha Fraction of a simulation step between the previous and current positions
+     * @return the horizontal offset from the current paddle face to the interpolated position
+     */
+    public double getInterpolationOffset(double alpha) {
+        return (m_prevX - m_x) * (1 - alpha);
+    }
+
+    /**
+     * Changeable variable to adjust the paddle movement in units per second
+     */
+    private int m_moveSpeed;
 
     /**
      * Minimum length the paddle can be moved to
@@ -98,7 +121,7 @@ public class Paddle {
     /**
      * Only instance of the paddle class to be used in the entire project
      */
-    private static final Paddle PADDLE = new Paddle(new Point(300, 430), 150, 10, new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT));
+    private static final Paddle PADDLE = new Paddle();
 
     /**
      * Returns the only instance of the paddle object
@@ -109,6 +132,27 @@ public class Paddle {
         return PADDLE;
     }
 
+    /**
+     * Distance from the bottom of the board to the top of the paddle
+     */
+    private static final int DEF_BOTTOM_GAP = 20;
+
+    /**
+     * Creates a paddle of the default size at the default start point
+     */
+    public Paddle() {
+        this(new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT));
+    }
+
+    /**
+     * Creates a paddle of the default size in the middle of the bottom of a board of any size
+     *
+     * @param container Rectangular space that will contain the paddle
+     */
+    public Paddle(Rectangle container) {
+        this(new Point((int) container.getCenterX(), (int) container.getMaxY() - DEF_BOTTOM_GAP), 150, 10, container);
+    }
+
     /**
      * Creates paddle object for player to be able to move
      *
@@ -119,7 +163,8 @@ public class Paddle {
      */
     private Paddle(Point ballPoint, int width, int height, Rectangle container) {
         this.setBallPoint(ballPoint);
-        m_moveAmount = 0;
+        m_moveSpeed = 0;
+        m_x = m_prevX = ballPoint.getX();
         PADDLEFACE = makeRectangle(width, height);
         MIN = container.x + (width / 2);
         MAX = MIN + container.width - width;
@@ -149,13 +194,17 @@ public class Paddle {
 
     /**
      * Moves paddle horizontally left or right based on users input
+     *
+     * @param seconds Length of the simulation step in seconds
      */
-    public void move() {
+    public void move(double seconds) {
 
         int paddleWithDivider = 2;
-        double x = m_ballPoint.getX() + m_moveAmount;
-        if (x < MIN || x > MAX)
+        m_prevX = m_x;
+        double x = Math.max(MIN, Math.min(MAX, m_x + m_moveSpeed * seconds));
+        if (x == m_x)
             return;
+        m_x = x;
         m_ballPoint.setLocation(x, m_ballPoint.getY());
         PADDLEFACE.setLocation(m_ballPoint.x - (int) PADDLEFACE.getWidth() / paddleWithDivider, m_ballPoint.y);
     }
@@ -164,21 +213,21 @@ public class Paddle {
      * Moves the paddle left
      */
     public void moveLeft() {
-        m_moveAmount = -DEF_MOVE_AMOUNT;
+        m_moveSpeed = -DEF_MOVE_SPEED;
     }
 
     /**
      * Moves the paddle right
      */
     public void movRight() {
-        m_moveAmount = DEF_MOVE_AMOUNT;
+        m_moveSpeed = DEF_MOVE_SPEED;
     }
 
     /**
      * Stops paddle movement
      */
     public void stop() {
-        m_moveAmount = 0;
+        m_moveSpeed = 0;
     }
 
     /**
@@ -188,8 +237,34 @@ public class Paddle {
      */
     public void moveTo(Point p) {
         m_ballPoint.setLocation(p);
+        m_x = m_prevX = p.getX();
         PADDLEFACE.setLocation(m_ballPoint.x - (int) PADDLEFACE.getWidth() / 2, m_ballPoint.y);
     }
 
+    /**
+     * Writes the position and movement of the paddle
+     *
+     * @param out Output to write the paddle to
+     * @throws IOException Exception error when the paddle cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeDouble(m_x);
+        out.writeDouble(m_prevX);
+        out.writeInt(m_moveSpeed);
+    }
+
+    /**
+     * Restores the position and movement of the paddle from a state written by writeState
+     *
+     * @param in Input to read the paddle from
+     * @throws IOException Exception error when the paddle cannot be read
+     */
+    public void readState(DataInput in) throws IOException {
+        m_x = in.readDouble();
+        m_prevX = in.readDouble();
+        m_moveSpeed = in.readInt();
+        m_ballPoint.setLocation(m_x, m_ballPoint.getY());
+        PADDLEFACE.setLocation(m_ballPoint.x - (int) PADDLEFACE.getWidth() / 2, m_ballPoint.y);
+    }
 
 }
@@ -0,0 +1,118 @@
+package Objects;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to pass the sound effects the game triggers to the thread that plays them, without locks or allocation. The game thread writes each effect into a ring and the audio thread reads it out, each moving only its own end of the ring, so neither ever waits for the other. If the audio thread falls behind and the ring fills, new effects are dropped rather than holding up the game
+ *
+ * @author Salaar Mir
+ */
+public class SoundQueue {
+
+    /**
+     * Effect played when a ball hits a brick without breaking it
+     */
+    public static final int BRICK_HIT = 0;
+
+    /**
+     * Effect played when a ball breaks a brick
+     */
+    public static final int BRICK_BREAK = 1;
+
+    /**
+     * Effect played when a ball bounces off the paddle
+     */
+    public static final int PADDLE_HIT = 2;
+
+    /**
+     * Effect played when a ball bounces off a border of the game board
+     */
+    public static final int BORDER_HIT = 3;
+
+    /**
+     * Number of different effects
+     */
+    public static final int EFFECT_COUNT = 4;
+
+    /**
+     * Value returned by poll when no effect is waiting
+     */
+    public static final int EMPTY = -1;
+
+    /**
+     * Number of effects the ring holds, a power of two
+     */
+    private static final int CAPACITY = 256;
+
+    /**
+     * Number of steps the stereo position of an effect is stored in, from fully left to fully right
+     */
+    private static final int PAN_STEPS = 255;
+
+    /**
+     * Effects in the ring, each packed with its stereo position above the effect in the low byte
+     */
+    private final int[] EFFECTS = new int[CAPACITY];
+
+    /**
+     * Number of effects read so far, only moved by the audio thread
+     */
+    private final AtomicLong HEAD = new AtomicLong();
+
+    /**
+     * Number of effects written so far, only moved by the game thread
+     */
+    private final AtomicLong TAIL = new AtomicLong();
+
+    /**
+     * Queues an effect to be played, dropping it if the ring is full. Only one thread may queue effects at a time
+     *
+     * @param effect Effect to play
+     * @param pan    Stereo position of the effect, from 0 for fully left to 1 for fully right
+     * @return true if the effect was queued or false if it was dropped
+     */
+    public boolean offer(int effect, double pan) {
+        long tail = TAIL.get();
+        if (tail - HEAD.get() >= CAPACITY)
+            return false;
+        int step = (int) Math.round(Math.max(0, Math.min(1, pan)) * PAN_STEPS);
+        EFFECTS[(int) tail & (CAPACITY - 1)] = (step << 8) | effect;
+        TAIL.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * Takes the next queued effect. Only one thread may take effects
+     *
+     * @return the next effect packed with its stereo position, or EMPTY if none is waiting
+     */
+    public int poll() {
+        long head = HEAD.get();
+        if (head == TAIL.get())
+            return EMPTY;
+        int packed = EFFECTS[(int) head & (CAPACITY - 1)];
+        HEAD.lazySet(head + 1);
+        return packed;
+    }
+
+    /**
+     * Returns the effect of a value taken from the queue
+     *
+     * @param packed Value returned by poll
+     * @return the effect
+     */
+    public static int getEffect(int packed) {
+        return packed & 0xFF;
+    }
+
+    /**
+     * Returns the stereo position of a value taken from the queue
+     *
+     * @param packed Value returned by poll
+     * @return the stereo position, from 0 for fully left to 1 for fully right
+     */
+    public static double getPan(int packed) {
+        return (double) (packed >>> 8) / PAN_STEPS;
+    }
+
+}
@@ -36,57 +36,35 @@ public class SteelBrick extends Brick {
     private static final double STEEL_PROBABILITY = 0.4;
 
     /**
-     * Random number
+     * Only instance of the steel brick type, shared by every steel brick
      */
-    private final Random m_rnd;
+    private static final SteelBrick STEEL_BRICK = new SteelBrick();
 
     /**
-     * Face of the brick
-     */
-    private final Shape m_brickFace;
-
-    /**
-     * Returns the face of the brick
+     * Returns the only instance of the steel brick type
      *
-     * @return the face of the brick
+     * @return the only instance of the steel brick type
      */
-    @Override
-    public Shape getBrick() {
-        return m_brickFace;
+    public static SteelBrick getSteelBrick() {
+        return STEEL_BRICK;
     }
 
     /**
-     * Initialises the brick to be created in the game
-     *
-     * @param point coordinates at which the brick should be drawn
-     * @param size  size the brick should be drawn
+     * Initialises the steel brick type
      */
-    public SteelBrick(Point point, Dimension size) {
-        super(NAME, point, size, DEF_BORDER, DEF_INNER, STEEL_STRENGTH);
-        m_rnd = new Random();
-        m_brickFace = super.getBRICKFACE();
+    private SteelBrick() {
+        super(NAME, STEEL, DEF_BORDER, DEF_INNER, STEEL_STRENGTH);
     }
 
     /**
-     * Makes and returns the brick face at the position and size specified
+     * Returns true if the randomly generated number is less than the STEEL_PROBABILITY so the ball makes an impact on the brick
      *
-     * @param pos  Coordinates where the brick face should be drawn
-     * @param size Size the brick should be drawn
-     * @return the brick face shape
-     */
-    @Override
-    protected Shape makeBrickFace(Point pos, Dimension size) {
-        return new Rectangle(pos, size);
-    }
-
-    /**
-     * Cause the ball to make an impact on the brick if the randomly generated number is less than the STEEL_PROBABILITY
+     * @param rnd Random number generator of the game
+     * @return true if the hit counts against the brick's strength or false otherwise
      */
     @Override
-    public void impact() {
-        if (m_rnd.nextDouble() < STEEL_PROBABILITY) {
-            super.impact();
-        }
+    public boolean takesHit(Random rnd) {
+        return rnd.nextDouble() < STEEL_PROBABILITY;
     }
 
 }
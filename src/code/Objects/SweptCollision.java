@@ -0,0 +1,204 @@
+package Objects;
+
+/**
+ * Class to find when a moving ball first touches a rectangle during a step, so fast balls cannot pass through thin bricks between ticks
+ *
+ * @author Salaar Mir
+ */
+public class SweptCollision {
+
+    /**
+     * Value returned when the ball does not touch the rectangle during the step
+     */
+    public static final double NO_HIT = Double.POSITIVE_INFINITY;
+
+    /**
+     * Horizontal part of the contact normal found by the last sweep
+     */
+    private double m_normalX;
+
+    /**
+     * Returns the horizontal part of the contact normal found by the last successful sweep
+     *
+     * @return the horizontal part of the contact normal
+     */
+    public double getNormalX() {
+        return m_normalX;
+    }
+
+    /**
+     * Vertical part of the contact normal found by the last sweep
+     */
+    private double m_normalY;
+
+    /**
+     * Returns the vertical part of the contact normal found by the last successful sweep
+     *
+     * @return the vertical part of the contact normal
+     */
+    public double getNormalY() {
+        return m_normalY;
+    }
+
+    /**
+     * Normal of the face found by the last slab test
+     */
+    private double m_slabNormalX, m_slabNormalY;
+
+    /**
+     * Sweeps a ball along a straight line against a rectangle and returns the fraction of the line travelled before they first touch
+     *
+     * @param x      Horizontal coordinate of the ball center at the start of the step
+     * @param y      Vertical coordinate of the ball center at the start of the step
+     * @param dx     Horizontal distance the ball travels during the step
+     * @param dy     Vertical distance the ball travels during the step
+     * @param radius Radius of the ball
+     * @param left   Left edge of the rectangle
+     * @param top    Top edge of the rectangle
+     * @param right  Right edge of the rectangle
+     * @param bottom Bottom edge of the rectangle
+     * @return the time of impact between 0 and 1, or NO_HIT if the ball does not touch the rectangle while moving towards it
+     */
+    public double sweep(double x, double y, double dx, double dy, double radius, double left, double top, double right, double bottom) {
+
+        // a ball already overlapping the rectangle is pushed out through the closest face, unless it is already leaving
+        if (x > left - radius && x < right + radius && y > top - radius && y < bottom + radius
+                && (x >= left && x <= right || y >= top && y <= bottom || inCorner(x, y, radius, left, top, right, bottom))) {
+            double pl = x - (left - radius);
+            double pr = (right + radius) - x;
+            double pt = y - (top - radius);
+            double pb = (bottom + radius) - y;
+            double min = Math.min(Math.min(pl, pr), Math.min(pt, pb));
+            double nx = (min == pl) ? -1 : (min == pr) ? 1 : 0;
+            double ny = (nx != 0) ? 0 : (min == pt) ? -1 : 1;
+            if (dx * nx + dy * ny >= 0)
+                return NO_HIT;
+            m_normalX = nx;
+            m_normalY = ny;
+            return 0;
+        }
+
+        // the area the ball center cannot enter is the rectangle grown by the radius with rounded corners
+        double best = NO_HIT;
+        double t = slab(x, y, dx, dy, left - radius, top, right + radius, bottom);
+        if (t < best) {
+            best = t;
+            m_normalX = m_slabNormalX;
+            m_normalY = m_slabNormalY;
+        }
+        t = slab(x, y, dx, dy, left, top - radius, right, bottom + radius);
+        if (t < best) {
+            best = t;
+            m_normalX = m_slabNormalX;
+            m_normalY = m_slabNormalY;
+        }
+        best = corner(x, y, dx, dy, radius, left, top, best);
+        best = corner(x, y, dx, dy, radius, right, top, best);
+        best = corner(x, y, dx, dy, radius, left, bottom, best);
+        best = corner(x, y, dx, dy, radius, right, bottom, best);
+        return best;
+    }
+
+    /**
+     * Returns true if the point lies within the radius of one of the rectangle's corners
+     *
+     * @param x      Horizontal coordinate of the point
+     * @param y      Vertical coordinate of the point
+     * @param radius Radius of the ball
+     * @param left   Left edge of the rectangle
+     * @param top    Top edge of the rectangle
+     * @param right  Right edge of the rectangle
+     * @param bottom Bottom edge of the rectangle
+     * @return true if the point lies within the radius of a corner or false otherwise
+     */
+    private boolean inCorner(double x, double y, double radius, double left, double top, double right, double bottom) {
+        double cx = (x < left) ? left : right;
+        double cy = (y < top) ? top : bottom;
+        double ox = x - cx;
+        double oy = y - cy;
+        return ox * ox + oy * oy < radius * radius;
+    }
+
+    /**
+     * Returns the time a point moving along a line enters a rectangle, remembering the normal of the face it enters through
+     *
+     * @param x      Horizontal start of the line
+     * @param y      Vertical start of the line
+     * @param dx     Horizontal length of the line
+     * @param dy     Vertical length of the line
+     * @param left   Left edge of the rectangle
+     * @param top    Top edge of the rectangle
+     * @param right  Right edge of the rectangle
+     * @param bottom Bottom edge of the rectangle
+     * @return the time of entry between 0 and 1, or NO_HIT if the line does not enter the rectangle
+     */
+    private double slab(double x, double y, double dx, double dy, double left, double top, double right, double bottom) {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+        double nx = 0, ny = 0;
+
+        if (dx == 0) {
+            if (x <= left || x >= right)
+                return NO_HIT;
+        } else {
+            double t1 = (left - x) / dx;
+            double t2 = (right - x) / dx;
+            enter = Math.min(t1, t2);
+            exit = Math.max(t1, t2);
+            nx = (dx > 0) ? -1 : 1;
+        }
+
+        if (dy == 0) {
+            if (y <= top || y >= bottom)
+                return NO_HIT;
+        } else {
+            double t1 = (top - y) / dy;
+            double t2 = (bottom - y) / dy;
+            double near = Math.min(t1, t2);
+            if (near > enter) {
+                enter = near;
+                nx = 0;
+                ny = (dy > 0) ? -1 : 1;
+            }
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        if (enter > exit || enter < 0 || enter > 1)
+            return NO_HIT;
+        m_slabNormalX = nx;
+        m_slabNormalY = ny;
+        return enter;
+    }
+
+    /**
+     * Sweeps the ball center against the circle around a rectangle corner and keeps the earlier of that hit and the best hit so far
+     *
+     * @param x      Horizontal coordinate of the ball center at the start of the step
+     * @param y      Vertical coordinate of the ball center at the start of the step
+     * @param dx     Horizontal distance the ball travels during the step
+     * @param dy     Vertical distance the ball travels during the step
+     * @param radius Radius of the ball
+     * @param cx     Horizontal coordinate of the corner
+     * @param cy     Vertical coordinate of the corner
+     * @param best   Earliest time of impact found so far
+     * @return the earlier of the corner hit and the best hit so far
+     */
+    private double corner(double x, double y, double dx, double dy, double radius, double cx, double cy, double best) {
+        double mx = x - cx;
+        double my = y - cy;
+        double a = dx * dx + dy * dy;
+        if (a == 0)
+            return best;
+        double b = mx * dx + my * dy;
+        double c = mx * mx + my * my - radius * radius;
+        double disc = b * b - a * c;
+        if (b >= 0 || disc < 0)
+            return best;
+        double t = (-b - Math.sqrt(disc)) / a;
+        if (t < 0 || t > 1 || t >= best)
+            return best;
+        m_normalX = (mx + dx * t) / radius;
+        m_normalY = (my + dy * t) / radius;
+        return t;
+    }
+}
@@ -2,7 +2,13 @@ package Objects;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class to create the wall of bricks that will need to be destroyed in each level
@@ -12,45 +18,93 @@ import java.util.Random;
 public class Wall {
 
     /**
-     * Clay brick type
+     * Width of the board the user will play on
      */
-    private static final int CLAY = 1;
+    private static final int DEF_WIDTH = 600;
 
     /**
-     * Steel brick type
+     * Height of the board the user will play on
      */
-    private static final int STEEL = 2;
+    private static final int DEF_HEIGHT = 450;
 
     /**
-     * Cement brick type
+     * Layouts of the levels built so far, keyed by the board area and brick settings they were built for, so every wall with the same settings shares one copy
      */
-    private static final int CEMENT = 3;
+    private static final Map<String, LevelTemplate[]> TEMPLATES = new ConcurrentHashMap<>();
 
     /**
-     * Gold brick type
+     * Random number generator of the game session, used for the ball speeds and every brick
      */
-    private static final int GOLD = 4;
+    private final GameRandom RND;
 
     /**
-     * Width of the board the user will play on
+     * Seed the random number generator of the game session was started from
      */
-    private static final int DEF_WIDTH = 600;
+    private long m_seed;
 
     /**
-     * Height of the board the user will play on
+     * Returns the seed the random number generator of the game session was started from
+     *
+     * @return the seed of the game session
      */
-    private static final int DEF_HEIGHT = 450;
+    public long getSeed() {
+        return m_seed;
+    }
 
     /**
-     * Random speed of the ball to be set
+     * Restarts the random number generator of the game session from the specified seed
+     *
+     * @param seed Seed of the game session
+     */
+    public void setSeed(long seed) {
+        m_seed = seed;
+        RND.setSeed(seed);
+    }
+
+    /**
+     * Result of a step in which play simply carried on
      */
-    private final Random RND;
+    public static final int PLAYING = 0;
+
+    /**
+     * Result of a step in which the last ball in play was lost but the player has balls left
+     */
+    public static final int BALL_LOST = 1;
+
+    /**
+     * Result of a step in which the player lost their last ball
+     */
+    public static final int GAME_OVER = 2;
+
+    /**
+     * Result of a step in which the level was cleared and the next level loaded
+     */
+    public static final int LEVEL_CLEARED = 3;
+
+    /**
+     * Result of a step in which the final level was cleared
+     */
+    public static final int GAME_WON = 4;
+
+    /**
+     * Bonus points awarded for each level completed and each ball left at the end of the game
+     */
+    private static final int EXTRA_POINTS = 100;
 
     /**
      * Area of the board the user will play on
      */
     private Rectangle m_area;
 
+    /**
+     * Returns the area of the board the game is played on
+     *
+     * @return the area of the board the game is played on
+     */
+    public Rectangle getArea() {
+        return m_area;
+    }
+
     /**
      * Set new area of the board for the game to be played on
      *
@@ -61,21 +115,104 @@ public class Wall {
     }
 
     /**
-     * Array of bricks to be drawn
+     * Field of bricks to be drawn
      */
-    private Brick[] m_bricks;
+    private BrickField m_bricks;
 
     /**
-     * Returns the array of bricks to be drawn
+     * Returns the field of bricks to be drawn
      *
-     * @return the array of bricks to be drawn
+     * @return the field of bricks to be drawn
      */
-    public Brick[] getBricks() {
+    public BrickField getBricks() {
         return this.m_bricks;
     }
 
     /**
-     * The ball that is being used
+     * Region the bounds of every brick cracked or broken are added to, or null if nothing is listening for changes to the bricks
+     */
+    private DamageRegion m_damage;
+
+    /**
+     * Set the region the bounds of every brick cracked or broken are added to, so a view can draw only the bricks that changed
+     *
+     * @param damage Region to add to, or null to stop adding
+     */
+    public void setDamageRegion(DamageRegion damage) {
+        this.m_damage = damage;
+    }
+
+    /**
+     * Queue the sound effects of impacts are written to, or null if nothing is playing them
+     */
+    private SoundQueue m_sounds;
+
+    /**
+     * Set the queue the sound effects of impacts are written to, so they can be played without holding up the game
+     *
+     * @param sounds Queue to write to, or null to stop writing
+     */
+    public void setSoundQueue(SoundQueue sounds) {
+        this.m_sounds = sounds;
+    }
+
+    /**
+     * Uniform grid over the bricks of the current level, used to find the bricks close to the ball
+     */
+    private final BrickGrid GRID = new BrickGrid();
+
+    /**
+     * Reusable array to hold the indices of the bricks close to a ball
+     */
+    private int[] m_candidates = new int[0];
+
+    /**
+     * Angle in radians between the balls made when a ball is split for multiball
+     */
+    private static final double MULTIBALL_SPREAD = Math.toRadians(15);
+
+    /**
+     * Most bounces a ball can make within a single sub-step
+     */
+    private static final int MAX_BOUNCES = 4;
+
+    /**
+     * Value returned when a ball touches nothing during a sub-step
+     */
+    private static final int NO_IMPACT = -1;
+
+    /**
+     * Value returned when a ball touches the paddle first during a sub-step
+     */
+    private static final int PADDLE_IMPACT = -2;
+
+    /**
+     * Swept collision test shared by every impact check
+     */
+    private final SweptCollision SWEEP = new SweptCollision();
+
+    /**
+     * Time of the earliest impact found during the current sub-step
+     */
+    private double m_impactTime;
+
+    /**
+     * Contact normal of the earliest impact found during the current sub-step
+     */
+    private double m_impactNormalX, m_impactNormalY;
+
+    /**
+     * Reusable point where a ball touched a brick
+     */
+    private final Point2D CONTACT = new Point2D.Double();
+
+    /**
+     * Longest distance a ball may travel in one sub-step, half the thickness of the thinnest brick or the paddle
+     */
+    private double m_maxStep = Double.POSITIVE_INFINITY;
+
+    /**
+     * The ball that is being used, kept in step with the first ball in play and used for the look of every ball
      */
     private Ball m_ball;
 
@@ -88,21 +225,90 @@ public class Wall {
         return m_ball;
     }
 
+    /**
+     * Positions and velocities of every ball in play
+     */
+    private BallBatch m_balls;
+
+    /**
+     * Returns the positions and velocities of every ball in play
+     *
+     * @return every ball in play
+     */
+    public BallBatch getBalls() {
+        return m_balls;
+    }
+
     /**
      * The paddle being used by the player
      */
     private final Paddle PLAYER;
 
     /**
-     * Array of bricks in each of the levels the user will play
+     * Returns the paddle being used by the player
+     *
+     * @return the paddle being used by the player
      */
-    private final Brick[][] LEVELS;
+    public Paddle getPaddle() {
+        return PLAYER;
+    }
+
+    /**
+     * Damage done in this game session to each of the levels the user will play, over the shared level layouts
+     */
+    private final BrickField[] LEVELS;
 
     /**
      * Current level of the game the user is on
      */
     private int m_level;
 
+    /**
+     * Returns the current level of the game, starting from 1
+     *
+     * @return the current level of the game
+     */
+    public int getLevel() {
+        return m_level;
+    }
+
+    /**
+     * Returns the number of levels in the game
+     *
+     * @return the number of levels in the game
+     */
+    public int getLevelCount() {
+        return LEVELS.length;
+    }
+
+    /**
+     * Points awarded for each brick broken
+     */
+    private static final int BRICK_POINTS = 10;
+
+    /**
+     * The score earned by the user in this game
+     */
+    private int m_score;
+
+    /**
+     * Returns the score earned by the user in this game
+     *
+     * @return the score earned by the user
+     */
+    public int getScore() {
+        return m_score;
+    }
+
+    /**
+     * Updates the score earned by the user in this game
+     *
+     * @param score Updated score
+     */
+    public void setScore(int score) {
+        m_score = score;
+    }
+
     /**
      * Start point of the paddle and game
      */
@@ -151,9 +357,39 @@ public class Wall {
     }
 
     /**
-     * Only instance of the wall object to be created when the game starts
+     * Number of bricks in each level
+     */
+    private static final int DEF_BRICK_COUNT = 30;
+
+    /**
+     * Number of lines of bricks in each level
+     */
+    private static final int DEF_LINE_COUNT = 3;
+
+    /**
+     * Ratio of the width of a brick to its height
      */
-    private static final Wall WALL = new Wall(new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT), 30, 3, 6.0 / 2, new Point(300, 430));
+    private static final double DEF_BRICK_RATIO = 6.0 / 2;
+
+    /**
+     * System property naming the level pack to load the levels from
+     */
+    private static final String LEVELS_PROPERTY = "breakout.levels";
+
+    /**
+     * Level pack loaded when the system property does not name one
+     */
+    private static final String DEF_LEVEL_PACK = "levels.pack";
+
+    /**
+     * Layout of every level played on the default board, mapped from the level pack if there is one
+     */
+    private static final LevelTemplate[] DEFAULT_LEVELS = loadDefaultLevels();
+
+    /**
+     * Wall object shown on the game board, playing with the paddle shown on the game board
+     */
+    private static final Wall WALL = new Wall(new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT), DEFAULT_LEVELS.clone(), new Point(300, 430), Paddle.getPaddle(), System.nanoTime());
 
     /**
      * Returns single instance of Wall
@@ -164,6 +400,15 @@ public class Wall {
         return WALL;
     }
 
+    /**
+     * Creates a wall for a headless game of its own, with its own paddle, score and random number generator, so many games can run side by side
+     *
+     * @param seed Seed of the game session
+     */
+    public Wall(long seed) {
+        this(new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT), DEFAULT_LEVELS.clone(), new Point(300, 430), new Paddle(), seed);
+    }
+
     /**
      * Creates the wall object to be displayed in the game
      *
@@ -172,37 +417,74 @@ public class Wall {
      * @param lineCount           The number of lines of bricks to draw
      * @param brickDimensionRatio The ratio of the height of a brick to its width
      * @param ballPos             Coordinates of the position for the center of the ball
+     * @param paddle              The paddle the player uses in this game
+     * @param seed                Seed of the game session
      */
-    private Wall(Rectangle drawArea, int brickCount, int lineCount, double brickDimensionRatio, Point ballPos) {
+    Wall(Rectangle drawArea, int brickCount, int lineCount, double brickDimensionRatio, Point ballPos, Paddle paddle, long seed) {
+        this(drawArea, makeLevels(drawArea, brickCount, lineCount, brickDimensionRatio), ballPos, paddle, seed);
+    }
+
+    /**
+     * Creates a wall playing the specified levels
+     *
+     * @param drawArea  The area of the board for the game to be played on
+     * @param templates Layout of the bricks in each level of the game
+     * @param ballPos   Coordinates of the position for the center of the ball
+     * @param paddle    The paddle the player uses in this game
+     * @param seed      Seed of the game session
+     */
+    Wall(Rectangle drawArea, LevelTemplate[] templates, Point ballPos, Paddle paddle, long seed) {
 
         this.STARTPOINT = new Point(ballPos);
 
-        LEVELS = makeLevels(drawArea, brickCount, lineCount, brickDimensionRatio);
+        LEVELS = new BrickField[templates.length];
+        for (int i = 0; i < templates.length; i++)
+            LEVELS[i] = new BrickField(templates[i]);
         m_level = 0;
 
         m_ballCount = 3;
         m_ballLost = false;
 
-        RND = new Random();
+        m_seed = seed;
+        RND = new GameRandom(m_seed);
 
         makeBall(ballPos);
-        int speedX, speedY;
-        do {
-            speedX = RND.nextInt(5) - 2;
-        } while (speedX == 0);
-        do {
-            speedY = -RND.nextInt(3);
-        } while (speedY == 0);
-
-        m_ball.setSpeed(speedX, speedY);
+        m_balls = new BallBatch(m_ball.getRadius());
+        launchBall();
 
-        PLAYER = Paddle.getPaddle();
+        PLAYER = paddle;
 
         setArea(drawArea);
 
 
     }
 
+    /**
+     * Width of every brick on a stress test playfield
+     */
+    private static final int STRESS_BRICK_WIDTH = 30;
+
+    /**
+     * Creates a wall for load testing with a single level of the specified number of bricks, laid out in a roughly square block across the top half of a virtual board sized to fit them, with a paddle at the bottom of that board
+     *
+     * @param brickCount Number of bricks in the level, up to millions
+     * @param seed       Seed of the game session and of the brick types
+     * @return a wall playing the stress test level
+     */
+    public static Wall makeStressWall(int brickCount, long seed) {
+        int brickOnLine = Math.max(1, (int) Math.round(Math.sqrt(brickCount / DEF_BRICK_RATIO)));
+        int lineCount = Math.max(1, brickCount / brickOnLine);
+        int width = brickOnLine * STRESS_BRICK_WIDTH;
+        int height = (int) Math.ceil(2 * lineCount * STRESS_BRICK_WIDTH / DEF_BRICK_RATIO);
+        Rectangle area = new Rectangle(0, 0, width, height);
+        Rectangle bricks = new Rectangle(0, 0, width, height / 2);
+
+        LevelTemplate[] levels = {Levels.makeStressLevel(bricks, brickOnLine * lineCount, lineCount, DEF_BRICK_RATIO, seed)};
+        Paddle paddle = new Paddle(area);
+        Rectangle face = paddle.getPaddleFace();
+        return new Wall(area, levels, new Point((int) face.getCenterX(), face.y), paddle, seed);
+    }
+
     /**
      * Creates a ball object with a specified center position
      *
@@ -213,103 +495,313 @@ public class Wall {
     }
 
     /**
-     * Creates and returns a 2-dimensional array with each level of the game and the bricks to draw in that level
+     * Returns an array with the layout of the bricks to draw in each level of the game, building the layouts the first time these settings are used and sharing them after that
      *
      * @param drawArea            The area of the board for the game to be played on
      * @param brickCount          The number of bricks to draw
      * @param lineCount           The number of lines of bricks to draw
      * @param brickDimensionRatio The ratio of the height of a brick to its width
-     * @return a 2-dimensional array with each level of the game and the bricks to draw in that level
+     * @return an array with the layout of the bricks to draw in each level of the game
+     */
+    public static LevelTemplate[] makeLevels(Rectangle drawArea, int brickCount, int lineCount, double brickDimensionRatio) {
+        String key = String.format("%d,%d,%d,%d,%d,%d,%s", drawArea.x, drawArea.y, drawArea.width, drawArea.height, brickCount, lineCount, brickDimensionRatio);
+        return TEMPLATES.computeIfAbsent(key, k -> buildLevels(drawArea, brickCount, lineCount, brickDimensionRatio)).clone();
+    }
+
+    /**
+     * Returns an array with the layout of the bricks to draw in each level of the default board, built by code rather than loaded from a level pack
+     *
+     * @return an array with the layout of the bricks to draw in each level of the game
+     */
+    public static LevelTemplate[] makeDefaultLevels() {
+        return makeLevels(new Rectangle(0, 0, DEF_WIDTH, DEF_HEIGHT), DEF_BRICK_COUNT, DEF_LINE_COUNT, DEF_BRICK_RATIO);
+    }
+
+    /**
+     * Returns the layout of every level of the default board, memory mapped from the level pack named by the system property or the default level pack, or built by code if there is no level pack
+     *
+     * @return an array with the layout of the bricks to draw in each level of the game
      */
-    public Brick[][] makeLevels(Rectangle drawArea, int brickCount, int lineCount, double brickDimensionRatio) {
+    private static LevelTemplate[] loadDefaultLevels() {
+        Path pack = Path.of(System.getProperty(LEVELS_PROPERTY, DEF_LEVEL_PACK));
+        if (Files.isRegularFile(pack)) {
+            try {
+                return LevelPack.read(pack);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return makeDefaultLevels();
+    }
+
+    /**
+     * Builds and returns an array with the layout of the bricks to draw in each level of the game
+     *
+     * @param drawArea            The area of the board for the game to be played on
+     * @param brickCount          The number of bricks to draw
+     * @param lineCount           The number of lines of bricks to draw
+     * @param brickDimensionRatio The ratio of the height of a brick to its width
+     * @return an array with the layout of the bricks to draw in each level of the game
+     */
+    private static LevelTemplate[] buildLevels(Rectangle drawArea, int brickCount, int lineCount, double brickDimensionRatio) {
 
         int levelsCount = 6;
 
         int finalLevelBricks = 40;
         int finalLevelLines = 4;
 
-        Brick[][] tmp = new Brick[levelsCount][];
-        tmp[0] = Levels.makeSingleTypeLevel(drawArea, brickCount, lineCount, brickDimensionRatio, CLAY);
-        tmp[1] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, CLAY, CEMENT);
-        tmp[2] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, CLAY, STEEL);
-        tmp[3] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, STEEL, CEMENT);
-        tmp[4] = Levels.makeColumnLevel(drawArea, brickCount, lineCount, brickDimensionRatio, CLAY, CEMENT, STEEL);
-        tmp[5] = Levels.makeFinalLevel(drawArea, finalLevelBricks, finalLevelLines, brickDimensionRatio, CLAY, GOLD, STEEL);
+        LevelTemplate[] tmp = new LevelTemplate[levelsCount];
+        tmp[0] = Levels.makeSingleTypeLevel(drawArea, brickCount, lineCount, brickDimensionRatio, Brick.CLAY);
+        tmp[1] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, Brick.CLAY, Brick.CEMENT);
+        tmp[2] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, Brick.CLAY, Brick.STEEL);
+        tmp[3] = Levels.makeChessboardLevel(drawArea, brickCount, lineCount, brickDimensionRatio, Brick.STEEL, Brick.CEMENT);
+        tmp[4] = Levels.makeColumnLevel(drawArea, brickCount, lineCount, brickDimensionRatio, Brick.CLAY, Brick.CEMENT, Brick.STEEL);
+        tmp[5] = Levels.makeFinalLevel(drawArea, finalLevelBricks, finalLevelLines, brickDimensionRatio, Brick.CLAY, Brick.GOLD, Brick.STEEL);
         return tmp;
     }
 
     /**
-     * Move the game paddle and ball
+     * Advances the game by a single simulation step, moving everything and then resetting the ball, wall or level as the rules of the game require
+     *
+     * @param seconds Length of the simulation step in seconds
+     * @return PLAYING, BALL_LOST, GAME_OVER, LEVEL_CLEARED or GAME_WON depending on what happened during the step
+     */
+    public int step(double seconds) {
+        move(seconds);
+        if (m_ballLost) {
+            boolean gameOver = ballEnd();
+            if (gameOver)
+                wallReset();
+            ballReset();
+            return gameOver ? GAME_OVER : BALL_LOST;
+        }
+        if (isDone()) {
+            m_score += EXTRA_POINTS;
+            if (hasLevel()) {
+                ballReset();
+                wallReset();
+                nextLevel();
+                return LEVEL_CLEARED;
+            }
+            m_score += m_ballCount * EXTRA_POINTS;
+            return GAME_WON;
+        }
+        return PLAYING;
+    }
+
+    /**
+     * Move the game paddle and every ball by the distance they travel in one simulation step, splitting each ball's movement into sub-steps no longer than half the thinnest brick
+     *
+     * @param seconds Length of the simulation step in seconds
+     */
+    public void move(double seconds) {
+        PLAYER.move(seconds);
+        m_balls.storePreviousPositions();
+
+        for (int i = 0; i < m_balls.size(); ) {
+            double distance = Math.hypot(m_balls.getVelocityX(i), m_balls.getVelocityY(i)) * seconds;
+            int subSteps = Math.max(1, (int) Math.ceil(distance / m_maxStep));
+            double step = seconds / subSteps;
+            boolean lost = false;
+            for (int s = 0; s < subSteps && !lost; s++) {
+                moveBall(i, step);
+                lost = findImpacts(i);
+            }
+            if (lost)
+                m_balls.remove(i);
+            else
+                i++;
+        }
+        checkBallLost();
+        syncBall();
+    }
+
+    /**
+     * Moves a ball through one sub-step, bouncing it off every brick or paddle it touches on the way
+     *
+     * @param i       Index of the ball
+     * @param seconds Length of the sub-step in seconds
+     */
+    private void moveBall(int i, double seconds) {
+        double remaining = seconds;
+        for (int bounce = 0; bounce < MAX_BOUNCES && remaining > 0; bounce++) {
+            double dx = m_balls.getVelocityX(i) * remaining;
+            double dy = m_balls.getVelocityY(i) * remaining;
+            int hit = findFirstImpact(i, dx, dy);
+            if (hit == NO_IMPACT) {
+                m_balls.translate(i, dx, dy);
+                return;
+            }
+
+            double t = m_impactTime;
+            m_balls.translate(i, dx * t, dy * t);
+            m_balls.reflect(i, m_impactNormalX, m_impactNormalY);
+            if (hit == PADDLE_IMPACT)
+                playSound(SoundQueue.PADDLE_HIT, i);
+            else if (impactWall(i, hit, m_impactNormalX, m_impactNormalY))
+                m_brickCount--;
+            remaining *= (1 - t);
+        }
+    }
+
+    /**
+     * Sweeps a ball along its path for this sub-step and returns what it touches first
+     *
+     * @param ball Index of the ball
+     * @param dx   Horizontal distance the ball travels
+     * @param dy   Vertical distance the ball travels
+     * @return the index of the brick touched first, PADDLE_IMPACT if the paddle is touched first, or NO_IMPACT if nothing is touched
+     */
+    private int findFirstImpact(int ball, double dx, double dy) {
+        double x = m_balls.getX(ball);
+        double y = m_balls.getY(ball);
+        double r = m_balls.getRadius();
+
+        int hit = NO_IMPACT;
+        m_impactTime = SweptCollision.NO_HIT;
+
+        int n = GRID.query(Math.min(x, x + dx) - r, Math.min(y, y + dy) - r, Math.max(x, x + dx) + r, Math.max(y, y + dy) + r, m_candidates);
+        for (int i = 0; i < n; i++) {
+            int b = m_candidates[i];
+            double left = m_bricks.getX(b);
+            double top = m_bricks.getY(b);
+            double t = SWEEP.sweep(x, y, dx, dy, r, left, top, left + m_bricks.getWidth(b), top + m_bricks.getHeight(b));
+            if (t < m_impactTime) {
+                hit = b;
+                setImpact(t);
+            }
+        }
+
+        Rectangle paddle = PLAYER.getPaddleFace();
+        double t = SWEEP.sweep(x, y, dx, dy, r, paddle.getMinX(), paddle.getMinY(), paddle.getMaxX(), paddle.getMaxY());
+        if (t < m_impactTime) {
+            hit = PADDLE_IMPACT;
+            setImpact(t);
+        }
+        return hit;
+    }
+
+    /**
+     * Remembers the time and contact normal of the earliest impact found so far
+     *
+     * @param t Time of impact as a fraction of the sub-step
      */
-    public void move() {
-        PLAYER.move();
-        m_ball.move();
+    private void setImpact(double t) {
+        m_impactTime = t;
+        m_impactNormalX = SWEEP.getNormalX();
+        m_impactNormalY = SWEEP.getNormalY();
     }
 
     /**
-     * Finds where on the game board the ball made contact
+     * Finds where on the game board the balls made contact with the borders and removes any that have fallen out of play
      */
     public void findImpacts() {
-        if (PLAYER.impact(m_ball)) {
-            m_ball.reverseY();
-        } else if (impactWall()) {
-            // for efficiency reverse is done into method impactWall because for every brick program checks for horizontal and vertical impacts
-            m_brickCount--;
-        } else if (impactBorder()) {
-            m_ball.reverseX();
-        } else if (m_ball.getPosition().getY() < m_area.getY()) {
-            m_ball.reverseY();
-        } else if (m_ball.getPosition().getY() > m_area.getY() + m_area.getHeight()) {
+        for (int i = 0; i < m_balls.size(); ) {
+            if (findImpacts(i))
+                m_balls.remove(i);
+            else
+                i++;
+        }
+        checkBallLost();
+    }
+
+    /**
+     * Bounces a ball off the borders of the game board and returns true if it has fallen out of play
+     *
+     * @param i Index of the ball
+     * @return true if the ball has fallen below the game board or false otherwise
+     */
+    private boolean findImpacts(int i) {
+        if (impactBorder(i)) {
+            m_balls.reverseX(i);
+            playSound(SoundQueue.BORDER_HIT, i);
+        } else if (m_balls.getY(i) < m_area.getY() && m_balls.getVelocityY(i) < 0) {
+            m_balls.reverseY(i);
+            playSound(SoundQueue.BORDER_HIT, i);
+        } else if (m_balls.getY(i) > m_area.getY() + m_area.getHeight()) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a ball from the player once every ball in play has been lost
+     */
+    private void checkBallLost() {
+        if (m_balls.size() == 0 && !m_ballLost) {
             m_ballCount--;
             m_ballLost = true;
         }
     }
 
     /**
-     * Changes direction of the ball after impact with the wall and returns true if the brick that was impacted wasn't broken and false otherwise
+     * Applies the impact of a ball to the brick it touched and returns true if the brick count should go down
      *
-     * @return true if the brick that was impacted wasn't broken and false otherwise
+     * @param ball Index of the ball
+     * @param b    Index of the brick that was impacted
+     * @param nx   Horizontal part of the contact normal, pointing out of the brick
+     * @param ny   Vertical part of the contact normal, pointing out of the brick
+     * @return true if the brick has been broken, or for bricks that crack true if a crack has been drawn, or false otherwise
      */
-    public boolean impactWall() {
-        for (Brick b : m_bricks) {
+    public boolean impactWall(int ball, int b, double nx, double ny) {
+        double r = m_balls.getRadius();
+        CONTACT.setLocation(m_balls.getX(ball) - nx * r, m_balls.getY(ball) - ny * r);
 
-            //Vertical Impact
-            if (b.getUpImpact() == b.findImpact(m_ball)) {
-                m_ball.reverseY();
-                return b.setImpact(m_ball.getDOWN(), Brick.Crack.getUp());
-            } else if (b.getDownImpact() == b.findImpact(m_ball)) {
-                m_ball.reverseY();
-                return b.setImpact(m_ball.getUP(), Brick.Crack.getDown());
-            }
+        int dir;
+        if (Math.abs(ny) >= Math.abs(nx))
+            dir = (ny < 0) ? Brick.Crack.getUp() : Brick.Crack.getDown();
+        else
+            dir = (nx < 0) ? Brick.Crack.getRight() : Brick.Crack.getLeft();
 
-            //Horizontal Impact
-            else if (b.getLeftImpact() == b.findImpact(m_ball)) {
-                m_ball.reverseX();
-                return b.setImpact(m_ball.getRIGHT(), Brick.Crack.getRight());
-            } else if (b.getRightImpact() == b.findImpact(m_ball)) {
-                m_ball.reverseX();
-                return b.setImpact(m_ball.getLEFT(), Brick.Crack.getLeft());
-            }
+        boolean out = m_bricks.setImpact(b, CONTACT, dir, RND);
+        if (m_bricks.isBroken(b)) {
+            GRID.remove(m_bricks, b);
+            m_score += BRICK_POINTS;
         }
+        if (m_damage != null && (out || m_bricks.isBroken(b)))
+            m_damage.add(m_bricks.getX(b), m_bricks.getY(b), m_bricks.getWidth(b), m_bricks.getHeight(b));
+        playSound(m_bricks.isBroken(b) ? SoundQueue.BRICK_BREAK : SoundQueue.BRICK_HIT, ball);
+        return out;
+    }
 
-        return false;
+    /**
+     * Queues a sound effect placed in stereo where a ball is across the game board, if anything is playing sound effects
+     *
+     * @param effect Effect to play, from SoundQueue
+     * @param ball   Index of the ball that caused it
+     */
+    private void playSound(int effect, int ball) {
+        if (m_sounds != null)
+            m_sounds.offer(effect, (m_balls.getX(ball) - m_area.getX()) / m_area.getWidth());
     }
 
     /**
-     * Returns true if the ball impacted the side borders or false otherwise
+     * Returns true if a ball impacted the side borders while moving towards them or false otherwise
      *
+     * @param i Index of the ball
      * @return true if the ball impacted the side borders or false otherwise
      */
-    public boolean impactBorder() {
+    public boolean impactBorder(int i) {
+        double x = m_balls.getX(i);
+        return ((x < m_area.getX() && m_balls.getVelocityX(i) < 0) || (x > (m_area.getX() + m_area.getWidth()) && m_balls.getVelocityX(i) > 0));
+    }
+
+    /**
+     * Moves the ball object to match the first ball in play, so anything reading the single ball sees the game as before
+     */
+    private void syncBall() {
+        if (m_balls.size() == 0)
+            return;
         Point2D p = m_ball.getPosition();
-        return ((p.getX() < m_area.getX()) || (p.getX() > (m_area.getX() + m_area.getWidth())));
+        m_ball.storePreviousPosition();
+        m_ball.translate(m_balls.getX(0) - p.getX(), m_balls.getY(0) - p.getY());
+        m_ball.setVelocity(m_balls.getVelocityX(0), m_balls.getVelocityY(0));
     }
 
     /**
-     * Resets the ball and paddle back to the startpoint and resets the balls xspeed and yspeed to a random integer between 1 and 3
+     * Puts a single ball back at the startpoint with a random xspeed and yspeed
      */
-    public void ballReset() {
-        PLAYER.moveTo(STARTPOINT);
+    private void launchBall() {
         m_ball.moveTo(STARTPOINT);
         int speedX, speedY;
         do {
@@ -320,6 +812,33 @@ public class Wall {
         } while (speedY == 0);
 
         m_ball.setSpeed(speedX, speedY);
+        m_balls.clear();
+        m_balls.add(STARTPOINT.getX(), STARTPOINT.getY(), m_ball.getVelocityX(), m_ball.getVelocityY());
+    }
+
+    /**
+     * Splits every ball in play into the specified number of balls, fanned out around its direction of travel
+     *
+     * @param copies Number of balls each ball should become
+     */
+    public void multiBall(int copies) {
+        int n = m_balls.size();
+        for (int i = 0; i < n; i++) {
+            double speed = Math.hypot(m_balls.getVelocityX(i), m_balls.getVelocityY(i));
+            double angle = Math.atan2(m_balls.getVelocityY(i), m_balls.getVelocityX(i));
+            for (int c = 1; c < copies; c++) {
+                double a = angle + MULTIBALL_SPREAD * ((c + 1) / 2) * ((c % 2 == 0) ? 1 : -1);
+                m_balls.add(m_balls.getX(i), m_balls.getY(i), speed * Math.cos(a), speed * Math.sin(a));
+            }
+        }
+    }
+
+    /**
+     * Resets the ball and paddle back to the startpoint and resets the balls xspeed and yspeed to a random integer between 1 and 3
+     */
+    public void ballReset() {
+        PLAYER.moveTo(STARTPOINT);
+        launchBall();
         m_ballLost = false;
     }
 
@@ -327,9 +846,9 @@ public class Wall {
      * Resets all the bricks in the wall and sets the ball count to be 3 again
      */
     public void wallReset() {
-        for (Brick b : m_bricks)
-            b.repair();
-        m_brickCount = m_bricks.length;
+        m_bricks.repair();
+        GRID.build(m_bricks);
+        m_brickCount = m_bricks.size();
         m_ballCount = 3;
     }
 
@@ -355,8 +874,39 @@ public class Wall {
      * Passes the brick array the series of bricks to be drawn for the next level once the current level has been completed
      */
     public void nextLevel() {
-        m_bricks = LEVELS[m_level++];
-        this.m_brickCount = m_bricks.length;
+        loadLevel(m_level + 1);
+        GRID.build(m_bricks);
+        this.m_brickCount = m_bricks.size();
+    }
+
+    /**
+     * Makes the specified level the one being played and sizes the collision search for its bricks
+     *
+     * @param level Number of the level, starting from 1
+     */
+    private void loadLevel(int level) {
+        m_bricks = LEVELS[level - 1];
+        m_level = level;
+        if (m_candidates.length < m_bricks.size())
+            m_candidates = new int[m_bricks.size()];
+
+        m_maxStep = PLAYER.getPaddleFace().getHeight() / 2;
+        for (int i = 0; i < m_bricks.size(); i++)
+            m_maxStep = Math.min(m_maxStep, Math.min(m_bricks.getWidth(i), m_bricks.getHeight(i)) / 2);
+    }
+
+    /**
+     * Collects the indices of the unbroken bricks in or near the specified area, in ascending order, so only the part of the board on screen needs to be drawn
+     *
+     * @param minX Left edge of the area
+     * @param minY Top edge of the area
+     * @param maxX Right edge of the area
+     * @param maxY Bottom edge of the area
+     * @param out  Array to store the brick indices in, which must be at least as long as the number of bricks in the level
+     * @return the number of brick indices stored
+     */
+    public int findBricks(double minX, double minY, double maxX, double maxY, int[] out) {
+        return GRID.query(minX, minY, maxX, maxY, out);
     }
 
     /**
@@ -369,21 +919,43 @@ public class Wall {
     }
 
     /**
-     * Sets the balls horizontal speed to a newly specified integer
+     * Sets the horizontal speed of the first ball in play to a newly specified integer, changing the speed of every other ball in the same proportion
      *
      * @param s The new horizontal ball speed
      */
     public void setBallXSpeed(int s) {
         m_ball.setXSpeed(s);
+        if (m_balls.size() > 0)
+            setFirstBallVelocity(m_ball.getVelocityX(), m_balls.getVelocityY(0));
     }
 
     /**
-     * Sets the balls vertical speed to a newly specified integer
+     * Sets the vertical speed of the first ball in play to a newly specified integer, changing the speed of every other ball in the same proportion
      *
      * @param s The new vertical ball speed
      */
     public void setBallYSpeed(int s) {
         m_ball.setYSpeed(s);
+        if (m_balls.size() > 0)
+            setFirstBallVelocity(m_balls.getVelocityX(0), m_ball.getVelocityY());
+    }
+
+    /**
+     * Sets the velocity of the first ball in play and scales every other ball to the same change in speed, keeping the direction each one is moving in so multiball keeps its spread. Balls only take the velocity of the first ball if it had stopped, since there is then no speed to scale from
+     *
+     * @param velocityX New horizontal velocity of the first ball
+     * @param velocityY New vertical velocity of the first ball
+     */
+    private void setFirstBallVelocity(double velocityX, double velocityY) {
+        double before = Math.hypot(m_balls.getVelocityX(0), m_balls.getVelocityY(0));
+        double scale = Math.hypot(velocityX, velocityY) / before;
+        m_balls.setVelocity(0, velocityX, velocityY);
+        for (int i = 1; i < m_balls.size(); i++) {
+            if (before == 0)
+                m_balls.setVelocity(i, velocityX, velocityY);
+            else
+                m_balls.setVelocity(i, m_balls.getVelocityX(i) * scale, m_balls.getVelocityY(i) * scale);
+        }
     }
 
     /**
@@ -394,21 +966,61 @@ public class Wall {
     }
 
     /**
-     * Creates and returns a new brick of a specified size and type at the point inputted
+     * Writes everything the simulation needs to carry on from this point: the random number generator, level, counts, score, balls, bricks and paddle
+     *
+     * @param out Output to write the state to
+     * @throws IOException Exception error when the state cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(RND.getState());
+        out.writeInt(m_level);
+        out.writeInt(m_brickCount);
+        out.writeInt(m_ballCount);
+        out.writeBoolean(m_ballLost);
+        out.writeInt(m_score);
+
+        Point2D center = m_ball.getPosition();
+        out.writeDouble(center.getX());
+        out.writeDouble(center.getY());
+        out.writeDouble(m_ball.getVelocityX());
+        out.writeDouble(m_ball.getVelocityY());
+
+        m_balls.writeState(out);
+        PLAYER.writeState(out);
+        if (m_level > 0)
+            m_bricks.writeState(out);
+    }
+
+    /**
+     * Restores a state written by writeState, repairing every other level so levels still to come start undamaged. Repairing only visits the bricks hit since the last repair, so this stays cheap
      *
-     * @param point The coordinates of the point where the brick should be created
-     * @param size  The size of the brick
-     * @param type  The type of the brick
-     * @return a new brick of a specified size and type at the point inputted
+     * @param in Input to read the state from
+     * @throws IOException Exception error when the state cannot be read
      */
-    public static Brick makeBrick(Point point, Dimension size, int type) {
-        return switch (type) {
-            case CLAY -> new ClayBrick(point, size);
-            case STEEL -> new SteelBrick(point, size);
-            case CEMENT -> new CementBrick(point, size);
-            case GOLD -> new GoldBrick(point, size);
-            default -> throw new IllegalArgumentException(String.format("Unknown Type:%d", type));
-        };
+    public void readState(DataInput in) throws IOException {
+        RND.setState(in.readLong());
+        int level = in.readInt();
+        m_brickCount = in.readInt();
+        m_ballCount = in.readInt();
+        m_ballLost = in.readBoolean();
+        m_score = in.readInt();
+
+        double x = in.readDouble();
+        double y = in.readDouble();
+        Point2D center = m_ball.getPosition();
+        m_ball.translate(x - center.getX(), y - center.getY());
+        m_ball.storePreviousPosition();
+        m_ball.setVelocity(in.readDouble(), in.readDouble());
+
+        m_balls.readState(in);
+        PLAYER.readState(in);
+        if (level > 0) {
+            for (BrickField bricks : LEVELS)
+                bricks.repair();
+            loadLevel(level);
+            m_bricks.readState(in);
+            GRID.build(m_bricks);
+        }
     }
 
 }
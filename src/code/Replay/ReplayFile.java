@@ -0,0 +1,72 @@
+package Replay;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Class holding the layout of replay files. A replay starts with a header holding the tick rate and seed, followed by records that each start with a type byte and the number of ticks since the previous record
+ *
+ * @author Salaar Mir
+ */
+public class ReplayFile {
+
+    /**
+     * Number every replay file starts with
+     */
+    static final int MAGIC = 0x42524B52;
+
+    /**
+     * Version of the replay layout written by this game
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Record marking the end of the replay
+     */
+    static final int END = 0;
+
+    /**
+     * Record holding an input command and its argument
+     */
+    static final int INPUT = 1;
+
+    /**
+     * Record holding the full simulation state, so playback can seek without replaying from the start
+     */
+    static final int KEYFRAME = 2;
+
+    /**
+     * Writes an integer that is never negative using as few bytes as its size allows, seven bits per byte
+     *
+     * @param out   Output to write to
+     * @param value Integer to write
+     * @throws IOException Exception error when the integer cannot be written
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by writeVarInt
+     *
+     * @param in Buffer to read from
+     * @return the integer read
+     */
+    static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+}
@@ -0,0 +1,88 @@
+package Replay;
+
+import Objects.Paddle;
+import Objects.Wall;
+
+/**
+ * Class holding the input commands stored in replay files and applying them to the game, so live play and playback change the game in exactly the same way
+ *
+ * @author Salaar Mir
+ */
+public class ReplayInput {
+
+    /**
+     * Command to start moving the paddle left
+     */
+    public static final int PADDLE_LEFT = 1;
+
+    /**
+     * Command to start moving the paddle right
+     */
+    public static final int PADDLE_RIGHT = 2;
+
+    /**
+     * Command to stop moving the paddle
+     */
+    public static final int PADDLE_STOP = 3;
+
+    /**
+     * Command to put the ball back at the start and repair the wall
+     */
+    public static final int RESTART = 4;
+
+    /**
+     * Command to change the simulation tick rate to its argument
+     */
+    public static final int TICK_RATE = 5;
+
+    /**
+     * Command to skip to the next level
+     */
+    public static final int SKIP_LEVEL = 6;
+
+    /**
+     * Command to give the player back all their balls
+     */
+    public static final int RESET_BALLS = 7;
+
+    /**
+     * Command to set the horizontal ball speed to its argument
+     */
+    public static final int BALL_X_SPEED = 8;
+
+    /**
+     * Command to set the vertical ball speed to its argument
+     */
+    public static final int BALL_Y_SPEED = 9;
+
+    /**
+     * Command to split every ball in play into the number of balls given by its argument
+     */
+    public static final int MULTIBALL = 10;
+
+    /**
+     * Applies a command that changes the wall or paddle. Commands that change how the simulation is run, like TICK_RATE, are left to the caller
+     *
+     * @param command  Command to apply
+     * @param argument Argument of the command, or 0 if it takes none
+     * @param wall     Wall of the game
+     * @param paddle   Paddle of the game
+     */
+    public static void apply(int command, int argument, Wall wall, Paddle paddle) {
+        switch (command) {
+            case PADDLE_LEFT -> paddle.moveLeft();
+            case PADDLE_RIGHT -> paddle.movRight();
+            case PADDLE_STOP -> paddle.stop();
+            case RESTART -> {
+                wall.ballReset();
+                wall.wallReset();
+            }
+            case SKIP_LEVEL -> wall.nextLevel();
+            case RESET_BALLS -> wall.resetBallCount();
+            case BALL_X_SPEED -> wall.setBallXSpeed(argument);
+            case BALL_Y_SPEED -> wall.setBallYSpeed(argument);
+            case MULTIBALL -> wall.multiBall(argument);
+        }
+    }
+
+}
@@ -0,0 +1,317 @@
+package Replay;
+
+import Objects.Paddle;
+import Objects.Wall;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Class to play a replay file back through the simulation without drawing anything, as fast as the simulation can run
+ *
+ * @author Salaar Mir
+ */
+public class ReplayPlayer {
+
+    /**
+     * Contents of the replay file
+     */
+    private final ByteBuffer DATA;
+
+    /**
+     * Wall the replay is played back on
+     */
+    private final Wall WALL;
+
+    /**
+     * Paddle the replay is played back on
+     */
+    private final Paddle PADDLE;
+
+    /**
+     * Seed the recorded session was started from
+     */
+    private final long SEED;
+
+    /**
+     * Returns the seed the recorded session was started from
+     *
+     * @return the seed of the recorded session
+     */
+    public long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * Number of simulation ticks per second when recording started
+     */
+    private final int TICK_RATE;
+
+    /**
+     * Position in the file of the first record
+     */
+    private final int FIRST_RECORD;
+
+    /**
+     * Tick of every keyframe in the file, in ascending order
+     */
+    private int[] m_keyframeTicks = new int[0];
+
+    /**
+     * Position in the file of every keyframe record
+     */
+    private int[] m_keyframePositions = new int[0];
+
+    /**
+     * Tick rate in effect at every keyframe
+     */
+    private int[] m_keyframeTickRates = new int[0];
+
+    /**
+     * Number of keyframes in the file
+     */
+    private int m_keyframeCount;
+
+    /**
+     * Tick the recording ended at
+     */
+    private int m_endTick;
+
+    /**
+     * Returns the tick the recording ended at
+     *
+     * @return the number of ticks in the replay
+     */
+    public int getEndTick() {
+        return m_endTick;
+    }
+
+    /**
+     * Number of simulation ticks per second, which can change during the replay
+     */
+    private int m_tickRate;
+
+    /**
+     * Number of ticks played back so far
+     */
+    private int m_tick;
+
+    /**
+     * Returns the number of ticks played back so far
+     *
+     * @return the current tick of the playback
+     */
+    public int getTick() {
+        return m_tick;
+    }
+
+    /**
+     * Game time played back since the replay was opened or last seeked, in seconds
+     */
+    private double m_playedSeconds;
+
+    /**
+     * Returns the game time played back since the replay was opened or last seeked
+     *
+     * @return the game time played back in seconds
+     */
+    public double getPlayedSeconds() {
+        return m_playedSeconds;
+    }
+
+    /**
+     * Tick of the last record read, which the next record is stored relative to
+     */
+    private int m_recordTick;
+
+    /**
+     * Reads a replay file, indexes its keyframes and restores the first one
+     *
+     * @param file   Path of the replay file
+     * @param wall   Wall to play the replay back on
+     * @param paddle Paddle to play the replay back on
+     * @throws IOException Exception error when the file cannot be read or is not a replay
+     */
+    public ReplayPlayer(Path file, Wall wall, Paddle paddle) throws IOException {
+        DATA = ByteBuffer.wrap(Files.readAllBytes(file));
+        WALL = wall;
+        PADDLE = paddle;
+
+        try {
+            if (DATA.getInt() != ReplayFile.MAGIC)
+                throw new IOException("Not A Replay File");
+            int version = DATA.getShort();
+            if (version != ReplayFile.VERSION)
+                throw new IOException(String.format("Unsupported Replay Version:%d", version));
+            TICK_RATE = DATA.getInt();
+            m_tickRate = TICK_RATE;
+            SEED = DATA.getLong();
+            FIRST_RECORD = DATA.position();
+            indexKeyframes();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Replay File Is Truncated", e);
+        }
+
+        if (m_keyframeCount == 0)
+            throw new IOException("Replay File Has No Keyframes");
+        seek(0);
+    }
+
+    /**
+     * Walks every record once to find the keyframes, the tick rate at each of them and the tick the recording ended at
+     */
+    private void indexKeyframes() {
+        DATA.position(FIRST_RECORD);
+        int tick = 0;
+        int tickRate = TICK_RATE;
+        while (DATA.hasRemaining()) {
+            int position = DATA.position();
+            int type = DATA.get();
+            tick += ReplayFile.readVarInt(DATA);
+            if (type == ReplayFile.END) {
+                m_endTick = tick;
+                return;
+            } else if (type == ReplayFile.INPUT) {
+                int command = DATA.get();
+                int argument = ReplayFile.readVarInt(DATA);
+                if (command == ReplayInput.TICK_RATE)
+                    tickRate = argument;
+            } else {
+                int length = ReplayFile.readVarInt(DATA);
+                DATA.position(DATA.position() + length);
+                if (m_keyframeCount == m_keyframeTicks.length) {
+                    m_keyframeTicks = Arrays.copyOf(m_keyframeTicks, Math.max(8, m_keyframeCount * 2));
+                    m_keyframePositions = Arrays.copyOf(m_keyframePositions, m_keyframeTicks.length);
+                    m_keyframeTickRates = Arrays.copyOf(m_keyframeTickRates, m_keyframeTicks.length);
+                }
+                m_keyframeTicks[m_keyframeCount] = tick;
+                m_keyframeTickRates[m_keyframeCount] = tickRate;
+                m_keyframePositions[m_keyframeCount++] = position;
+            }
+        }
+        // a recording that was never closed ends at its last record
+        m_endTick = tick;
+    }
+
+    /**
+     * Moves the playback to the specified tick by restoring the closest keyframe before it and playing forward from there
+     *
+     * @param tick Tick to move to
+     * @throws IOException Exception error when the keyframe cannot be restored
+     */
+    public void seek(int tick) throws IOException {
+        int k = Arrays.binarySearch(m_keyframeTicks, 0, m_keyframeCount, tick);
+        if (k < 0)
+            k = Math.max(0, -k - 2);
+        // several keyframes can share a tick, the last one holds the latest state
+        while (k + 1 < m_keyframeCount && m_keyframeTicks[k + 1] == m_keyframeTicks[k])
+            k++;
+
+        DATA.position(m_keyframePositions[k]);
+        DATA.get();
+        ReplayFile.readVarInt(DATA);
+        int length = ReplayFile.readVarInt(DATA);
+        WALL.readState(new DataInputStream(new ByteArrayInputStream(DATA.array(), DATA.position(), length)));
+        DATA.position(DATA.position() + length);
+
+        m_tick = m_recordTick = m_keyframeTicks[k];
+        m_tickRate = m_keyframeTickRates[k];
+        runTo(tick);
+        m_playedSeconds = 0;
+    }
+
+    /**
+     * Plays the replay forward until the specified tick or the end of the recording, whichever comes first
+     *
+     * @param tick Tick to stop at
+     * @return true if the tick was reached or false if the recording ended first
+     */
+    public boolean runTo(int tick) {
+        while (m_tick < tick) {
+            if (!applyInputs())
+                return false;
+            WALL.step(1.0 / m_tickRate);
+            m_playedSeconds += 1.0 / m_tickRate;
+            m_tick++;
+        }
+        return true;
+    }
+
+    /**
+     * Plays the replay forward to the end of the recording
+     *
+     * @return the number of ticks played
+     */
+    public int run() {
+        int start = m_tick;
+        runTo(m_endTick);
+        return m_tick - start;
+    }
+
+    /**
+     * Applies every input recorded at the current tick, skipping keyframes since playback already holds their state
+     *
+     * @return true if playback can carry on or false if the end of the recording was reached
+     */
+    private boolean applyInputs() {
+        while (DATA.hasRemaining()) {
+            int position = DATA.position();
+            int type = DATA.get();
+            int tick = m_recordTick + ReplayFile.readVarInt(DATA);
+            if (tick > m_tick) {
+                DATA.position(position);
+                return true;
+            }
+            m_recordTick = tick;
+            if (type == ReplayFile.END) {
+                DATA.position(position);
+                return false;
+            } else if (type == ReplayFile.INPUT) {
+                int command = DATA.get();
+                int argument = ReplayFile.readVarInt(DATA);
+                if (command == ReplayInput.TICK_RATE)
+                    m_tickRate = argument;
+                else
+                    ReplayInput.apply(command, argument, WALL, PADDLE);
+            } else {
+                int length = ReplayFile.readVarInt(DATA);
+                DATA.position(DATA.position() + length);
+            }
+        }
+        return m_tick < m_endTick;
+    }
+
+    /**
+     * Plays a replay file headless and prints how long it took, optionally starting from a later tick
+     *
+     * @param args Path of the replay file, and optionally the tick to seek to before playing
+     * @throws IOException Exception error when the replay file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayPlayer <replay file> [start tick]");
+            return;
+        }
+
+        long start = System.nanoTime();
+        ReplayPlayer player = new ReplayPlayer(Path.of(args[0]), Wall.getWall(), Paddle.getPaddle());
+        if (args.length > 1)
+            player.seek(Integer.parseInt(args[1]));
+        long seeked = System.nanoTime();
+        int ticks = player.run();
+        long end = System.nanoTime();
+
+        double seconds = (end - seeked) / 1e9;
+        double played = player.getPlayedSeconds();
+        System.out.printf("Seed %d, seek took %.1f ms%n", player.getSeed(), (seeked - start) / 1e6);
+        System.out.printf("Played %d ticks (%.1f s of game time) in %.3f s, %.0fx real time%n", ticks, played, seconds, played / Math.max(seconds, 1e-9));
+        System.out.printf("Final tick %d, score %d, bricks %d, balls %d%n", player.getTick(), Wall.getWall().getScore(), Wall.getWall().getBrickCount(), Wall.getWall().getBallCount());
+    }
+
+}
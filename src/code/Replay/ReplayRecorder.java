@@ -0,0 +1,147 @@
+package Replay;
+
+import Objects.Wall;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class to record a game session to a replay file: the seed and tick rate, every input command with the tick it arrived at, and a keyframe of the full simulation state every so many ticks
+ *
+ * @author Salaar Mir
+ */
+public class ReplayRecorder implements Closeable {
+
+    /**
+     * Default number of ticks between keyframes
+     */
+    public static final int DEF_KEYFRAME_INTERVAL = 1000;
+
+    /**
+     * Output the replay is written to
+     */
+    private final DataOutputStream OUT;
+
+    /**
+     * Wall whose state is written in every keyframe
+     */
+    private final Wall WALL;
+
+    /**
+     * Number of ticks between keyframes
+     */
+    private final int KEYFRAME_INTERVAL;
+
+    /**
+     * Reusable buffer the state is written into before it is copied into a keyframe
+     */
+    private final ByteArrayOutputStream KEYFRAME_BYTES = new ByteArrayOutputStream();
+
+    /**
+     * Output writing into the keyframe buffer
+     */
+    private final DataOutputStream KEYFRAME_OUT = new DataOutputStream(KEYFRAME_BYTES);
+
+    /**
+     * Number of ticks simulated since recording started
+     */
+    private int m_tick;
+
+    /**
+     * Returns the number of ticks simulated since recording started
+     *
+     * @return the number of ticks recorded
+     */
+    public int getTick() {
+        return m_tick;
+    }
+
+    /**
+     * Tick of the last record written, which the next record is stored relative to
+     */
+    private int m_recordTick;
+
+    /**
+     * Creates the replay file and writes its header and first keyframe
+     *
+     * @param file             Path of the replay file
+     * @param wall             Wall of the game session being recorded
+     * @param tickRate         Number of simulation ticks per second
+     * @param keyframeInterval Number of ticks between keyframes
+     * @throws IOException Exception error when the replay file cannot be created
+     */
+    public ReplayRecorder(Path file, Wall wall, int tickRate, int keyframeInterval) throws IOException {
+        if (keyframeInterval <= 0)
+            throw new IllegalArgumentException(String.format("Invalid Keyframe Interval:%d", keyframeInterval));
+        OUT = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        WALL = wall;
+        KEYFRAME_INTERVAL = keyframeInterval;
+
+        OUT.writeInt(ReplayFile.MAGIC);
+        OUT.writeShort(ReplayFile.VERSION);
+        OUT.writeInt(tickRate);
+        OUT.writeLong(wall.getSeed());
+        writeKeyframe();
+    }
+
+    /**
+     * Records an input command at the current tick
+     *
+     * @param command  Command from ReplayInput
+     * @param argument Argument of the command, or 0 if it takes none
+     * @throws IOException Exception error when the command cannot be written
+     */
+    public synchronized void recordInput(int command, int argument) throws IOException {
+        writeRecordHeader(ReplayFile.INPUT);
+        OUT.writeByte(command);
+        ReplayFile.writeVarInt(OUT, argument);
+    }
+
+    /**
+     * Counts a simulated tick, writing a keyframe once every keyframe interval
+     *
+     * @throws IOException Exception error when the keyframe cannot be written
+     */
+    public synchronized void tick() throws IOException {
+        if (++m_tick % KEYFRAME_INTERVAL == 0)
+            writeKeyframe();
+    }
+
+    /**
+     * Writes the end of the replay and closes the file
+     *
+     * @throws IOException Exception error when the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writeRecordHeader(ReplayFile.END);
+        OUT.close();
+    }
+
+    /**
+     * Writes a keyframe holding the full state of the wall at the current tick
+     *
+     * @throws IOException Exception error when the keyframe cannot be written
+     */
+    private void writeKeyframe() throws IOException {
+        KEYFRAME_BYTES.reset();
+        WALL.writeState(KEYFRAME_OUT);
+        writeRecordHeader(ReplayFile.KEYFRAME);
+        ReplayFile.writeVarInt(OUT, KEYFRAME_BYTES.size());
+        KEYFRAME_BYTES.writeTo(OUT);
+    }
+
+    /**
+     * Writes the type of a record and the number of ticks since the previous record
+     *
+     * @param type Type of the record
+     * @throws IOException Exception error when the header cannot be written
+     */
+    private void writeRecordHeader(int type) throws IOException {
+        OUT.writeByte(type);
+        ReplayFile.writeVarInt(OUT, m_tick - m_recordTick);
+        m_recordTick = m_tick;
+    }
+
+}
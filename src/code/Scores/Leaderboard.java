@@ -0,0 +1,361 @@
+package Scores;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class to rank every score in the score store in memory, so the rank of a score, the best scores and the scores around a player can be found without sorting the store. Scores are counted in a Fenwick tree with one bucket per distinct score, kept sorted so a stray huge or negative score takes one bucket like any other, which gives the number of scores above any score and the score at any rank in logarithmic time, and each bucket keeps the records holding that score in the order they were submitted. Scores added to the store by this or any other process are read in before each query
+ *
+ * @author Salaar Mir
+ */
+public class Leaderboard {
+
+    /**
+     * Number of records read from the store at once when catching up
+     */
+    private static final int LOAD_RECORDS = 65536;
+
+    /**
+     * Number of score buckets the tree starts with, grown by doubling when more distinct scores are seen
+     */
+    private static final int DEF_CAPACITY = 1024;
+
+    /**
+     * Leaderboard of the game, loaded the first time it is asked for
+     */
+    private static Leaderboard m_leaderboard;
+
+    /**
+     * Store the scores are read from
+     */
+    private final ScoreStore STORE;
+
+    /**
+     * Reusable score keys read from the store
+     */
+    private final long[] KEYS = new long[LOAD_RECORDS];
+
+    /**
+     * Reusable scores read from the store that have no bucket yet
+     */
+    private final int[] FRESH = new int[LOAD_RECORDS];
+
+    /**
+     * Distinct scores seen, lowest first, giving the score of each bucket
+     */
+    private int[] m_scores = new int[DEF_CAPACITY];
+
+    /**
+     * Number of buckets in use
+     */
+    private int m_buckets;
+
+    /**
+     * Fenwick tree of the number of scores in each bucket, indexed from 1
+     */
+    private int[] m_tree = new int[DEF_CAPACITY + 1];
+
+    /**
+     * Number of scores in each bucket
+     */
+    private int[] m_counts = new int[DEF_CAPACITY];
+
+    /**
+     * Records holding the score of each bucket in the order they were submitted
+     */
+    private int[][] m_records = new int[DEF_CAPACITY][];
+
+    /**
+     * Number of scores ranked
+     */
+    private int m_size;
+
+    /**
+     * Number of records of the store read so far
+     */
+    private int m_loaded;
+
+    /**
+     * Returns the leaderboard of the game, loading every score in the score store of the game the first time
+     *
+     * @return the leaderboard of the game
+     * @throws IOException Exception error when the score store cannot be opened or read
+     */
+    public static synchronized Leaderboard getLeaderboard() throws IOException {
+        if (m_leaderboard == null)
+            m_leaderboard = new Leaderboard(ScoreStore.getScoreStore());
+        return m_leaderboard;
+    }
+
+    /**
+     * Starts loading the leaderboard of the game on a background thread, so it is ready by the time a score is submitted
+     */
+    public static void preload() {
+        Thread loader = new Thread(() -> {
+            try {
+                getLeaderboard();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "Leaderboard Loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Creates a leaderboard over a score store and loads every score in it
+     *
+     * @param store Store the scores are read from
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public Leaderboard(ScoreStore store) throws IOException {
+        STORE = store;
+        catchUp();
+    }
+
+    /**
+     * Returns the number of scores ranked, after reading in any scores added to the store
+     *
+     * @return the number of scores ranked
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public synchronized int size() throws IOException {
+        catchUp();
+        return m_size;
+    }
+
+    /**
+     * Returns the rank of a stored score, with equal scores ranked in the order they were submitted
+     *
+     * @param entry Stored score
+     * @return the rank of the score, 1 being the best, or 0 if the score is not ranked
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public synchronized int getRank(ScoreEntry entry) throws IOException {
+        catchUp();
+        int bucket = Arrays.binarySearch(m_scores, 0, m_buckets, entry.getScore());
+        if (bucket < 0)
+            return 0;
+        int position = Arrays.binarySearch(m_records[bucket], 0, m_counts[bucket], entry.getRecord());
+        if (position < 0)
+            return 0;
+        return countAbove(bucket) + position + 1;
+    }
+
+    /**
+     * Returns the rank a new score would take, behind every equal score already ranked
+     *
+     * @param score Score to rank
+     * @return the rank the score would take, 1 being the best
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public synchronized int getRank(int score) throws IOException {
+        catchUp();
+        int bucket = Arrays.binarySearch(m_scores, 0, m_buckets, score);
+        if (bucket < 0)
+            return countAbove(-bucket - 2) + 1;
+        return countAbove(bucket) + m_counts[bucket] + 1;
+    }
+
+    /**
+     * Returns the best scores
+     *
+     * @param n Largest number of scores to return
+     * @return the best scores, best first
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public List<ScoreEntry> getTop(int n) throws IOException {
+        return getRange(1, n);
+    }
+
+    /**
+     * Returns the scores ranked around a stored score, moved along where the score is near the top or bottom so the window stays full
+     *
+     * @param entry  Stored score
+     * @param radius Number of scores to include on each side of the score
+     * @return the scores around the score, best first
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public synchronized List<ScoreEntry> getAround(ScoreEntry entry, int radius) throws IOException {
+        int rank = getRank(entry);
+        int count = 2 * radius + 1;
+        int first = Math.max(1, Math.min(rank - radius, m_size - count + 1));
+        return getRange(first, count);
+    }
+
+    /**
+     * Returns the scores at a run of ranks, finding the bucket of the first rank through the tree and then walking the buckets below it
+     *
+     * @param first Rank of the first score, 1 being the best
+     * @param count Largest number of scores to return
+     * @return the scores at the ranks, best first
+     * @throws IOException Exception error when the store cannot be read
+     */
+    public synchronized List<ScoreEntry> getRange(int first, int count) throws IOException {
+        catchUp();
+        int rank = Math.max(1, first);
+        List<ScoreEntry> range = new ArrayList<>(Math.max(0, Math.min(count, m_size - rank + 1)));
+        while (range.size() < count && rank <= m_size) {
+            int bucket = selectFromTop(rank);
+            int offset = rank - 1 - countAbove(bucket);
+            for (int i = offset; i < m_counts[bucket] && range.size() < count; i++, rank++) {
+                ScoreEntry entry = STORE.get(m_records[bucket][i]);
+                if (entry != null)
+                    range.add(entry);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Reads in the scores added to the store since it was last read, in blocks so loading a large store needs little memory
+     *
+     * @throws IOException Exception error when the store cannot be read
+     */
+    private void catchUp() throws IOException {
+        int records = STORE.getRecordCount();
+        while (m_loaded < records) {
+            int to = Math.min(records, m_loaded + LOAD_RECORDS);
+            int keys = STORE.readKeys(m_loaded, to, KEYS, null, 0);
+            addBuckets(keys);
+            for (int k = 0; k < keys; k++)
+                insert((int) KEYS[k], getScore(KEYS[k]));
+            m_loaded = to;
+        }
+    }
+
+    /**
+     * Adds a bucket for every score among keys read from the store that has none yet, merging the new scores into the sorted buckets and building the tree again once for the whole block
+     *
+     * @param keys Number of keys read into the reusable keys
+     */
+    private void addBuckets(int keys) {
+        int fresh = 0;
+        for (int k = 0; k < keys; k++) {
+            int score = getScore(KEYS[k]);
+            if (Arrays.binarySearch(m_scores, 0, m_buckets, score) < 0)
+                FRESH[fresh++] = score;
+        }
+        if (fresh == 0)
+            return;
+        Arrays.sort(FRESH, 0, fresh);
+        int distinct = 1;
+        for (int f = 1; f < fresh; f++) {
+            if (FRESH[f] != FRESH[distinct - 1])
+                FRESH[distinct++] = FRESH[f];
+        }
+
+        int buckets = m_buckets + distinct;
+        if (buckets > m_scores.length) {
+            int capacity = Math.max(buckets, 2 * m_scores.length);
+            m_scores = Arrays.copyOf(m_scores, capacity);
+            m_counts = Arrays.copyOf(m_counts, capacity);
+            m_records = Arrays.copyOf(m_records, capacity);
+        }
+        // merge from the top down, so every old bucket moves up past the new buckets below it without being overwritten
+        int old = m_buckets - 1;
+        int f = distinct - 1;
+        for (int to = buckets - 1; f >= 0; to--) {
+            if (old >= 0 && m_scores[old] > FRESH[f]) {
+                m_scores[to] = m_scores[old];
+                m_counts[to] = m_counts[old];
+                m_records[to] = m_records[old];
+                old--;
+            } else {
+                m_scores[to] = FRESH[f--];
+                m_counts[to] = 0;
+                m_records[to] = null;
+            }
+        }
+        m_buckets = buckets;
+        buildTree();
+    }
+
+    /**
+     * Ranks a record, which must come after every record already ranked and whose score must already have a bucket
+     *
+     * @param record Number of the record
+     * @param score  Score held in the record
+     */
+    private void insert(int record, int score) {
+        int bucket = Arrays.binarySearch(m_scores, 0, m_buckets, score);
+        int[] records = m_records[bucket];
+        if (records == null)
+            records = m_records[bucket] = new int[2];
+        else if (m_counts[bucket] == records.length)
+            records = m_records[bucket] = Arrays.copyOf(records, 2 * records.length);
+        records[m_counts[bucket]++] = record;
+        for (int i = bucket + 1; i < m_tree.length; i += i & -i)
+            m_tree[i]++;
+        m_size++;
+    }
+
+    /**
+     * Builds the tree again from the counts of the buckets in linear time, with room for every bucket the arrays can hold
+     */
+    private void buildTree() {
+        int capacity = m_counts.length;
+        m_tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            m_tree[i] += m_counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity)
+                m_tree[parent] += m_tree[i];
+        }
+    }
+
+    /**
+     * Returns the number of scores in the buckets below and including a bucket
+     *
+     * @param bucket Bucket to count up to, or -1 for none
+     * @return the number of scores no higher than the bucket
+     */
+    private int countUpTo(int bucket) {
+        int count = 0;
+        for (int i = Math.min(bucket + 1, m_tree.length - 1); i > 0; i -= i & -i)
+            count += m_tree[i];
+        return count;
+    }
+
+    /**
+     * Returns the number of scores higher than a bucket
+     *
+     * @param bucket Bucket to count above, or -1 to count every score
+     * @return the number of scores higher than the bucket
+     */
+    private int countAbove(int bucket) {
+        return m_size - countUpTo(bucket);
+    }
+
+    /**
+     * Returns the bucket holding the score at a rank, by walking down the tree
+     *
+     * @param rank Rank of the score, between 1 and the number of scores ranked
+     * @return the bucket holding the score at the rank
+     */
+    private int selectFromTop(int rank) {
+        int remaining = m_size - rank + 1;
+        int position = 0;
+        for (int step = Integer.highestOneBit(m_tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < m_tree.length && m_tree[next] < remaining) {
+                position = next;
+                remaining -= m_tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns the score held in a score key read from the store
+     *
+     * @param key Score key, which sorts the best score first
+     * @return the score
+     */
+    private static int getScore(long key) {
+        return ~(int) (key >> 32);
+    }
+
+}
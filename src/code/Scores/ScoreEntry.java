@@ -0,0 +1,113 @@
+package Scores;
+
+/**
+ * Class to hold one submitted score read back from the score store
+ *
+ * @author Salaar Mir
+ */
+public class ScoreEntry {
+
+    /**
+     * Record number of a score that is not in the score store
+     */
+    public static final int NO_RECORD = -1;
+
+    /**
+     * Number of the record the score is stored in, in the order scores were submitted
+     */
+    private final int RECORD;
+
+    /**
+     * Returns the number of the record the score is stored in
+     *
+     * @return the record number of the score
+     */
+    public int getRecord() {
+        return RECORD;
+    }
+
+    /**
+     * Username the score was submitted under
+     */
+    private final String NAME;
+
+    /**
+     * Returns the username the score was submitted under
+     *
+     * @return the username of the score
+     */
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Score reached
+     */
+    private final int SCORE;
+
+    /**
+     * Returns the score reached
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return SCORE;
+    }
+
+    /**
+     * Time the score was submitted in milliseconds since the epoch, or 0 if it was imported without one
+     */
+    private final long TIME;
+
+    /**
+     * Returns the time the score was submitted
+     *
+     * @return the time the score was submitted in milliseconds since the epoch, or 0 if it is not known
+     */
+    public long getTime() {
+        return TIME;
+    }
+
+    /**
+     * Creates an entry for a stored score
+     *
+     * @param record Number of the record the score is stored in
+     * @param name   Username the score was submitted under
+     * @param score  Score reached
+     * @param time   Time the score was submitted in milliseconds since the epoch
+     */
+    public ScoreEntry(int record, String name, int score, long time) {
+        RECORD = record;
+        NAME = name;
+        SCORE = score;
+        TIME = time;
+    }
+
+    /**
+     * Returns a score read from a line of the old high score file, which holds a name and a score separated by tabs with spaces around them
+     *
+     * @param line Line of the old high score file
+     * @return the score on the line, with no record number or time, or null if the line does not hold a score
+     */
+    public static ScoreEntry parse(String line) {
+        int tab = line.lastIndexOf('\t');
+        if (tab < 0)
+            return null;
+        try {
+            return new ScoreEntry(NO_RECORD, line.substring(0, tab).trim(), Integer.parseInt(line.substring(tab + 1).trim()), 0);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the score in the tab separated form of the old high score file
+     *
+     * @return the name and score separated by tabs
+     */
+    @Override
+    public String toString() {
+        return " " + NAME + "\t\t " + SCORE;
+    }
+
+}
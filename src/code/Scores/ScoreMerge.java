@@ -0,0 +1,358 @@
+package Scores;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Class to merge old high score text files collected from many machines into one ranked file, however large they are. The files are read a line at a time and cut into sorted runs no larger than a memory budget, which are written to temporary files and then merged a few dozen at a time until one ranked list is left, so no file is ever held in memory whole. Scores with the same name and score are kept once
+ * <p>
+ * Each line of the ranked file holds the rank, name and score separated by tabs, with equal scores sharing a rank
+ *
+ * @author Salaar Mir
+ */
+public class ScoreMerge {
+
+    /**
+     * Memory budget for the scores held while cutting runs when none is given, in bytes
+     */
+    public static final long DEF_MEMORY = 64L << 20;
+
+    /**
+     * Largest number of runs merged at once, which bounds the number of open files and their buffers
+     */
+    private static final int FAN_IN = 64;
+
+    /**
+     * Estimated bytes of memory each held score takes besides the characters of its name
+     */
+    private static final int ENTRY_BYTES = 96;
+
+    /**
+     * Size of the buffer of each file read or written
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Order of the ranked file, best score first and then by name
+     */
+    private static final Comparator<ScoreEntry> RANKING = Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparing(ScoreEntry::getName);
+
+    /**
+     * Memory budget for the scores held while cutting runs, in bytes
+     */
+    private final long MEMORY;
+
+    /**
+     * Directory the temporary run files are made in
+     */
+    private final Path TMP_DIR;
+
+    /**
+     * Number of the next run file, used to name it
+     */
+    private int m_nextRun;
+
+    /**
+     * Creates a merge with a memory budget
+     *
+     * @param memory Memory budget for the scores held while cutting runs, in bytes
+     * @param tmpDir Directory to make the temporary run files in
+     */
+    public ScoreMerge(long memory, Path tmpDir) {
+        MEMORY = memory;
+        TMP_DIR = tmpDir;
+    }
+
+    /**
+     * Merges old high score files into one ranked file, deleting the temporary run files afterwards
+     *
+     * @param inputs Paths of the old high score files
+     * @param output Path of the ranked file, which is replaced
+     * @return the number of scores in the ranked file
+     * @throws IOException Exception error when a file cannot be read or written
+     */
+    public long merge(List<Path> inputs, Path output) throws IOException {
+        Path dir = Files.createTempDirectory(TMP_DIR, "scoremerge");
+        List<Path> runs = new ArrayList<>();
+        try {
+            for (Path input : inputs)
+                split(input, dir, runs);
+            while (runs.size() > FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int first = 0; first < runs.size(); first += FAN_IN) {
+                    List<Path> group = runs.subList(first, Math.min(runs.size(), first + FAN_IN));
+                    Path run = nextRun(dir);
+                    try (DataOutputStream out = openRun(run)) {
+                        mergeRuns(group, out, null);
+                    }
+                    for (Path done : group)
+                        Files.delete(done);
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                return mergeRuns(runs, null, out);
+            }
+        } finally {
+            try (Stream<Path> left = Files.list(dir)) {
+                for (Path run : (Iterable<Path>) left::iterator)
+                    Files.deleteIfExists(run);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Reads an old high score file a line at a time, cutting it into sorted runs that each fit the memory budget
+     *
+     * @param input Path of the old high score file
+     * @param dir   Directory to write the runs to
+     * @param runs  List to add the paths of the runs to
+     * @throws IOException Exception error when the file cannot be read or a run cannot be written
+     */
+    private void split(Path input, Path dir, List<Path> runs) throws IOException {
+        List<ScoreEntry> held = new ArrayList<>();
+        long used = 0;
+        try (BufferedReader reader = ScoreStore.openLegacy(input)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ScoreEntry entry = ScoreEntry.parse(line);
+                if (entry == null)
+                    continue;
+                held.add(entry);
+                used += ENTRY_BYTES + 2L * entry.getName().length();
+                if (used >= MEMORY) {
+                    runs.add(writeRun(held, dir));
+                    held.clear();
+                    used = 0;
+                }
+            }
+        }
+        if (!held.isEmpty())
+            runs.add(writeRun(held, dir));
+    }
+
+    /**
+     * Sorts held scores and writes them to a new run, leaving out repeats
+     *
+     * @param held Scores to write
+     * @param dir  Directory to write the run to
+     * @return the path of the run
+     * @throws IOException Exception error when the run cannot be written
+     */
+    private Path writeRun(List<ScoreEntry> held, Path dir) throws IOException {
+        held.sort(RANKING);
+        Path run = nextRun(dir);
+        try (DataOutputStream out = openRun(run)) {
+            ScoreEntry last = null;
+            for (ScoreEntry entry : held) {
+                if (!isRepeat(last, entry))
+                    writeEntry(out, entry);
+                last = entry;
+            }
+            out.writeBoolean(false);
+        }
+        return run;
+    }
+
+    /**
+     * Merges sorted runs by always taking the best of their next scores, leaving out repeats, into either another run or the ranked file
+     *
+     * @param runs   Paths of the runs to merge
+     * @param run    Stream of the run to write to, or null to write the ranked file
+     * @param ranked Writer of the ranked file, or null to write a run
+     * @return the number of scores written
+     * @throws IOException Exception error when a run cannot be read or the output cannot be written
+     */
+    private static long mergeRuns(List<Path> runs, DataOutputStream run, BufferedWriter ranked) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.comparing(RunReader::getCurrent, RANKING));
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            for (Path path : runs) {
+                RunReader reader = new RunReader(path);
+                readers.add(reader);
+                if (reader.advance())
+                    queue.add(reader);
+            }
+            long written = 0;
+            long rank = 0;
+            ScoreEntry last = null;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                ScoreEntry entry = reader.getCurrent();
+                if (!isRepeat(last, entry)) {
+                    written++;
+                    if (run != null) {
+                        writeEntry(run, entry);
+                    } else {
+                        if (last == null || entry.getScore() != last.getScore())
+                            rank = written;
+                        ranked.write(rank + "\t" + entry.getName() + "\t" + entry.getScore());
+                        ranked.newLine();
+                    }
+                    last = entry;
+                }
+                if (reader.advance())
+                    queue.add(reader);
+            }
+            if (run != null)
+                run.writeBoolean(false);
+            return written;
+        } finally {
+            for (RunReader reader : readers)
+                reader.close();
+        }
+    }
+
+    /**
+     * Returns true if a score has the same name and score as the score before it or false otherwise
+     *
+     * @param last  Score before, or null if there is none
+     * @param entry Score to check
+     * @return true if the score is a repeat or false otherwise
+     */
+    private static boolean isRepeat(ScoreEntry last, ScoreEntry entry) {
+        return last != null && last.getScore() == entry.getScore() && last.getName().equals(entry.getName());
+    }
+
+    /**
+     * Returns the path of a new run file
+     *
+     * @param dir Directory of the run files
+     * @return the path of the new run file
+     */
+    private Path nextRun(Path dir) {
+        return dir.resolve("run" + m_nextRun++);
+    }
+
+    /**
+     * Opens a run file for writing
+     *
+     * @param run Path of the run file
+     * @return a stream to write the run to
+     * @throws IOException Exception error when the run file cannot be created
+     */
+    private static DataOutputStream openRun(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes a score to a run, as a marker that a score follows, the score, and the length and UTF-8 bytes of the name
+     *
+     * @param out   Stream of the run
+     * @param entry Score to write
+     * @throws IOException Exception error when the score cannot be written
+     */
+    private static void writeEntry(DataOutputStream out, ScoreEntry entry) throws IOException {
+        byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+        out.writeBoolean(true);
+        out.writeInt(entry.getScore());
+        out.writeInt(name.length);
+        out.write(name);
+    }
+
+    /**
+     * Merges old high score files into one ranked file
+     *
+     * @param args Optionally "-memory" and a budget in megabytes, then the path of the ranked file followed by the paths of the old high score files
+     * @throws IOException Exception error when a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        long memory = DEF_MEMORY;
+        int arg = 0;
+        if (args.length > 1 && args[0].equals("-memory")) {
+            memory = Long.parseLong(args[1]) << 20;
+            arg = 2;
+        }
+        if (args.length - arg < 2) {
+            System.out.println("Usage: ScoreMerge [-memory <megabytes>] <ranked file> <high score file>...");
+            return;
+        }
+        Path output = Path.of(args[arg]).toAbsolutePath();
+        List<Path> inputs = new ArrayList<>();
+        for (int i = arg + 1; i < args.length; i++)
+            inputs.add(Path.of(args[i]));
+        long written = new ScoreMerge(memory, output.getParent()).merge(inputs, output);
+        System.out.printf("Ranked %d scores from %d files into %s%n", written, inputs.size(), output);
+    }
+
+    /**
+     * Class to read the scores of a run one at a time
+     */
+    private static class RunReader implements Closeable {
+
+        /**
+         * Stream of the run
+         */
+        private final DataInputStream IN;
+
+        /**
+         * Score last read, or null once the run is finished
+         */
+        private ScoreEntry m_current;
+
+        /**
+         * Returns the score last read
+         *
+         * @return the score last read
+         */
+        ScoreEntry getCurrent() {
+            return m_current;
+        }
+
+        /**
+         * Opens a run for reading
+         *
+         * @param run Path of the run
+         * @throws IOException Exception error when the run cannot be opened
+         */
+        RunReader(Path run) throws IOException {
+            IN = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+        }
+
+        /**
+         * Reads the next score of the run
+         *
+         * @return true if a score was read or false if the run is finished
+         * @throws IOException Exception error when the run cannot be read
+         */
+        boolean advance() throws IOException {
+            if (!IN.readBoolean()) {
+                m_current = null;
+                return false;
+            }
+            int score = IN.readInt();
+            byte[] name = new byte[IN.readInt()];
+            IN.readFully(name);
+            m_current = new ScoreEntry(ScoreEntry.NO_RECORD, new String(name, StandardCharsets.UTF_8), score, 0);
+            return true;
+        }
+
+        /**
+         * Closes the run
+         *
+         * @throws IOException Exception error when the run cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            IN.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,1106 @@
+package Scores;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Class to store every submitted score as a fixed size record in a binary file, with a memory mapped index so the best scores and the scores of one user can be found without reading the whole file. Each record carries a checksum, so a record torn by a crash part way through a write is found and dropped when the store is opened. Records added since the index was last built are kept in memory, and once there are enough of them the index is built again on a background thread and swapped in whole
+ * <p>
+ * Data file header: magic (int), version (short), reserved (short), record size (int), reserved (int)
+ * <p>
+ * Record: submit time (long), score (int), name length (byte), name in UTF-8, padding, checksum of everything before it (int)
+ * <p>
+ * Index file header: magic (int), version (short), reserved (short), number of records covered (int), number of entries (int), followed by the entries sorted best score first, then the same entries sorted by name
+ *
+ * @author Salaar Mir
+ */
+public class ScoreStore implements Closeable {
+
+    /**
+     * Magic number at the start of every score file, the characters BRKS
+     */
+    public static final int MAGIC = 0x42524B53;
+
+    /**
+     * Magic number at the start of every score index, the characters BRKI
+     */
+    public static final int INDEX_MAGIC = 0x42524B49;
+
+    /**
+     * Version of the score file and index formats
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Number of bytes in the header of the score file
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Number of bytes in one record
+     */
+    static final int RECORD_SIZE = 64;
+
+    /**
+     * Offset of the submit time within a record
+     */
+    private static final int TIME = 0;
+
+    /**
+     * Offset of the score within a record
+     */
+    private static final int SCORE = 8;
+
+    /**
+     * Offset of the name length within a record
+     */
+    private static final int NAME_LENGTH = 12;
+
+    /**
+     * Offset of the name within a record
+     */
+    private static final int NAME = 13;
+
+    /**
+     * Offset of the checksum within a record
+     */
+    private static final int CHECKSUM = 60;
+
+    /**
+     * Largest number of bytes of a name kept, longer names being cut short
+     */
+    public static final int MAX_NAME_BYTES = CHECKSUM - NAME;
+
+    /**
+     * Number of bytes in the header of the index
+     */
+    private static final int INDEX_HEADER_SIZE = 16;
+
+    /**
+     * Number of bytes in one index entry
+     */
+    private static final int ENTRY_SIZE = Long.BYTES;
+
+    /**
+     * Number of records read at once when scanning the score file
+     */
+    private static final int SCAN_RECORDS = 1024;
+
+    /**
+     * Largest number of records whose keys are held in memory at once while the index is built by default, 4 MB of keys
+     */
+    static final int DEF_COMPACT_RECORDS = 1 << 18;
+
+    /**
+     * Smallest number of records added since the index was built that starts a compaction
+     */
+    private static final int MIN_COMPACT_TAIL = 1024;
+
+    /**
+     * System property naming the score file
+     */
+    private static final String STORE_PROPERTY = "breakout.scores";
+
+    /**
+     * Score file used when the property is not set
+     */
+    private static final String DEF_FILE = "scores.dat";
+
+    /**
+     * Text file scores were appended to before the score store, imported the first time the store is created
+     */
+    public static final String LEGACY_FILE = "HighScores.txt";
+
+    /**
+     * Ending added to the name of the score file to name its index
+     */
+    private static final String INDEX_SUFFIX = ".idx";
+
+    /**
+     * Score store of the game, opened the first time it is asked for
+     */
+    private static ScoreStore m_scoreStore;
+
+    /**
+     * Path of the score file
+     */
+    private final Path FILE;
+
+    /**
+     * Returns the path of the score file
+     *
+     * @return the path of the score file
+     */
+    public Path getFile() {
+        return FILE;
+    }
+
+    /**
+     * Path of the index
+     */
+    private final Path INDEX_FILE;
+
+    /**
+     * Channel the score file is read and written through
+     */
+    private final FileChannel CHANNEL;
+
+    /**
+     * Reusable buffer holding one record
+     */
+    private final ByteBuffer RECORD = ByteBuffer.allocate(RECORD_SIZE);
+
+    /**
+     * Reusable checksum of one record
+     */
+    private final CRC32 CRC = new CRC32();
+
+    /**
+     * Thread building the index in the background
+     */
+    private final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Score Compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Lock held while the index is built, so two compactions never write the same temporary file
+     */
+    private final Object COMPACT_LOCK = new Object();
+
+    /**
+     * Largest number of records whose keys are held in memory at once while the index is built
+     */
+    private int m_compactRecords = DEF_COMPACT_RECORDS;
+
+    /**
+     * Sets the largest number of records whose keys are held in memory at once while the index is built, so the sorted runs can be tried on a small file
+     *
+     * @param records Largest number of records held at once
+     */
+    void setCompactRecords(int records) {
+        synchronized (COMPACT_LOCK) {
+            m_compactRecords = records;
+        }
+    }
+
+    /**
+     * Boolean to stop a second compaction being started while one is running
+     */
+    private boolean m_compacting;
+
+    /**
+     * Mapped index, or null if there is no index yet
+     */
+    private MappedByteBuffer m_index;
+
+    /**
+     * Time the mapped index was last changed, used to notice when another process has built a newer one
+     */
+    private FileTime m_indexTime;
+
+    /**
+     * Number of records the mapped index covers
+     */
+    private int m_indexed;
+
+    /**
+     * Number of entries in each section of the mapped index
+     */
+    private int m_indexEntries;
+
+    /**
+     * Score keys of the records added since the index was built
+     */
+    private long[] m_tailScores = new long[16];
+
+    /**
+     * Name keys of the records added since the index was built
+     */
+    private long[] m_tailNames = new long[16];
+
+    /**
+     * Boolean to tell whether the score keys of the records added since the index was built are sorted
+     */
+    private boolean m_tailSorted;
+
+    /**
+     * Number of keys held for the records added since the index was built
+     */
+    private int m_tailSize;
+
+    /**
+     * Number of the first record not yet read into the keys of the records added since the index was built
+     */
+    private int m_tailEnd;
+
+    /**
+     * Returns the score store of the game, opening the file named by the breakout.scores system property or scores.dat the first time, and importing the old high score text file if the store is being created
+     *
+     * @return the score store of the game
+     * @throws IOException Exception error when the score file cannot be opened or is not a valid score file
+     */
+    public static synchronized ScoreStore getScoreStore() throws IOException {
+        if (m_scoreStore == null) {
+            Path file = Path.of(System.getProperty(STORE_PROPERTY, DEF_FILE));
+            boolean created = !Files.exists(file);
+            m_scoreStore = open(file);
+            Path legacy = Path.of(LEGACY_FILE);
+            if (created && Files.exists(legacy))
+                m_scoreStore.importLegacy(legacy);
+        }
+        return m_scoreStore;
+    }
+
+    /**
+     * Opens a score file, creating it if it does not exist and dropping any records torn by a crash at its end. Only one store should be open on a file in each process, while other processes share it through file locks
+     *
+     * @param file Path of the score file
+     * @return the opened score store
+     * @throws IOException Exception error when the score file cannot be opened or is not a valid score file
+     */
+    public static ScoreStore open(Path file) throws IOException {
+        return new ScoreStore(file);
+    }
+
+    /**
+     * Opens a score file, creating it if it does not exist and dropping any records torn by a crash at its end
+     *
+     * @param file Path of the score file
+     * @throws IOException Exception error when the score file cannot be opened or is not a valid score file
+     */
+    private ScoreStore(Path file) throws IOException {
+        FILE = file;
+        INDEX_FILE = file.resolveSibling(file.getFileName() + INDEX_SUFFIX);
+        CHANNEL = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = CHANNEL.lock();
+            try {
+                if (CHANNEL.size() == 0)
+                    writeHeader();
+                else
+                    readHeader();
+                recover();
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            CHANNEL.close();
+            throw e;
+        }
+        loadIndex();
+        readTail();
+    }
+
+    /**
+     * Writes the header of a new score file
+     *
+     * @throws IOException Exception error when the header cannot be written
+     */
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putInt(RECORD_SIZE);
+        header.putInt(0);
+        header.flip();
+        CHANNEL.write(header, 0);
+        CHANNEL.force(true);
+    }
+
+    /**
+     * Reads and checks the header of an existing score file
+     *
+     * @throws IOException Exception error when the file is not a valid score file
+     */
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (CHANNEL.read(header, 0) < HEADER_SIZE || header.getInt(0) != MAGIC)
+            throw new IOException("Not A Score File");
+        int version = header.getShort(4);
+        if (version != VERSION)
+            throw new IOException(String.format("Unsupported Score File Version:%d", version));
+        int recordSize = header.getInt(8);
+        if (recordSize != RECORD_SIZE)
+            throw new IOException(String.format("Unsupported Record Size:%d", recordSize));
+    }
+
+    /**
+     * Drops a partly written record and any records whose checksums fail from the end of the file, which is all a crash during an append can leave behind
+     *
+     * @throws IOException Exception error when the file cannot be read or cut short
+     */
+    private void recover() throws IOException {
+        int records = getRecordCount();
+        while (records > 0 && !readRecord(records - 1))
+            records--;
+        long size = HEADER_SIZE + (long) records * RECORD_SIZE;
+        if (CHANNEL.size() != size) {
+            CHANNEL.truncate(size);
+            CHANNEL.force(true);
+        }
+    }
+
+    /**
+     * Returns the number of records in the score file, including any whose checksums fail
+     *
+     * @return the number of records in the score file
+     * @throws IOException Exception error when the size of the file cannot be read
+     */
+    public synchronized int getRecordCount() throws IOException {
+        return (int) ((CHANNEL.size() - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    /**
+     * Adds a score, writing it to the disk before returning
+     *
+     * @param name  Username the score was submitted under
+     * @param score Score reached
+     * @return the number of the record the score was stored in
+     * @throws IOException Exception error when the score cannot be written
+     */
+    public synchronized int add(String name, int score) throws IOException {
+        int record;
+        FileLock lock = CHANNEL.lock();
+        try {
+            record = getRecordCount();
+            encode(RECORD, name, score, System.currentTimeMillis());
+            CHANNEL.write(RECORD, position(record));
+            CHANNEL.force(false);
+        } finally {
+            lock.release();
+        }
+        readTail();
+        compactIfNeeded();
+        return record;
+    }
+
+    /**
+     * Adds a group of scores in one write under one file lock, forcing them to the disk together before returning
+     *
+     * @param names  Usernames the scores were submitted under
+     * @param scores Scores reached
+     * @param count  Number of scores in the group
+     * @return the number of the record the first score was stored in, the rest following it in order
+     * @throws IOException Exception error when the scores cannot be written
+     */
+    public synchronized int addAll(String[] names, int[] scores, int count) throws IOException {
+        ByteBuffer batch = ByteBuffer.allocate(count * RECORD_SIZE);
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            encode(RECORD, names[i], scores[i], time);
+            batch.put(RECORD);
+        }
+        int record;
+        FileLock lock = CHANNEL.lock();
+        try {
+            record = getRecordCount();
+            writeBatch(batch, position(record));
+            CHANNEL.force(false);
+        } finally {
+            lock.release();
+        }
+        readTail();
+        compactIfNeeded();
+        return record;
+    }
+
+    /**
+     * Imports the scores of an old high score text file, which has one name and score separated by tabs on each line. Lines that cannot be read as a score are skipped, and the scores are written in batches and forced to the disk once at the end
+     *
+     * @param text Path of the text file
+     * @return the number of scores imported
+     * @throws IOException Exception error when the text file cannot be read or the scores cannot be written
+     */
+    public synchronized int importLegacy(Path text) throws IOException {
+        ByteBuffer batch = ByteBuffer.allocate(SCAN_RECORDS * RECORD_SIZE);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        int imported = 0;
+        try (BufferedReader reader = openLegacy(text)) {
+            FileLock lock = CHANNEL.lock();
+            try {
+                long position = position(getRecordCount());
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    ScoreEntry entry = ScoreEntry.parse(line);
+                    if (entry == null)
+                        continue;
+                    encode(record, entry.getName(), entry.getScore(), 0);
+                    batch.put(record);
+                    imported++;
+                    if (!batch.hasRemaining()) {
+                        position += writeBatch(batch, position);
+                    }
+                }
+                writeBatch(batch, position);
+                CHANNEL.force(false);
+            } finally {
+                lock.release();
+            }
+        }
+        readTail();
+        compactIfNeeded();
+        return imported;
+    }
+
+    /**
+     * Opens an old high score text file for reading as UTF-8, replacing any bytes that are not valid UTF-8 rather than failing, since the old game wrote the file in the default character set of each machine
+     *
+     * @param text Path of the text file
+     * @return a reader of the text file
+     * @throws IOException Exception error when the text file cannot be opened
+     */
+    static BufferedReader openLegacy(Path text) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(text), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a batch of records and empties the batch
+     *
+     * @param batch    Buffer holding the records
+     * @param position Position in the file to write the records at
+     * @return the number of bytes written
+     * @throws IOException Exception error when the records cannot be written
+     */
+    private long writeBatch(ByteBuffer batch, long position) throws IOException {
+        batch.flip();
+        long written = 0;
+        while (batch.hasRemaining())
+            written += CHANNEL.write(batch, position + written);
+        batch.clear();
+        return written;
+    }
+
+    /**
+     * Returns a stored score
+     *
+     * @param record Number of the record
+     * @return the score, or null if the checksum of its record fails
+     * @throws IOException Exception error when the record cannot be read
+     */
+    public synchronized ScoreEntry get(int record) throws IOException {
+        if (!readRecord(record))
+            return null;
+        return new ScoreEntry(record, decodeName(RECORD, 0), RECORD.getInt(SCORE), RECORD.getLong(TIME));
+    }
+
+    /**
+     * Returns the number of ranked scores, those in the index and those added since it was built
+     *
+     * @return the number of ranked scores
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    public synchronized int getScoreCount() throws IOException {
+        refresh();
+        return m_indexEntries + m_tailSize;
+    }
+
+    /**
+     * Returns the best scores, merging the index with the scores added since it was built
+     *
+     * @param n Largest number of scores to return
+     * @return the best scores, best first, with the earliest first between equal scores
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    public List<ScoreEntry> getTop(int n) throws IOException {
+        return getRange(0, n);
+    }
+
+    /**
+     * Returns a page of the ranked scores without reading the scores before it. The sorted index and the sorted scores added since it was built are two sorted lists, so how many of the scores before the page come from each is found by binary search, and the page is then merged from there
+     *
+     * @param first Position of the first score, 0 being the best
+     * @param count Largest number of scores to return
+     * @return the scores of the page, best first, with the earliest first between equal scores
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    public synchronized List<ScoreEntry> getRange(int first, int count) throws IOException {
+        refresh();
+        if (!m_tailSorted) {
+            Arrays.sort(m_tailScores, 0, m_tailSize);
+            m_tailSorted = true;
+        }
+        int skip = Math.max(0, Math.min(first, m_indexEntries + m_tailSize));
+        int low = Math.max(0, skip - m_tailSize);
+        int high = Math.min(skip, m_indexEntries);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getIndexEntry(mid) < m_tailScores[skip - mid - 1])
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        int i = low;
+        int t = skip - low;
+        List<ScoreEntry> range = new ArrayList<>(Math.max(0, Math.min(count, m_indexEntries + m_tailSize - skip)));
+        while (range.size() < count && (i < m_indexEntries || t < m_tailSize)) {
+            long key;
+            if (t >= m_tailSize || (i < m_indexEntries && getIndexEntry(i) < m_tailScores[t]))
+                key = getIndexEntry(i++);
+            else
+                key = m_tailScores[t++];
+            ScoreEntry entry = get((int) key);
+            if (entry != null)
+                range.add(entry);
+        }
+        return range;
+    }
+
+    /**
+     * Returns every score of one user, ignoring case, found through the name section of the index and the scores added since it was built
+     *
+     * @param name Username to look up
+     * @return the scores of the user, best first
+     * @throws IOException Exception error when the scores cannot be read
+     */
+    public synchronized List<ScoreEntry> getScores(String name) throws IOException {
+        refresh();
+        int hash = nameHash(name);
+        List<ScoreEntry> scores = new ArrayList<>();
+        for (int i = firstNameEntry(hash); i < m_indexEntries; i++) {
+            long key = getIndexEntry(m_indexEntries + i);
+            if ((int) (key >> 32) != hash)
+                break;
+            addIfNamed(scores, (int) key, name);
+        }
+        for (int t = 0; t < m_tailSize; t++) {
+            if ((int) (m_tailNames[t] >> 32) == hash)
+                addIfNamed(scores, (int) m_tailNames[t], name);
+        }
+        scores.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed().thenComparingInt(ScoreEntry::getRecord));
+        return scores;
+    }
+
+    /**
+     * Adds a stored score to a list if it was submitted under a name, ignoring case
+     *
+     * @param scores List to add to
+     * @param record Number of the record
+     * @param name   Username to match
+     * @throws IOException Exception error when the record cannot be read
+     */
+    private void addIfNamed(List<ScoreEntry> scores, int record, String name) throws IOException {
+        ScoreEntry entry = get(record);
+        if (entry != null && entry.getName().equalsIgnoreCase(name))
+            scores.add(entry);
+    }
+
+    /**
+     * Returns the position of the first entry in the name section of the index with a name hash, by binary search
+     *
+     * @param hash Name hash to find
+     * @return the position of the first entry with the hash or after where it would be
+     */
+    private int firstNameEntry(int hash) {
+        long target = (long) hash << 32;
+        int low = 0;
+        int high = m_indexEntries;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getIndexEntry(m_indexEntries + mid) < target)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns an entry of the mapped index, counting the entries of the score section first and then the name section
+     *
+     * @param i Position of the entry
+     * @return the key of the entry
+     */
+    private long getIndexEntry(int i) {
+        return m_index.getLong(INDEX_HEADER_SIZE + i * ENTRY_SIZE);
+    }
+
+    /**
+     * Builds the index again over every record in the file and swaps it in whole, so readers in this and other processes always see a complete index. The records are scanned without holding the lock of the store, so scores can still be added while the index is built. The keys of at most DEF_COMPACT_RECORDS records, unless set otherwise, are held at once: a larger file is cut into sorted runs written to a temporary file, which are then merged into the index, so building it takes the same memory however many records there are. Only one compaction runs at a time in each process
+     *
+     * @throws IOException Exception error when the records cannot be read or the index cannot be written
+     */
+    public void compact() throws IOException {
+        synchronized (COMPACT_LOCK) {
+            int records = getRecordCount();
+            int compactRecords = m_compactRecords;
+            long[] scores = new long[Math.min(records, compactRecords)];
+            long[] names = new long[scores.length];
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_RECORDS * ENTRY_SIZE);
+
+            String prefix = INDEX_FILE.getFileName() + "." + ProcessHandle.current().pid();
+            Path tmp = INDEX_FILE.resolveSibling(prefix + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                if (records <= compactRecords) {
+                    int entries = readKeys(0, records, scores, names, 0);
+                    Arrays.sort(scores, 0, entries);
+                    Arrays.sort(names, 0, entries);
+                    putIndexHeader(buffer, records, entries);
+                    putKeys(buffer, out, scores, entries);
+                    putKeys(buffer, out, names, entries);
+                } else {
+                    Path runFile = INDEX_FILE.resolveSibling(prefix + ".runs");
+                    try (FileChannel runs = FileChannel.open(runFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                        List<KeyRun> scoreRuns = new ArrayList<>();
+                        List<KeyRun> nameRuns = new ArrayList<>();
+                        int entries = 0;
+                        long position = 0;
+                        for (int from = 0; from < records; from += compactRecords) {
+                            int count = readKeys(from, Math.min(records, from + compactRecords), scores, names, 0);
+                            Arrays.sort(scores, 0, count);
+                            Arrays.sort(names, 0, count);
+                            putKeys(buffer, runs, scores, count);
+                            putKeys(buffer, runs, names, count);
+                            drain(buffer, runs);
+                            scoreRuns.add(new KeyRun(runs, position, count));
+                            nameRuns.add(new KeyRun(runs, position + (long) count * ENTRY_SIZE, count));
+                            position += 2L * count * ENTRY_SIZE;
+                            entries += count;
+                        }
+                        putIndexHeader(buffer, records, entries);
+                        mergeRuns(scoreRuns, buffer, out);
+                        mergeRuns(nameRuns, buffer, out);
+                    }
+                }
+                drain(buffer, out);
+                out.force(true);
+            }
+            Files.move(tmp, INDEX_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            synchronized (this) {
+                loadIndex();
+                readTail();
+            }
+        }
+    }
+
+    /**
+     * Adds the header of the index to an empty buffer
+     *
+     * @param buffer  Buffer to add the header to
+     * @param records Number of records the index covers
+     * @param entries Number of entries in each section of the index
+     */
+    private static void putIndexHeader(ByteBuffer buffer, int records, int entries) {
+        buffer.putInt(INDEX_MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(records);
+        buffer.putInt(entries);
+    }
+
+    /**
+     * Adds keys to a buffer, writing the buffer to a channel whenever it fills
+     *
+     * @param buffer Buffer to add the keys to
+     * @param out    Channel to write the buffer to
+     * @param keys   Keys to add
+     * @param count  Number of keys to add
+     * @throws IOException Exception error when the buffer cannot be written
+     */
+    private static void putKeys(ByteBuffer buffer, FileChannel out, long[] keys, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (!buffer.hasRemaining())
+                drain(buffer, out);
+            buffer.putLong(keys[i]);
+        }
+    }
+
+    /**
+     * Merges sorted runs of keys by always taking the smallest of their next keys, adding them to a buffer that is written to a channel whenever it fills
+     *
+     * @param runs   Runs to merge
+     * @param buffer Buffer to add the keys to
+     * @param out    Channel to write the buffer to
+     * @throws IOException Exception error when a run cannot be read or the buffer cannot be written
+     */
+    private static void mergeRuns(List<KeyRun> runs, ByteBuffer buffer, FileChannel out) throws IOException {
+        PriorityQueue<KeyRun> queue = new PriorityQueue<>(runs.size(), Comparator.comparingLong(KeyRun::getKey));
+        for (KeyRun run : runs) {
+            if (run.advance())
+                queue.add(run);
+        }
+        while (!queue.isEmpty()) {
+            KeyRun run = queue.poll();
+            if (!buffer.hasRemaining())
+                drain(buffer, out);
+            buffer.putLong(run.getKey());
+            if (run.advance())
+                queue.add(run);
+        }
+    }
+
+    /**
+     * Writes everything in a buffer to a channel and empties the buffer
+     *
+     * @param buffer Buffer to write
+     * @param out    Channel to write to
+     * @throws IOException Exception error when the buffer cannot be written
+     */
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            out.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Starts building the index in the background once enough records have been added since it was last built, one eighth of the indexed records or at least MIN_COMPACT_TAIL
+     */
+    private void compactIfNeeded() {
+        if (m_compacting || m_tailSize < Math.max(MIN_COMPACT_TAIL, m_indexed / 8))
+            return;
+        m_compacting = true;
+        COMPACTOR.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                synchronized (this) {
+                    m_compacting = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Maps the index again if another process or the compactor has replaced it, then reads any records added since the keys were last read
+     *
+     * @throws IOException Exception error when the index or records cannot be read
+     */
+    private void refresh() throws IOException {
+        FileTime time = getIndexTime();
+        if (time != null && !time.equals(m_indexTime))
+            loadIndex();
+        readTail();
+    }
+
+    /**
+     * Returns the time the index was last changed
+     *
+     * @return the time the index was last changed, or null if there is no index
+     * @throws IOException Exception error when the time cannot be read
+     */
+    private FileTime getIndexTime() throws IOException {
+        try {
+            return Files.getLastModifiedTime(INDEX_FILE);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the index, ignoring it if it is missing, invalid or covers more records than the file holds, and forgets the keys of records it now covers
+     *
+     * @throws IOException Exception error when the index cannot be mapped
+     */
+    private void loadIndex() throws IOException {
+        m_index = null;
+        m_indexed = 0;
+        m_indexEntries = 0;
+        m_indexTime = getIndexTime();
+        if (m_indexTime != null) {
+            try (FileChannel channel = FileChannel.open(INDEX_FILE, StandardOpenOption.READ)) {
+                MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (index.capacity() >= INDEX_HEADER_SIZE && index.getInt(0) == INDEX_MAGIC && index.getShort(4) == VERSION) {
+                    int covered = index.getInt(8);
+                    int entries = index.getInt(12);
+                    boolean complete = index.capacity() == INDEX_HEADER_SIZE + 2L * entries * ENTRY_SIZE;
+                    if (complete && entries <= covered && covered <= getRecordCount()) {
+                        m_index = index;
+                        m_indexed = covered;
+                        m_indexEntries = entries;
+                    }
+                }
+            }
+        }
+        m_tailSize = 0;
+        m_tailEnd = m_indexed;
+    }
+
+    /**
+     * Reads the keys of every record added since the keys were last read, from this or any other process
+     *
+     * @throws IOException Exception error when the records cannot be read
+     */
+    private void readTail() throws IOException {
+        int records = getRecordCount();
+        if (records <= m_tailEnd)
+            return;
+        int needed = m_tailSize + records - m_tailEnd;
+        if (needed > m_tailScores.length) {
+            int capacity = Math.max(needed, 2 * m_tailScores.length);
+            m_tailScores = Arrays.copyOf(m_tailScores, capacity);
+            m_tailNames = Arrays.copyOf(m_tailNames, capacity);
+        }
+        m_tailSize = readKeys(m_tailEnd, records, m_tailScores, m_tailNames, m_tailSize);
+        m_tailSorted = false;
+        m_tailEnd = records;
+    }
+
+    /**
+     * Reads a range of records in large blocks and stores the score key and name key of each record whose checksum passes. A score key sorts the best score first and then the earliest record, and a name key sorts by the hash of the name ignoring case
+     *
+     * @param from   Number of the first record
+     * @param to     Number of the record just past the last one
+     * @param scores Array to store the score keys in
+     * @param names  Array to store the name keys in, or null if only the score keys are needed
+     * @param at     Position in the arrays to store the first keys at
+     * @return the position in the arrays after the last keys stored
+     * @throws IOException Exception error when the records cannot be read
+     */
+    int readKeys(int from, int to, long[] scores, long[] names, int at) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_RECORDS * RECORD_SIZE);
+        CRC32 crc = new CRC32();
+        for (int first = from; first < to; first += SCAN_RECORDS) {
+            int count = Math.min(SCAN_RECORDS, to - first);
+            block.clear().limit(count * RECORD_SIZE);
+            long position = position(first);
+            while (block.hasRemaining()) {
+                if (CHANNEL.read(block, position + block.position()) < 0)
+                    throw new IOException("Score File Is Truncated");
+            }
+            for (int r = 0; r < count; r++) {
+                int offset = r * RECORD_SIZE;
+                if (!checksumPasses(block, offset, crc))
+                    continue;
+                int number = first + r;
+                scores[at] = ((long) ~block.getInt(offset + SCORE) << 32) | number;
+                if (names != null)
+                    names[at] = ((long) nameHash(decodeName(block, offset)) << 32) | number;
+                at++;
+            }
+        }
+        return at;
+    }
+
+    /**
+     * Reads a record into the reusable record buffer
+     *
+     * @param record Number of the record
+     * @return true if the record was read and its checksum passes or false otherwise
+     * @throws IOException Exception error when the record cannot be read
+     */
+    private boolean readRecord(int record) throws IOException {
+        RECORD.clear();
+        long position = position(record);
+        while (RECORD.hasRemaining()) {
+            if (CHANNEL.read(RECORD, position + RECORD.position()) < 0)
+                return false;
+        }
+        return checksumPasses(RECORD, 0, CRC);
+    }
+
+    /**
+     * Fills a record buffer with a score and its checksum, ready to be written
+     *
+     * @param record Buffer to fill
+     * @param name   Username, cut short to MAX_NAME_BYTES bytes of UTF-8 at a character boundary
+     * @param score  Score reached
+     * @param time   Time the score was submitted in milliseconds since the epoch
+     */
+    private void encode(ByteBuffer record, String name, int score, long time) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_NAME_BYTES);
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80)
+            length--;
+
+        record.clear();
+        record.putLong(TIME, time);
+        record.putInt(SCORE, score);
+        record.put(NAME_LENGTH, (byte) length);
+        for (int i = NAME; i < CHECKSUM; i++)
+            record.put(i, (i - NAME < length) ? bytes[i - NAME] : 0);
+        CRC.reset();
+        CRC.update(record.duplicate().position(0).limit(CHECKSUM));
+        record.putInt(CHECKSUM, (int) CRC.getValue());
+    }
+
+    /**
+     * Returns true if the checksum stored in a record matches its contents or false otherwise
+     *
+     * @param records Heap buffer holding the record
+     * @param offset  Position of the record in the buffer
+     * @param crc     Checksum to work the record's checksum out with
+     * @return true if the checksum passes or false otherwise
+     */
+    private static boolean checksumPasses(ByteBuffer records, int offset, CRC32 crc) {
+        crc.reset();
+        crc.update(records.array(), offset, CHECKSUM);
+        return (int) crc.getValue() == records.getInt(offset + CHECKSUM) && (records.get(offset + NAME_LENGTH) & 0xFF) <= MAX_NAME_BYTES;
+    }
+
+    /**
+     * Returns the name stored in a record
+     *
+     * @param records Heap buffer holding the record
+     * @param offset  Position of the record in the buffer
+     * @return the name in the record
+     */
+    private static String decodeName(ByteBuffer records, int offset) {
+        return new String(records.array(), offset + NAME, records.get(offset + NAME_LENGTH) & 0xFF, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the hash of a name ignoring case, which the name section of the index is sorted by
+     *
+     * @param name Name to hash
+     * @return the hash of the name
+     */
+    private static int nameHash(String name) {
+        return name.toLowerCase(Locale.ROOT).hashCode();
+    }
+
+    /**
+     * Returns the position of a record in the score file
+     *
+     * @param record Number of the record
+     * @return the position of the record
+     */
+    private static long position(int record) {
+        return HEADER_SIZE + (long) record * RECORD_SIZE;
+    }
+
+    /**
+     * Waits for any compaction that is running to finish, then closes the score file
+     *
+     * @throws IOException Exception error when the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        COMPACTOR.shutdown();
+        try {
+            COMPACTOR.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        CHANNEL.close();
+    }
+
+    /**
+     * Imports an old high score text file into a score store, or builds the index of a score store again
+     *
+     * @param args "import" followed by the text file and optionally the score file, or "compact" followed optionally by the score file
+     * @throws IOException Exception error when the files cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ScoreStore import <text file> [score file] | compact [score file]");
+            return;
+        }
+        boolean importing = args[0].equals("import");
+        int fileArg = importing ? 2 : 1;
+        Path file = Path.of((args.length > fileArg) ? args[fileArg] : DEF_FILE);
+        try (ScoreStore store = open(file)) {
+            if (importing)
+                System.out.printf("Imported %d scores from %s%n", store.importLegacy(Path.of(args[1])), args[1]);
+            store.compact();
+            System.out.printf("Indexed %d records of %s%n", store.getRecordCount(), file);
+        }
+    }
+
+    /**
+     * Class to read a sorted run of keys from the temporary run file of a compaction a block at a time
+     */
+    private static class KeyRun {
+
+        /**
+         * Channel of the run file
+         */
+        private final FileChannel CHANNEL;
+
+        /**
+         * Block of keys read from the run and not yet taken
+         */
+        private final ByteBuffer BLOCK = ByteBuffer.allocate(SCAN_RECORDS * ENTRY_SIZE).limit(0);
+
+        /**
+         * Position in the run file of the next block
+         */
+        private long m_position;
+
+        /**
+         * Number of keys of the run not yet read into the block
+         */
+        private int m_left;
+
+        /**
+         * Key last taken
+         */
+        private long m_key;
+
+        /**
+         * Returns the key last taken
+         *
+         * @return the key last taken
+         */
+        long getKey() {
+            return m_key;
+        }
+
+        /**
+         * Creates a reader over a run
+         *
+         * @param channel  Channel of the run file
+         * @param position Position of the run in the file
+         * @param count    Number of keys in the run
+         */
+        KeyRun(FileChannel channel, long position, int count) {
+            CHANNEL = channel;
+            m_position = position;
+            m_left = count;
+        }
+
+        /**
+         * Takes the next key of the run, reading the next block when the last one has been used up
+         *
+         * @return true if a key was taken or false if the run is finished
+         * @throws IOException Exception error when the run cannot be read
+         */
+        boolean advance() throws IOException {
+            if (!BLOCK.hasRemaining()) {
+                if (m_left == 0)
+                    return false;
+                int count = Math.min(m_left, SCAN_RECORDS);
+                BLOCK.clear().limit(count * ENTRY_SIZE);
+                while (BLOCK.hasRemaining()) {
+                    if (CHANNEL.read(BLOCK, m_position + BLOCK.position()) < 0)
+                        throw new IOException("Index Run Is Truncated");
+                }
+                BLOCK.flip();
+                m_position += (long) count * ENTRY_SIZE;
+                m_left -= count;
+            }
+            m_key = BLOCK.getLong();
+            return true;
+        }
+
+    }
+
+}
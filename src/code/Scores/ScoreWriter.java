@@ -0,0 +1,188 @@
+package Scores;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to write submitted scores to the score store behind the back of the caller, so a slow or network mounted disk never holds up the user interface. Scores wait in a queue for a writer thread, which gathers every score submitted within a short time of the first into one group and commits the group with one write and one force under one file lock, so a burst of submissions becomes a few writes. Each submission is told through its future once its score is safely on the disk
+ *
+ * @author Salaar Mir
+ */
+public class ScoreWriter {
+
+    /**
+     * Time the writer waits after the first score of a group for more scores to join it
+     */
+    private static final long GROUP_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Largest number of scores committed in one group
+     */
+    private static final int MAX_GROUP = 256;
+
+    /**
+     * Score writer of the game, started the first time it is asked for
+     */
+    private static ScoreWriter m_scoreWriter;
+
+    /**
+     * Scores waiting to be written
+     */
+    private final BlockingQueue<PendingScore> QUEUE = new LinkedBlockingQueue<>();
+
+    /**
+     * Reusable group of scores being written
+     */
+    private final List<PendingScore> GROUP = new ArrayList<>(MAX_GROUP);
+
+    /**
+     * Reusable usernames of the group being written
+     */
+    private final String[] NAMES = new String[MAX_GROUP];
+
+    /**
+     * Reusable scores of the group being written
+     */
+    private final int[] SCORES = new int[MAX_GROUP];
+
+    /**
+     * Store the scores are written to, or null until the writer thread opens the score store of the game
+     */
+    private ScoreStore m_store;
+
+    /**
+     * Returns the score writer of the game, which opens the score store of the game on its own thread when the first score is written
+     *
+     * @return the score writer of the game
+     */
+    public static synchronized ScoreWriter getScoreWriter() {
+        if (m_scoreWriter == null)
+            m_scoreWriter = new ScoreWriter(null);
+        return m_scoreWriter;
+    }
+
+    /**
+     * Creates a score writer and starts its thread
+     *
+     * @param store Store the scores are written to, or null to open the score store of the game when the first score is written
+     */
+    public ScoreWriter(ScoreStore store) {
+        m_store = store;
+        Thread writer = new Thread(this::run, "Score Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a score to be written and returns at once
+     *
+     * @param name  Username the score was submitted under
+     * @param score Score reached
+     * @return a future completed with the stored score once it has been forced to the disk, or completed exceptionally if it could not be written
+     */
+    public CompletableFuture<ScoreEntry> submit(String name, int score) {
+        PendingScore pending = new PendingScore(name, score);
+        QUEUE.add(pending);
+        return pending.FUTURE;
+    }
+
+    /**
+     * Waits for scores and commits them a group at a time until the game ends
+     */
+    private void run() {
+        while (true) {
+            try {
+                GROUP.add(QUEUE.take());
+                long deadline = System.nanoTime() + GROUP_NANOS;
+                while (GROUP.size() < MAX_GROUP) {
+                    PendingScore next = QUEUE.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    GROUP.add(next);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                commit();
+            } finally {
+                Arrays.fill(NAMES, 0, GROUP.size(), null);
+                GROUP.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the gathered group of scores in one write and tells each submission whether its score was saved. Any failure, including one the store did not expect, fails every submission of the group that has not been told yet, so no submission waits forever and the writer thread keeps going for the next group
+     */
+    private void commit() {
+        int count = GROUP.size();
+        for (int i = 0; i < count; i++) {
+            NAMES[i] = GROUP.get(i).NAME;
+            SCORES[i] = GROUP.get(i).SCORE;
+        }
+        try {
+            if (m_store == null)
+                m_store = ScoreStore.getScoreStore();
+            int first = m_store.addAll(NAMES, SCORES, count);
+            for (int i = 0; i < count; i++)
+                GROUP.get(i).FUTURE.complete(m_store.get(first + i));
+        } catch (IOException e) {
+            fail(e);
+        } catch (Throwable e) {
+            // a failure the store did not expect is printed as well, since the submissions may only show that saving failed
+            e.printStackTrace();
+            fail(e);
+        }
+    }
+
+    /**
+     * Completes every submission of the group that has not been told yet with an error
+     *
+     * @param cause Reason the group could not be saved
+     */
+    private void fail(Throwable cause) {
+        for (PendingScore pending : GROUP)
+            pending.FUTURE.completeExceptionally(cause);
+    }
+
+    /**
+     * Class to hold a score waiting to be written and the future of its submission
+     */
+    private static class PendingScore {
+
+        /**
+         * Username the score was submitted under
+         */
+        private final String NAME;
+
+        /**
+         * Score reached
+         */
+        private final int SCORE;
+
+        /**
+         * Future of the submission, completed once the score is on the disk
+         */
+        private final CompletableFuture<ScoreEntry> FUTURE = new CompletableFuture<>();
+
+        /**
+         * Creates a score waiting to be written
+         *
+         * @param name  Username the score was submitted under
+         * @param score Score reached
+         */
+        PendingScore(String name, int score) {
+            NAME = name;
+            SCORE = score;
+        }
+
+    }
+
+}
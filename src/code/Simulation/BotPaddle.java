@@ -0,0 +1,124 @@
+package Simulation;
+
+import Objects.BallBatch;
+import Objects.GameRandom;
+import Objects.Paddle;
+import Objects.Wall;
+
+import java.awt.*;
+
+/**
+ * Class to steer the paddle of a headless game towards where the next falling ball will reach the paddle, missing by a random amount each time a ball starts falling so the bot loses balls like a player would
+ *
+ * @author Salaar Mir
+ */
+public class BotPaddle {
+
+    /**
+     * Distance from the target within which the paddle is left still, so it does not jitter around the target
+     */
+    private static final double DEAD_ZONE = 4;
+
+    /**
+     * Left edge of the area the balls bounce around in
+     */
+    private final double LEFT;
+
+    /**
+     * Right edge of the area the balls bounce around in
+     */
+    private final double RIGHT;
+
+    /**
+     * Largest distance the bot may aim away from where the ball will land
+     */
+    private final double AIM_ERROR;
+
+    /**
+     * Random number generator picking how far the bot misses by, kept apart from the game's own so the bot does not change the game
+     */
+    private final GameRandom RND;
+
+    /**
+     * Distance the bot is aiming away from where the ball will land
+     */
+    private double m_aimOffset;
+
+    /**
+     * True while a ball is falling towards the paddle
+     */
+    private boolean m_falling;
+
+    /**
+     * Creates a bot for a game played in the specified area
+     *
+     * @param area     Area of the board the game is played on
+     * @param aimError Largest distance the bot may aim away from where the ball will land
+     * @param seed     Seed of the random number generator picking how far the bot misses by
+     */
+    public BotPaddle(Rectangle area, double aimError, long seed) {
+        LEFT = area.getMinX();
+        RIGHT = area.getMaxX();
+        AIM_ERROR = aimError;
+        RND = new GameRandom(seed);
+    }
+
+    /**
+     * Starts the paddle moving towards the point where the next ball to come down will reach it, or stops it if it is already there
+     *
+     * @param wall Wall of the game to steer the paddle of
+     */
+    public void steer(Wall wall) {
+        Paddle paddle = wall.getPaddle();
+        Rectangle face = paddle.getPaddleFace();
+        double target = findTarget(wall.getBalls(), face.getMinY());
+        if (Double.isNaN(target)) {
+            m_falling = false;
+            paddle.stop();
+            return;
+        }
+        if (!m_falling) {
+            m_falling = true;
+            m_aimOffset = (RND.nextDouble() * 2 - 1) * AIM_ERROR;
+        }
+
+        double offset = target + m_aimOffset - face.getCenterX();
+        if (offset < -DEAD_ZONE)
+            paddle.moveLeft();
+        else if (offset > DEAD_ZONE)
+            paddle.movRight();
+        else
+            paddle.stop();
+    }
+
+    /**
+     * Returns the horizontal coordinate where the falling ball that will soonest reach the paddle crosses its top, following the bounces off the side borders on the way
+     *
+     * @param balls   Balls in play
+     * @param paddleY Top edge of the paddle
+     * @return the horizontal coordinate to move the paddle to, or NaN if no ball is falling
+     */
+    private double findTarget(BallBatch balls, double paddleY) {
+        double target = Double.NaN;
+        double soonest = Double.POSITIVE_INFINITY;
+        double width = RIGHT - LEFT;
+        for (int i = 0; i < balls.size(); i++) {
+            double vy = balls.getVelocityY(i);
+            double dy = paddleY - balls.getY(i);
+            if (vy <= 0 || dy < 0)
+                continue;
+            double time = dy / vy;
+            if (time >= soonest)
+                continue;
+            soonest = time;
+
+            // unfold the bounces off the side borders by reflecting the straight line path back into the area
+            double x = (balls.getX(i) - LEFT + balls.getVelocityX(i) * time) % (2 * width);
+            if (x < 0)
+                x += 2 * width;
+            target = LEFT + ((x > width) ? 2 * width - x : x);
+        }
+        return target;
+    }
+
+}
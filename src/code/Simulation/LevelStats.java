@@ -0,0 +1,176 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Class to add up the outcome of every attempt at one level across many simulated games. Each worker thread fills its own copy, and the copies are merged once the workers finish
+ *
+ * @author Salaar Mir
+ */
+public class LevelStats {
+
+    /**
+     * Highest number of balls lost in one attempt that gets its own bucket, anything more is counted in the last bucket
+     */
+    private static final int MAX_BALLS_LOST = 3;
+
+    /**
+     * Number of games that reached the level
+     */
+    private int m_attempts;
+
+    /**
+     * Returns the number of games that reached the level
+     *
+     * @return the number of attempts at the level
+     */
+    public int getAttempts() {
+        return m_attempts;
+    }
+
+    /**
+     * Number of attempts that cleared the level
+     */
+    private int m_clears;
+
+    /**
+     * Returns the number of attempts that cleared the level
+     *
+     * @return the number of attempts that cleared the level
+     */
+    public int getClears() {
+        return m_clears;
+    }
+
+    /**
+     * Number of attempts stopped because they ran for too long without clearing the level or losing every ball
+     */
+    private int m_timeouts;
+
+    /**
+     * Returns the number of attempts stopped because they ran for too long
+     *
+     * @return the number of attempts that timed out
+     */
+    public int getTimeouts() {
+        return m_timeouts;
+    }
+
+    /**
+     * Number of attempts that lost each number of balls
+     */
+    private final int[] BALLS_LOST = new int[MAX_BALLS_LOST + 1];
+
+    /**
+     * Total number of simulation ticks spent on the level
+     */
+    private long m_ticks;
+
+    /**
+     * Returns the total number of simulation ticks spent on the level
+     *
+     * @return the total number of ticks spent on the level
+     */
+    public long getTicks() {
+        return m_ticks;
+    }
+
+    /**
+     * Points earned in each attempt at the level
+     */
+    private int[] m_scores = new int[16];
+
+    /**
+     * True once the points of every attempt have been put in ascending order for the percentiles
+     */
+    private boolean m_sorted;
+
+    /**
+     * Records one attempt at the level
+     *
+     * @param cleared   True if the level was cleared
+     * @param timedOut  True if the attempt ran for too long
+     * @param ballsLost Number of balls lost during the attempt
+     * @param score     Points earned during the attempt
+     * @param ticks     Number of simulation ticks the attempt took
+     */
+    public void addAttempt(boolean cleared, boolean timedOut, int ballsLost, int score, int ticks) {
+        if (m_attempts == m_scores.length)
+            m_scores = Arrays.copyOf(m_scores, m_attempts * 2);
+        m_scores[m_attempts++] = score;
+        m_sorted = false;
+        if (cleared)
+            m_clears++;
+        if (timedOut)
+            m_timeouts++;
+        BALLS_LOST[Math.min(ballsLost, MAX_BALLS_LOST)]++;
+        m_ticks += ticks;
+    }
+
+    /**
+     * Adds every attempt recorded by another copy into this one
+     *
+     * @param other Stats recorded by another worker for the same level
+     */
+    public void merge(LevelStats other) {
+        if (m_attempts + other.m_attempts > m_scores.length)
+            m_scores = Arrays.copyOf(m_scores, m_attempts + other.m_attempts);
+        System.arraycopy(other.m_scores, 0, m_scores, m_attempts, other.m_attempts);
+        m_attempts += other.m_attempts;
+        m_sorted = false;
+        m_clears += other.m_clears;
+        m_timeouts += other.m_timeouts;
+        for (int i = 0; i < BALLS_LOST.length; i++)
+            BALLS_LOST[i] += other.BALLS_LOST[i];
+        m_ticks += other.m_ticks;
+    }
+
+    /**
+     * Returns the number of attempts that lost the specified number of balls, with the last bucket counting that many or more
+     *
+     * @param balls Number of balls lost
+     * @return the number of attempts that lost that many balls
+     */
+    public int getBallsLost(int balls) {
+        return BALLS_LOST[Math.min(balls, MAX_BALLS_LOST)];
+    }
+
+    /**
+     * Returns the number of buckets in the balls lost distribution
+     *
+     * @return the number of buckets in the balls lost distribution
+     */
+    public int getBallsLostBuckets() {
+        return BALLS_LOST.length;
+    }
+
+    /**
+     * Returns the mean number of points earned per attempt
+     *
+     * @return the mean score per attempt, or 0 if there were no attempts
+     */
+    public double getMeanScore() {
+        long total = 0;
+        for (int i = 0; i < m_attempts; i++)
+            total += m_scores[i];
+        return (m_attempts == 0) ? 0 : (double) total / m_attempts;
+    }
+
+    /**
+     * Returns the score that the specified fraction of attempts scored at or below
+     *
+     * @param fraction Fraction of attempts between 0 and 1
+     * @return the score at that percentile, or 0 if there were no attempts
+     */
+    public int getScorePercentile(double fraction) {
+        if (m_attempts == 0)
+            return 0;
+        if (!m_sorted) {
+            Arrays.sort(m_scores, 0, m_attempts);
+            m_sorted = true;
+        }
+        int i = (int) Math.ceil(fraction * m_attempts) - 1;
+        return m_scores[Math.max(0, Math.min(m_attempts - 1, i))];
+    }
+
+}
@@ -0,0 +1,209 @@
+package Simulation;
+
+import Objects.Wall;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class to play many headless games with a bot paddle across every core, and report how hard each level is
+ *
+ * @author Salaar Mir
+ */
+public class MonteCarlo {
+
+    /**
+     * Number of games played when none is given
+     */
+    private static final int DEF_GAMES = 10_000;
+
+    /**
+     * Number of games each task plays before handing its results back
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    /**
+     * Number of simulation ticks per second
+     */
+    private static final int TICK_RATE = 100;
+
+    /**
+     * Longest game time in seconds an attempt at a level may take before it is stopped
+     */
+    private static final int MAX_LEVEL_SECONDS = 300;
+
+    /**
+     * Largest distance the bot aims away from where the ball will land when none is given, a little more than half the paddle width so some balls are missed
+     */
+    private static final double DEF_AIM_ERROR = 90;
+
+    /**
+     * Number of games played
+     */
+    private final int GAMES;
+
+    /**
+     * Number of threads the games are played on
+     */
+    private final int THREADS;
+
+    /**
+     * Seed the seed of every game is worked out from
+     */
+    private final long SEED;
+
+    /**
+     * Largest distance the bot aims away from where the ball will land
+     */
+    private final double AIM_ERROR;
+
+    /**
+     * Creates a harness playing the specified number of games
+     *
+     * @param games    Number of games to play
+     * @param threads  Number of threads to play the games on
+     * @param seed     Seed the seed of every game is worked out from
+     * @param aimError Largest distance the bot aims away from where the ball will land
+     */
+    public MonteCarlo(int games, int threads, long seed, double aimError) {
+        if (games <= 0)
+            throw new IllegalArgumentException(String.format("Invalid Game Count:%d", games));
+        if (threads <= 0)
+            throw new IllegalArgumentException(String.format("Invalid Thread Count:%d", threads));
+        GAMES = games;
+        THREADS = threads;
+        SEED = seed;
+        AIM_ERROR = aimError;
+    }
+
+    /**
+     * Plays every game and returns the stats of each level, merged across all the threads
+     *
+     * @return the stats of each level, indexed from level 1 at index 0
+     * @throws InterruptedException Exception error when the thread is interrupted while waiting for the games
+     * @throws ExecutionException   Exception error when a game throws an exception
+     */
+    public LevelStats[] run() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<LevelStats[]>> tasks = new ArrayList<>();
+            for (int first = 0; first < GAMES; first += GAMES_PER_TASK) {
+                int from = first;
+                int to = Math.min(GAMES, first + GAMES_PER_TASK);
+                tasks.add(executor.submit(() -> playGames(from, to)));
+            }
+
+            LevelStats[] total = null;
+            for (Future<LevelStats[]> task : tasks) {
+                LevelStats[] stats = task.get();
+                if (total == null) {
+                    total = stats;
+                } else {
+                    for (int i = 0; i < total.length; i++)
+                        total[i].merge(stats[i]);
+                }
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a range of games on the calling thread, each on its own wall and paddle
+     *
+     * @param from Number of the first game
+     * @param to   Number just past the last game
+     * @return the stats of each level over the games played
+     */
+    private LevelStats[] playGames(int from, int to) {
+        LevelStats[] stats = null;
+        for (int game = from; game < to; game++) {
+            Wall wall = new Wall(SEED + game);
+            if (stats == null) {
+                stats = new LevelStats[wall.getLevelCount()];
+                for (int i = 0; i < stats.length; i++)
+                    stats[i] = new LevelStats();
+            }
+            playGame(wall, new BotPaddle(wall.getArea(), AIM_ERROR, ~(SEED + game)), stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Plays one game until the player wins, loses every ball or an attempt at a level runs for too long
+     *
+     * @param wall  Wall of the game, before its first level is loaded
+     * @param bot   Bot steering the paddle of the game
+     * @param stats Stats of each level to add the attempts of this game to
+     */
+    private static void playGame(Wall wall, BotPaddle bot, LevelStats[] stats) {
+        double step = 1.0 / TICK_RATE;
+        int maxTicks = MAX_LEVEL_SECONDS * TICK_RATE;
+
+        wall.nextLevel();
+        int levelScore = 0;
+        int ballsLost = 0;
+        int ticks = 0;
+        while (true) {
+            bot.steer(wall);
+            int result = wall.step(step);
+            ticks++;
+
+            if (result == Wall.BALL_LOST || result == Wall.GAME_OVER)
+                ballsLost++;
+            boolean cleared = result == Wall.LEVEL_CLEARED || result == Wall.GAME_WON;
+            boolean timedOut = ticks >= maxTicks;
+            if (!cleared && !timedOut && result != Wall.GAME_OVER)
+                continue;
+
+            // a cleared level has already loaded the next one, so the attempt belongs to the level before it
+            int level = (result == Wall.LEVEL_CLEARED) ? wall.getLevel() - 1 : wall.getLevel();
+            stats[level - 1].addAttempt(cleared, timedOut && !cleared, ballsLost, wall.getScore() - levelScore, ticks);
+            if (result != Wall.LEVEL_CLEARED)
+                return;
+
+            levelScore = wall.getScore();
+            ballsLost = 0;
+            ticks = 0;
+        }
+    }
+
+    /**
+     * Plays the games and prints the stats of each level and how fast the games were played
+     *
+     * @param args Optionally the number of games, the number of threads, the seed and the bot aim error
+     * @throws InterruptedException Exception error when the thread is interrupted while waiting for the games
+     * @throws ExecutionException   Exception error when a game throws an exception
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : DEF_GAMES;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        double aimError = (args.length > 3) ? Double.parseDouble(args[3]) : DEF_AIM_ERROR;
+
+        long start = System.nanoTime();
+        LevelStats[] stats = new MonteCarlo(games, threads, seed, aimError).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games on %d threads, seed %d, bot aim error %.0f%n%n", games, threads, seed, aimError);
+        System.out.printf("%-6s %9s %8s %9s %-23s %9s %6s %6s %6s %9s%n", "Level", "Attempts", "Clear%", "Timeouts", "Balls lost 0/1/2/3+ %", "Score avg", "p10", "p50", "p90", "Avg secs");
+        long totalTicks = 0;
+        for (int i = 0; i < stats.length; i++) {
+            LevelStats level = stats[i];
+            totalTicks += level.getTicks();
+            int attempts = Math.max(1, level.getAttempts());
+            StringBuilder lost = new StringBuilder();
+            for (int b = 0; b < level.getBallsLostBuckets(); b++)
+                lost.append((b == 0) ? "" : "/").append(Math.round(100.0 * level.getBallsLost(b) / attempts));
+            System.out.printf("%-6d %9d %7.1f%% %9d %-23s %9.1f %6d %6d %6d %9.1f%n", i + 1, level.getAttempts(), 100.0 * level.getClears() / attempts, level.getTimeouts(), lost,
+                    level.getMeanScore(), level.getScorePercentile(0.1), level.getScorePercentile(0.5), level.getScorePercentile(0.9), (double) level.getTicks() / attempts / TICK_RATE);
+        }
+        System.out.printf("%nPlayed in %.2f s: %.0f games/s, %.2f million ticks/s%n", seconds, games / seconds, totalTicks / seconds / 1e6);
+    }
+
+}
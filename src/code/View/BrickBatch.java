@@ -0,0 +1,163 @@
+package View;
+
+import Objects.Brick;
+import Objects.BrickField;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+/**
+ * Class to draw bricks grouped by type, with the unbroken bricks of each type joined into one path, so each type takes one fill and one stroke instead of a color change, fill and stroke per brick. The paths of a whole field are kept, and the path of a type is only built again when a brick of that type is broken or repaired
+ *
+ * @author Salaar Mir
+ */
+public class BrickBatch {
+
+    /**
+     * Path of the bricks of each type, indexed by type code
+     */
+    private final Path2D.Float[] PATHS = new Path2D.Float[Brick.getTypeCount()];
+
+    /**
+     * Number of bricks in the path of each type, indexed by type code
+     */
+    private final int[] SIZES = new int[Brick.getTypeCount()];
+
+    /**
+     * Broken version of each type the kept paths were built for, indexed by type code
+     */
+    private final int[] BUILT_VERSIONS = new int[Brick.getTypeCount()];
+
+    /**
+     * Reusable flags marking which paths are being built again, indexed by type code
+     */
+    private final boolean[] STALE = new boolean[Brick.getTypeCount()];
+
+    /**
+     * Images of the cracks shown on bricks
+     */
+    private final CrackSprites CRACKS;
+
+    /**
+     * Field the kept paths were built for, or null if the paths hold some other set of bricks
+     */
+    private BrickField m_built;
+
+    /**
+     * Creates empty paths for every brick type
+     *
+     * @param cracks Images of the cracks shown on bricks
+     */
+    public BrickBatch(CrackSprites cracks) {
+        CRACKS = cracks;
+        for (int type = 0; type < PATHS.length; type++)
+            PATHS[type] = new Path2D.Float();
+    }
+
+    /**
+     * Draws every unbroken brick of a field, first building again the path of any type whose broken bricks have changed since it was built
+     *
+     * @param bricks Field holding the bricks to draw
+     * @param g2d    Encapsulates information that is required to render the bricks
+     */
+    public void draw(BrickField bricks, Graphics2D g2d) {
+        boolean stale = false;
+        for (int type = 0; type < PATHS.length; type++) {
+            STALE[type] = bricks != m_built || bricks.getBrokenVersion(type) != BUILT_VERSIONS[type];
+            if (STALE[type]) {
+                PATHS[type].reset();
+                SIZES[type] = 0;
+                BUILT_VERSIONS[type] = bricks.getBrokenVersion(type);
+                stale = true;
+            }
+        }
+        if (stale) {
+            for (int i = bricks.nextUnbroken(0); i < bricks.size(); i = bricks.nextUnbroken(i + 1)) {
+                int type = bricks.getType(i);
+                if (STALE[type])
+                    addBrick(bricks, i);
+            }
+            m_built = bricks;
+        }
+        fillAndStroke(g2d);
+
+        for (int d = 0; d < bricks.getDamagedCount(); d++)
+            drawCrack(bricks, bricks.getDamaged(d), g2d);
+    }
+
+    /**
+     * Draws a list of bricks, such as the ones on screen, building the paths from the list every time
+     *
+     * @param bricks  Field holding the bricks to draw
+     * @param indices Indices of the bricks to draw, none of which are broken
+     * @param count   Number of bricks in the list
+     * @param g2d     Encapsulates information that is required to render the bricks
+     */
+    public void draw(BrickField bricks, int[] indices, int count, Graphics2D g2d) {
+        for (int type = 0; type < PATHS.length; type++) {
+            PATHS[type].reset();
+            SIZES[type] = 0;
+        }
+        m_built = null;
+        for (int v = 0; v < count; v++)
+            addBrick(bricks, indices[v]);
+        fillAndStroke(g2d);
+
+        for (int v = 0; v < count; v++)
+            drawCrack(bricks, indices[v], g2d);
+    }
+
+    /**
+     * Adds the outline of a brick to the path of its type
+     *
+     * @param bricks Field holding the brick
+     * @param i      Index of the brick
+     */
+    private void addBrick(BrickField bricks, int i) {
+        int type = bricks.getType(i);
+        Path2D.Float path = PATHS[type];
+        SIZES[type]++;
+        float x = bricks.getX(i);
+        float y = bricks.getY(i);
+        float w = bricks.getWidth(i);
+        float h = bricks.getHeight(i);
+        path.moveTo(x, y);
+        path.lineTo(x + w, y);
+        path.lineTo(x + w, y + h);
+        path.lineTo(x, y + h);
+        path.closePath();
+    }
+
+    /**
+     * Fills the path of every type with the inner color of the type and strokes it with the border color
+     *
+     * @param g2d Encapsulates information that is required to render the bricks
+     */
+    private void fillAndStroke(Graphics2D g2d) {
+        Color tmp = g2d.getColor();
+        for (int type = 0; type < PATHS.length; type++) {
+            if (SIZES[type] == 0)
+                continue;
+            Brick brick = Brick.getBrickType(type);
+            g2d.setColor(brick.getInnerColor());
+            g2d.fill(PATHS[type]);
+            g2d.setColor(brick.getBorderColor());
+            g2d.draw(PATHS[type]);
+        }
+        g2d.setColor(tmp);
+    }
+
+    /**
+     * Draws the crack of a brick if it is cracked and not broken
+     *
+     * @param bricks Field holding the brick
+     * @param i      Index of the brick
+     * @param g2d    Encapsulates information that is required to render the crack
+     */
+    private void drawCrack(BrickField bricks, int i, Graphics2D g2d) {
+        int crack = bricks.getCrack(i);
+        if (crack != BrickField.NO_CRACK && !bricks.isBroken(i))
+            CRACKS.draw(bricks.getBrickType(i), crack, bricks.getX(i), bricks.getY(i), bricks.getWidth(i), bricks.getHeight(i), g2d);
+    }
+
+}
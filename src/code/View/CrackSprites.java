@@ -0,0 +1,83 @@
+package View;
+
+import Objects.Brick;
+
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class to keep the crack variants of each brick type and size drawn into small images, so a cracked brick is drawn by copying an image instead of stroking a long path. Only the images used most recently are kept, so levels with many brick sizes cannot fill memory with them
+ *
+ * @author Salaar Mir
+ */
+public class CrackSprites {
+
+    /**
+     * Largest number of crack images kept at once
+     */
+    private static final int MAX_SPRITES = 512;
+
+    /**
+     * Crack images kept, keyed by brick type, size and crack variant, in the order they were last used
+     */
+    private final Map<Long, BufferedImage> SPRITES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_SPRITES;
+        }
+    };
+
+    /**
+     * Reusable path each crack is built in before it is drawn into its image
+     */
+    private final GeneralPath PATH = new GeneralPath();
+
+    /**
+     * Draws the crack of a variant onto a brick, drawing it into a new image the first time that crack is needed for a brick of that type and size
+     *
+     * @param type    Type of the brick
+     * @param variant Crack variant shown on the brick
+     * @param x       Left edge of the brick
+     * @param y       Top edge of the brick
+     * @param width   Width of the brick
+     * @param height  Height of the brick
+     * @param g2d     Encapsulates information that is required to render the crack
+     */
+    public void draw(Brick type, int variant, float x, float y, float width, float height, Graphics2D g2d) {
+        int w = (int) width;
+        int h = (int) height;
+        long key = ((long) type.getType() << 48) | ((long) (w & 0xFFFF) << 32) | ((long) (h & 0xFFFF) << 16) | variant;
+        BufferedImage sprite = SPRITES.get(key);
+        if (sprite == null) {
+            sprite = makeSprite(type, variant, w, h, g2d.getDeviceConfiguration());
+            SPRITES.put(key, sprite);
+        }
+        g2d.drawImage(sprite, (int) x, (int) y, null);
+    }
+
+    /**
+     * Returns a new image of the crack of a variant on a brick of the specified type and size
+     *
+     * @param type    Type of the brick
+     * @param variant Crack variant
+     * @param width   Width of the brick
+     * @param height  Height of the brick
+     * @param gc      Configuration of the screen the image is drawn to
+     * @return the image of the crack
+     */
+    private BufferedImage makeSprite(Brick type, int variant, int width, int height, GraphicsConfiguration gc) {
+        // one extra pixel each way, as cracks can end on the right or bottom edge of the brick
+        BufferedImage sprite = gc.createCompatibleImage(width + 1, height + 1, Transparency.BITMASK);
+        PATH.reset();
+        type.makeCrack(PATH, width, height, variant);
+        Graphics2D g = sprite.createGraphics();
+        g.setColor(type.getBorderColor());
+        g.draw(PATH);
+        g.dispose();
+        return sprite;
+    }
+
+}
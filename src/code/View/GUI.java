@@ -1,13 +1,20 @@
 package View;
 
+import Debug.FrameTimings;
+import Debug.TimingHistogram;
 import Initialization.GameBoard;
 import Objects.Ball;
+import Objects.BallBatch;
 import Objects.Brick;
+import Objects.BrickField;
 import Objects.Paddle;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
 
 
 /**
@@ -61,37 +68,142 @@ public class GUI extends JComponent {
      */
     private final Paddle PADDLE = Paddle.getPaddle();
 
+    /**
+     * Reusable shape for drawing a brick
+     */
+    private final Rectangle2D BRICK_FACE = new Rectangle2D.Float();
+
+    /**
+     * Images of the cracks shown on bricks
+     */
+    private final CrackSprites CRACKS = new CrackSprites();
+
+    /**
+     * Bricks grouped by type so each type is drawn with one fill and one stroke
+     */
+    private final BrickBatch BATCH = new BrickBatch(CRACKS);
+
+    /**
+     * Reusable shape for drawing the ball between simulation steps
+     */
+    private final Ellipse2D INTERPOLATED_BALL = new Ellipse2D.Double();
+
+    /**
+     * Reusable shape for drawing the paddle between simulation steps
+     */
+    private final Rectangle INTERPOLATED_PADDLE = new Rectangle();
+
+    /**
+     * Font of the frame timing overlay
+     */
+    private static final Font TIMINGS_FONT = new Font("Monospaced", Font.PLAIN, 11);
+
+    /**
+     * Color of the box behind the frame timing overlay
+     */
+    private static final Color TIMINGS_BKG = new Color(0, 0, 0, 160);
+
+    /**
+     * Color of the text of the frame timing overlay
+     */
+    private static final Color TIMINGS_COLOR = new Color(0, 255, 0);
+
+    /**
+     * Height of one line of the frame timing overlay
+     */
+    private static final int TIMINGS_LINE_HEIGHT = 13;
+
+    /**
+     * Width of the box behind the frame timing overlay
+     */
+    private static final int TIMINGS_WIDTH = 360;
+
+    /**
+     * Reusable rectangle covered by the frame timing overlay
+     */
+    private final Rectangle TIMINGS_BOUNDS = new Rectangle();
+
+    /**
+     * Reusable builder for each line of the frame timing overlay
+     */
+    private final StringBuilder TIMINGS_LINE = new StringBuilder();
+
+    /**
+     * Reusable characters each line of the frame timing overlay is copied into for drawing, so drawing the overlay does not allocate a string per line
+     */
+    private final char[] TIMINGS_CHARS = new char[128];
+
     /**
      * Clears the screen of the game by setting the color to the background color
      *
      * @param g2d Encapsulates information that is required to render the game visuals
      */
     public void clear(Graphics2D g2d) {
+        clear(g2d, getWidth(), getHeight());
+    }
+
+    /**
+     * Clears an area of the specified size in the top left corner by setting the color to the background color
+     *
+     * @param g2d    Encapsulates information that is required to render the game visuals
+     * @param width  Width of the area to clear
+     * @param height Height of the area to clear
+     */
+    public void clear(Graphics2D g2d, int width, int height) {
         Color tmp = g2d.getColor();
         g2d.setColor(BG_COLOR);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+        g2d.fillRect(0, 0, width, height);
         g2d.setColor(tmp);
     }
 
     /**
      * Draws a brick to the screen
      *
-     * @param brick Brick to draw
-     * @param g2d   Encapsulates information that is required to render the brick
+     * @param bricks Field holding the brick to draw
+     * @param i      Index of the brick to draw
+     * @param g2d    Encapsulates information that is required to render the brick
      */
-    public void drawBrick(Brick brick, Graphics2D g2d) {
+    public void drawBrick(BrickField bricks, int i, Graphics2D g2d) {
         Color tmp = g2d.getColor();
+        Brick brick = bricks.getBrickType(i);
 
+        BRICK_FACE.setRect(bricks.getX(i), bricks.getY(i), bricks.getWidth(i), bricks.getHeight(i));
         g2d.setColor(brick.getInnerColor());
-        g2d.fill(brick.getBrick());
+        g2d.fill(BRICK_FACE);
 
         g2d.setColor(brick.getBorderColor());
-        g2d.draw(brick.getBrick());
+        g2d.draw(BRICK_FACE);
+
+        int crack = bricks.getCrack(i);
+        if (crack != BrickField.NO_CRACK)
+            CRACKS.draw(brick, crack, bricks.getX(i), bricks.getY(i), bricks.getWidth(i), bricks.getHeight(i), g2d);
 
 
         g2d.setColor(tmp);
     }
 
+    /**
+     * Draws every unbroken brick of a field to the screen, grouped by type
+     *
+     * @param bricks Field holding the bricks to draw
+     * @param g2d    Encapsulates information that is required to render the bricks
+     */
+    public void drawBricks(BrickField bricks, Graphics2D g2d) {
+        BATCH.draw(bricks, g2d);
+    }
+
+    /**
+     * Draws a list of unbroken bricks to the screen, grouped by type
+     *
+     * @param bricks  Field holding the bricks to draw
+     * @param indices Indices of the bricks to draw
+     * @param count   Number of bricks in the list
+     * @param g2d     Encapsulates information that is required to render the bricks
+     */
+    public void drawBricks(BrickField bricks, int[] indices, int count, Graphics2D g2d) {
+        BATCH.draw(bricks, indices, count, g2d);
+    }
+
     /**
      * Draws a ball to the screen
      *
@@ -112,6 +224,35 @@ public class GUI extends JComponent {
         g2d.setColor(tmp);
     }
 
+    /**
+     * Draws every ball in play to the screen at a point between its previous and current simulation positions
+     *
+     * @param balls Balls to draw
+     * @param style Ball whose size and colors every ball is drawn with
+     * @param alpha Fraction of a simulation step between the previous and current positions
+     * @param g2d   Encapsulates information that is required to render the balls
+     */
+    public void drawBalls(BallBatch balls, Ball style, double alpha, Graphics2D g2d) {
+        Color tmp = g2d.getColor();
+
+        RectangularShape face = (RectangularShape) style.getBallFace();
+        double w = face.getWidth();
+        double h = face.getHeight();
+        for (int i = 0; i < balls.size(); i++) {
+            double x = balls.getPreviousX(i) + (balls.getX(i) - balls.getPreviousX(i)) * alpha;
+            double y = balls.getPreviousY(i) + (balls.getY(i) - balls.getPreviousY(i)) * alpha;
+            INTERPOLATED_BALL.setFrame(x - w / 2, y - h / 2, w, h);
+
+            g2d.setColor(style.getInnerColor());
+            g2d.fill(INTERPOLATED_BALL);
+
+            g2d.setColor(style.getBorderColor());
+            g2d.draw(INTERPOLATED_BALL);
+        }
+
+        g2d.setColor(tmp);
+    }
+
     /**
      * Draws a PADDLE to the screen for the user to control
      *
@@ -119,9 +260,22 @@ public class GUI extends JComponent {
      * @param g2d Encapsulates information that is required to render the PADDLE
      */
     public void drawPlayer(Paddle p, Graphics2D g2d) {
+        drawPlayer(p, 1, g2d);
+    }
+
+    /**
+     * Draws a PADDLE to the screen at a point between its previous and current simulation positions
+     *
+     * @param p     Paddle to draw
+     * @param alpha Fraction of a simulation step between the previous and current positions
+     * @param g2d   Encapsulates information that is required to render the PADDLE
+     */
+    public void drawPlayer(Paddle p, double alpha, Graphics2D g2d) {
         Color tmp = g2d.getColor();
 
-        Shape s = p.getPaddleFace();
+        Rectangle s = INTERPOLATED_PADDLE;
+        s.setBounds(p.getPaddleFace());
+        s.translate((int) Math.round(p.getInterpolationOffset(alpha)), 0);
         g2d.setColor(PADDLE.getInnerColor());
         g2d.fill(s);
 
@@ -131,6 +285,110 @@ public class GUI extends JComponent {
         g2d.setColor(tmp);
     }
 
+    /**
+     * Draws the last sample, median, 99th percentile, longest sample and number of overruns of every phase of the game loop in the top left corner
+     *
+     * @param timings Histograms of the phases of the game loop
+     * @param g2d     Encapsulates information that is required to render the overlay
+     */
+    public void drawTimings(FrameTimings timings, Graphics2D g2d) {
+        Font tmpFont = g2d.getFont();
+        Color tmpColor = g2d.getColor();
+
+        g2d.setColor(TIMINGS_BKG);
+        getTimingsBounds(timings, TIMINGS_BOUNDS);
+        g2d.fill(TIMINGS_BOUNDS);
+        g2d.setFont(TIMINGS_FONT);
+        g2d.setColor(TIMINGS_COLOR);
+
+        TIMINGS_LINE.setLength(0);
+        TIMINGS_LINE.append("ms          last   p50   p99   max  over");
+        drawTimingsLine(1, g2d);
+        for (int i = 0; i < timings.getPhaseCount(); i++) {
+            TimingHistogram phase = timings.getHistogram(i);
+            TIMINGS_LINE.setLength(0);
+            TIMINGS_LINE.append(timings.getPhaseName(i));
+            // one row is read under the lock of its histogram so a reset on the event thread cannot split it
+            synchronized (phase) {
+                appendMillis(phase.getLast(), 16);
+                appendMillis(phase.getPercentile(0.5), 22);
+                appendMillis(phase.getPercentile(0.99), 28);
+                appendMillis(phase.getMax(), 34);
+                padTimingsLine(40 - digits(phase.getOverruns()));
+                TIMINGS_LINE.append(phase.getOverruns());
+            }
+            drawTimingsLine(i + 2, g2d);
+        }
+
+        g2d.setFont(tmpFont);
+        g2d.setColor(tmpColor);
+    }
+
+    /**
+     * Sets a rectangle to the area covered by the frame timing overlay
+     *
+     * @param timings Histograms of the phases of the game loop
+     * @param out     Rectangle to set
+     */
+    public void getTimingsBounds(FrameTimings timings, Rectangle out) {
+        out.setBounds(0, 0, TIMINGS_WIDTH, (timings.getPhaseCount() + 1) * TIMINGS_LINE_HEIGHT + 4);
+    }
+
+    /**
+     * Appends a time in milliseconds with two decimal places to the current line of the timing overlay, right aligned to a column
+     *
+     * @param nanos Time in nanoseconds
+     * @param end   Column the time should end at
+     */
+    private void appendMillis(long nanos, int end) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        long whole = hundredths / 100;
+        padTimingsLine(end - digits(whole) - 3);
+        TIMINGS_LINE.append(whole).append('.');
+        int fraction = (int) (hundredths % 100);
+        if (fraction < 10)
+            TIMINGS_LINE.append('0');
+        TIMINGS_LINE.append(fraction);
+    }
+
+    /**
+     * Returns the number of decimal digits in a number that is not negative
+     *
+     * @param value Number to count the digits of
+     * @return the number of digits in the number
+     */
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Pads the current line of the timing overlay with spaces up to a column, always leaving at least one space
+     *
+     * @param column Column to pad to
+     */
+    private void padTimingsLine(int column) {
+        do {
+            TIMINGS_LINE.append(' ');
+        } while (TIMINGS_LINE.length() < column);
+    }
+
+    /**
+     * Draws the current line of the timing overlay
+     *
+     * @param line Number of the line from the top, starting at 1
+     * @param g2d  Encapsulates information that is required to render the line
+     */
+    private void drawTimingsLine(int line, Graphics2D g2d) {
+        int length = Math.min(TIMINGS_LINE.length(), TIMINGS_CHARS.length);
+        TIMINGS_LINE.getChars(0, length, TIMINGS_CHARS, 0);
+        g2d.drawChars(TIMINGS_CHARS, 0, length, 4, line * TIMINGS_LINE_HEIGHT);
+    }
+
     /**
      * Displays the pause menu onto the screen
      *
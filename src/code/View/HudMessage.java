@@ -0,0 +1,85 @@
+package View;
+
+import java.util.Arrays;
+
+/**
+ * Class to build the brick and ball count message shown during play, keeping every message it has built so a running game tick allocates nothing once each count has been seen
+ *
+ * @author Salaar Mir
+ */
+public class HudMessage {
+
+    /**
+     * Brick counts at or above this are formatted when they change instead of being kept, so huge levels cannot fill memory with messages
+     */
+    private static final int CACHE_LIMIT = 1024;
+
+    /**
+     * Messages built so far, indexed by ball count and then brick count
+     */
+    private String[][] m_cache = new String[0][];
+
+    /**
+     * Brick count the current message was built for
+     */
+    private int m_brickCount = -1;
+
+    /**
+     * Ball count the current message was built for
+     */
+    private int m_ballCount = -1;
+
+    /**
+     * Message built for the current counts
+     */
+    private String m_message;
+
+    /**
+     * Returns the message showing the specified brick and ball counts
+     *
+     * @param brickCount Number of bricks left
+     * @param ballCount  Number of balls left
+     * @return the message showing the brick and ball counts
+     */
+    public String getMessage(int brickCount, int ballCount) {
+        if (brickCount != m_brickCount || ballCount != m_ballCount) {
+            m_brickCount = brickCount;
+            m_ballCount = ballCount;
+            m_message = lookUp(brickCount, ballCount);
+        }
+        return m_message;
+    }
+
+    /**
+     * Returns the kept message for the specified counts, building and keeping it the first time the counts are seen
+     *
+     * @param brickCount Number of bricks left
+     * @param ballCount  Number of balls left
+     * @return the message showing the brick and ball counts
+     */
+    private String lookUp(int brickCount, int ballCount) {
+        if (brickCount < 0 || brickCount >= CACHE_LIMIT || ballCount < 0)
+            return format(brickCount, ballCount);
+
+        if (ballCount >= m_cache.length)
+            m_cache = Arrays.copyOf(m_cache, ballCount + 1);
+        String[] row = m_cache[ballCount];
+        if (row == null || brickCount >= row.length)
+            row = m_cache[ballCount] = (row == null) ? new String[brickCount + 1] : Arrays.copyOf(row, brickCount + 1);
+        if (row[brickCount] == null)
+            row[brickCount] = format(brickCount, ballCount);
+        return row[brickCount];
+    }
+
+    /**
+     * Returns a newly built message showing the specified brick and ball counts
+     *
+     * @param brickCount Number of bricks left
+     * @param ballCount  Number of balls left
+     * @return the message showing the brick and ball counts
+     */
+    private String format(int brickCount, int ballCount) {
+        return String.format("Bricks: %d Balls %d", brickCount, ballCount);
+    }
+
+}
@@ -0,0 +1,182 @@
+package View;
+
+import Objects.BrickField;
+import Objects.Wall;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/**
+ * Class to keep the parts of the game board that rarely change, the brick field and the message, drawn in cached images, so each frame only copies the images to the screen and draws the moving ball and paddle over them. The brick layer is only drawn again when a brick is hit, cracked or broken, the level changes or the board is resized, and the message layer only when the message changes
+ *
+ * @author Salaar Mir
+ */
+public class LayerCompositor {
+
+    /**
+     * Object drawing the bricks
+     */
+    private final GUI GRAPHICS = GUI.getGUI();
+
+    /**
+     * Image holding the background and every brick on the board
+     */
+    private final Layer BRICKS = new Layer(Transparency.OPAQUE);
+
+    /**
+     * Image holding the message, sized to the message
+     */
+    private final Layer MESSAGE = new Layer(Transparency.TRANSLUCENT);
+
+    /**
+     * Brick field last drawn into the brick layer
+     */
+    private BrickField m_drawnBricks;
+
+    /**
+     * Version of the brick field last drawn into the brick layer
+     */
+    private int m_drawnVersion;
+
+    /**
+     * Message last drawn into the message layer
+     */
+    private String m_drawnMessage;
+
+    /**
+     * Font the message layer was last drawn with
+     */
+    private Font m_drawnFont;
+
+    /**
+     * Color the message layer was last drawn with
+     */
+    private Color m_drawnColor;
+
+    /**
+     * Draws the background and the bricks of a wall by copying the brick layer, first drawing the layer again if the bricks have changed since it was last drawn
+     *
+     * @param wall   Wall whose bricks should be drawn
+     * @param width  Width of the board
+     * @param height Height of the board
+     * @param g2d    Encapsulates information that is required to render the bricks
+     */
+    public void drawBricks(Wall wall, int width, int height, Graphics2D g2d) {
+        if (width <= 0 || height <= 0)
+            return;
+        BrickField bricks = wall.getBricks();
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        do {
+            boolean changed = bricks != m_drawnBricks || bricks.getVersion() != m_drawnVersion;
+            if (BRICKS.prepare(gc, width, height) || changed) {
+                Graphics2D g = BRICKS.getImage().createGraphics();
+                GRAPHICS.clear(g, width, height);
+                GRAPHICS.drawBricks(bricks, g);
+                g.dispose();
+                m_drawnBricks = bricks;
+                m_drawnVersion = bricks.getVersion();
+            }
+            g2d.drawImage(BRICKS.getImage(), 0, 0, null);
+        } while (BRICKS.getImage().contentsLost());
+    }
+
+    /**
+     * Draws a message in the current font and color of the graphics by copying the message layer, first drawing the layer again if the message, font or color has changed since it was last drawn
+     *
+     * @param message Message to draw
+     * @param x       Left edge of the message
+     * @param y       Baseline of the message
+     * @param g2d     Encapsulates information that is required to render the message
+     */
+    public void drawMessage(String message, int x, int y, Graphics2D g2d) {
+        if (message == null || message.isEmpty())
+            return;
+        FontMetrics metrics = g2d.getFontMetrics();
+        int width = metrics.stringWidth(message) + metrics.getMaxAdvance();
+        int height = metrics.getAscent() + metrics.getDescent();
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        do {
+            boolean changed = !message.equals(m_drawnMessage) || !g2d.getFont().equals(m_drawnFont) || !g2d.getColor().equals(m_drawnColor);
+            if (MESSAGE.prepare(gc, width, height) || changed) {
+                Graphics2D g = MESSAGE.getImage().createGraphics();
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, MESSAGE.getImage().getWidth(), MESSAGE.getImage().getHeight());
+                g.setComposite(AlphaComposite.SrcOver);
+                g.setRenderingHints(g2d.getRenderingHints());
+                g.setFont(g2d.getFont());
+                g.setColor(g2d.getColor());
+                g.drawString(message, 0, metrics.getAscent());
+                g.dispose();
+                m_drawnMessage = message;
+                m_drawnFont = g2d.getFont();
+                m_drawnColor = g2d.getColor();
+            }
+            g2d.drawImage(MESSAGE.getImage(), x, y - metrics.getAscent(), null);
+        } while (MESSAGE.getImage().contentsLost());
+    }
+
+    /**
+     * Throws away both layers so they are drawn again on the next frame
+     */
+    public void invalidate() {
+        m_drawnBricks = null;
+        m_drawnMessage = null;
+    }
+
+    /**
+     * Class to hold one cached image of the compositor, created in the memory of the graphics card where possible and created again whenever it is lost, no longer fits the screen or is too small
+     */
+    private static class Layer {
+
+        /**
+         * Transparency of the image, from Transparency
+         */
+        private final int TRANSPARENCY;
+
+        /**
+         * Image of the layer, or null before the layer is first drawn
+         */
+        private VolatileImage m_image;
+
+        /**
+         * Returns the image of the layer
+         *
+         * @return the image of the layer
+         */
+        VolatileImage getImage() {
+            return m_image;
+        }
+
+        /**
+         * Creates a layer that has no image yet
+         *
+         * @param transparency Transparency of the image, from Transparency
+         */
+        Layer(int transparency) {
+            TRANSPARENCY = transparency;
+        }
+
+        /**
+         * Makes sure the image exists, fits the screen and is large enough, opaque layers being kept at exactly the size asked for
+         *
+         * @param gc     Configuration of the screen the layer is drawn to
+         * @param width  Width the layer needs
+         * @param height Height the layer needs
+         * @return true if the contents of the image have been lost or the image is new, so the layer must be drawn again, or false otherwise
+         */
+        boolean prepare(GraphicsConfiguration gc, int width, int height) {
+            boolean fits = m_image != null && (TRANSPARENCY == Transparency.OPAQUE
+                    ? m_image.getWidth() == width && m_image.getHeight() == height
+                    : m_image.getWidth() >= width && m_image.getHeight() >= height);
+            int status = fits ? m_image.validate(gc) : VolatileImage.IMAGE_INCOMPATIBLE;
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (m_image != null)
+                    m_image.flush();
+                m_image = gc.createCompatibleVolatileImage(width, height, TRANSPARENCY);
+            }
+            return status != VolatileImage.IMAGE_OK;
+        }
+
+    }
+
+}
@@ -0,0 +1,299 @@
+package View;
+
+import Objects.BrickField;
+import Objects.GameRandom;
+import Objects.Wall;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Class to load test the game on a playfield of up to millions of bricks, with many balls bouncing around a virtual board that can be scrolled by dragging and zoomed with the mouse wheel. Only the bricks on screen are drawn, and collisions only test the bricks near each ball
+ *
+ * @author Salaar Mir
+ */
+public class StressView extends JComponent {
+
+    /**
+     * Number of bricks on the playfield when none is given
+     */
+    private static final int DEF_BRICKS = 1_000_000;
+
+    /**
+     * Number of balls kept in play when none is given
+     */
+    private static final int DEF_BALLS = 200;
+
+    /**
+     * Width of the window
+     */
+    private static final int DEF_WIDTH = 1000;
+
+    /**
+     * Height of the window
+     */
+    private static final int DEF_HEIGHT = 700;
+
+    /**
+     * Time in milliseconds between simulation steps
+     */
+    private static final int FRAME_DELAY = 10;
+
+    /**
+     * Speed of every new ball in units per second
+     */
+    private static final double BALL_SPEED = 300;
+
+    /**
+     * Smallest height in pixels a brick may be drawn at, which limits how far out the view can zoom and so how many bricks are drawn at once
+     */
+    private static final double MIN_BRICK_PIXELS = 3;
+
+    /**
+     * Largest zoom of the view
+     */
+    private static final double MAX_ZOOM = 4;
+
+    /**
+     * Amount the zoom changes by for every notch of the mouse wheel
+     */
+    private static final double ZOOM_STEP = 1.25;
+
+    /**
+     * Background color of the view
+     */
+    private static final Color BG_COLOR = Color.WHITE;
+
+    /**
+     * Color of the statistics text
+     */
+    private static final Color TEXT_COLOR = Color.BLUE;
+
+    /**
+     * Wall of the stress test playfield
+     */
+    private final Wall WALL;
+
+    /**
+     * Number of balls kept in play
+     */
+    private final int BALLS;
+
+    /**
+     * Random number generator placing the new balls
+     */
+    private final GameRandom RND;
+
+    /**
+     * Object drawing the bricks, balls and paddle
+     */
+    private final GUI GRAPHICS = GUI.getGUI();
+
+    /**
+     * Reusable transform from the virtual board to the screen
+     */
+    private final AffineTransform VIEW = new AffineTransform();
+
+    /**
+     * Reusable array the indices of the bricks on screen are collected into for drawing
+     */
+    private final int[] VISIBLE;
+
+    /**
+     * Timer stepping the simulation and redrawing the view
+     */
+    private final Timer TIMER;
+
+    /**
+     * Smallest zoom of the view
+     */
+    private final double MIN_ZOOM;
+
+    /**
+     * Left edge of the part of the virtual board shown
+     */
+    private double m_viewX;
+
+    /**
+     * Top edge of the part of the virtual board shown
+     */
+    private double m_viewY;
+
+    /**
+     * Number of pixels per unit of the virtual board
+     */
+    private double m_zoom;
+
+    /**
+     * Last point the mouse was dragged to
+     */
+    private Point m_drag;
+
+    /**
+     * Time the last simulation step took in nanoseconds
+     */
+    private long m_stepNanos;
+
+    /**
+     * Number of bricks drawn in the last paint
+     */
+    private int m_drawn;
+
+    /**
+     * Creates the view and builds the stress test playfield
+     *
+     * @param bricks Number of bricks on the playfield
+     * @param balls  Number of balls kept in play
+     * @param seed   Seed of the playfield and the balls
+     */
+    public StressView(int bricks, int balls, long seed) {
+        WALL = Wall.makeStressWall(bricks, seed);
+        WALL.nextLevel();
+        BALLS = balls;
+        RND = new GameRandom(~seed);
+        VISIBLE = new int[WALL.getBricks().size()];
+        MIN_ZOOM = Math.min(1, MIN_BRICK_PIXELS / WALL.getBricks().getHeight(0));
+
+        this.setPreferredSize(new Dimension(DEF_WIDTH, DEF_HEIGHT));
+        m_zoom = 1;
+        Rectangle area = WALL.getArea();
+        m_viewX = area.getCenterX() - DEF_WIDTH / 2.0;
+        m_viewY = area.getCenterY() - DEF_HEIGHT / 2.0;
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                m_drag = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                m_viewX -= (e.getX() - m_drag.x) / m_zoom;
+                m_viewY -= (e.getY() - m_drag.y) / m_zoom;
+                m_drag = e.getPoint();
+                clampView();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+            }
+        };
+        this.addMouseListener(mouse);
+        this.addMouseMotionListener(mouse);
+        this.addMouseWheelListener(mouse);
+
+        TIMER = new Timer(FRAME_DELAY, e -> {
+            long start = System.nanoTime();
+            step();
+            m_stepNanos = System.nanoTime() - start;
+            repaint();
+        });
+    }
+
+    /**
+     * Starts stepping the simulation
+     */
+    public void start() {
+        TIMER.start();
+    }
+
+    /**
+     * Advances the simulation by one step, first topping the balls back up to the number kept in play, and repairs the wall once every brick is broken
+     */
+    private void step() {
+        Rectangle area = WALL.getArea();
+        double bottom = area.getY() + area.getHeight() / 2;
+        while (WALL.getBalls().size() < BALLS) {
+            double x = area.getX() + RND.nextDouble() * area.getWidth();
+            double y = bottom + RND.nextDouble() * area.getHeight() / 4;
+            double angle = -Math.PI / 4 - RND.nextDouble() * Math.PI / 2;
+            WALL.getBalls().add(x, y, BALL_SPEED * Math.cos(angle), BALL_SPEED * Math.sin(angle));
+        }
+        WALL.resetBallCount();
+        if (WALL.step(FRAME_DELAY / 1000.0) == Wall.GAME_WON)
+            WALL.wallReset();
+    }
+
+    /**
+     * Zooms the view by a factor, keeping the point of the board under the mouse where it is
+     *
+     * @param x      Horizontal position of the mouse in the view
+     * @param y      Vertical position of the mouse in the view
+     * @param factor Amount to multiply the zoom by
+     */
+    private void zoom(int x, int y, double factor) {
+        double boardX = m_viewX + x / m_zoom;
+        double boardY = m_viewY + y / m_zoom;
+        m_zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, m_zoom * factor));
+        m_viewX = boardX - x / m_zoom;
+        m_viewY = boardY - y / m_zoom;
+        clampView();
+        repaint();
+    }
+
+    /**
+     * Keeps the view from scrolling past the edges of the board
+     */
+    private void clampView() {
+        Rectangle area = WALL.getArea();
+        m_viewX = Math.max(area.getX(), Math.min(area.getMaxX() - getWidth() / m_zoom, m_viewX));
+        m_viewY = Math.max(area.getY(), Math.min(area.getMaxY() - getHeight() / m_zoom, m_viewY));
+    }
+
+    /**
+     * Paints the part of the board on screen and the statistics of the stress test
+     *
+     * @param g Encapsulates information that is required to render the view
+     */
+    public void paint(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(BG_COLOR);
+        g2d.fillRect(0, 0, getWidth(), getHeight());
+
+        AffineTransform screen = g2d.getTransform();
+        VIEW.setToScale(m_zoom, m_zoom);
+        VIEW.translate(-m_viewX, -m_viewY);
+        g2d.transform(VIEW);
+
+        BrickField bricks = WALL.getBricks();
+        m_drawn = WALL.findBricks(m_viewX, m_viewY, m_viewX + getWidth() / m_zoom, m_viewY + getHeight() / m_zoom, VISIBLE);
+        GRAPHICS.drawBricks(bricks, VISIBLE, m_drawn, g2d);
+        GRAPHICS.drawBalls(WALL.getBalls(), WALL.getBall(), 1, g2d);
+        GRAPHICS.drawPlayer(WALL.getPaddle(), g2d);
+
+        g2d.setTransform(screen);
+        Runtime runtime = Runtime.getRuntime();
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString(String.format("Bricks %d of %d, drawn %d, balls %d, step %.2f ms, heap %d MB, zoom %.2f", WALL.getBrickCount(), bricks.size(), m_drawn,
+                WALL.getBalls().size(), m_stepNanos / 1e6, (runtime.totalMemory() - runtime.freeMemory()) >> 20, m_zoom), 10, 20);
+    }
+
+    /**
+     * Opens the stress test in a window
+     *
+     * @param args Optionally the number of bricks, the number of balls and the seed
+     */
+    public static void main(String[] args) {
+        int bricks = (args.length > 0) ? Integer.parseInt(args[0]) : DEF_BRICKS;
+        int balls = (args.length > 1) ? Integer.parseInt(args[1]) : DEF_BALLS;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+
+        SwingUtilities.invokeLater(() -> {
+            StressView view = new StressView(bricks, balls, seed);
+            JFrame frame = new JFrame("Breakout Stress Test");
+            frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            frame.add(view);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+            view.start();
+        });
+    }
+
+}